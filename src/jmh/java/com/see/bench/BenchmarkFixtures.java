@@ -0,0 +1,45 @@
+package com.see.bench;
+
+import com.see.config.JwtUtil;
+import com.see.service.LogSampler;
+import com.see.service.PerformanceStatsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Builds the beans under benchmark without a Spring context, filling in the
+ * {@code @Value} fields with the defaults from application.properties.
+ */
+public final class BenchmarkFixtures {
+
+    public static final String JWT_SECRET =
+        "benchmarkSecretKeyForJWTTokenGenerationAndValidation2024!@#$%";
+
+    private BenchmarkFixtures() {}
+
+    public static JwtUtil jwtUtil() {
+        JwtUtil jwtUtil = new JwtUtil();
+        ReflectionTestUtils.setField(jwtUtil, "secret", JWT_SECRET);
+        ReflectionTestUtils.setField(jwtUtil, "expiration", 86_400_000L);
+        return jwtUtil;
+    }
+
+    public static LogSampler logSampler(boolean enabled) {
+        LogSampler sampler = new LogSampler(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(sampler, "enabled", enabled);
+        ReflectionTestUtils.setField(sampler, "targetLinesPerSecond", 200L);
+        return sampler;
+    }
+
+    public static PerformanceStatsService performanceStatsService() {
+        PerformanceStatsService service = new PerformanceStatsService(
+            new SimpleMeterRegistry()
+        );
+        ReflectionTestUtils.setField(service, "maxEndpoints", 200);
+        ReflectionTestUtils.setField(service, "minSamples", 200L);
+        ReflectionTestUtils.setField(service, "slowFloorMs", 250L);
+        ReflectionTestUtils.setField(service, "defaultSlowMs", 2000L);
+        ReflectionTestUtils.setField(service, "defaultVerySlowMs", 5000L);
+        return service;
+    }
+}
@@ -0,0 +1,132 @@
+package com.see.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result against a stored baseline and fails the build when any
+ * benchmark regressed by more than the allowed percentage.
+ *
+ * Usage: JmhResultComparator &lt;baseline.json&gt; &lt;result.json&gt; &lt;max-regression-percent&gt;
+ *
+ * Benchmarks are matched by name plus parameters. For throughput modes a lower score is a
+ * regression, for time-based modes (avgt, sample, ss) a higher score is.
+ */
+public final class JmhResultComparator {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private JmhResultComparator() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 3) {
+            System.err.println(
+                "Usage: JmhResultComparator <baseline.json> <result.json> <max-regression-percent>"
+            );
+            System.exit(2);
+        }
+
+        File baselineFile = new File(args[0]);
+        File resultFile = new File(args[1]);
+        double maxRegressionPercent = Double.parseDouble(args[2]);
+
+        if (!baselineFile.isFile()) {
+            System.out.println(
+                "No JMH baseline at " + baselineFile + ", skipping comparison. " +
+                "Copy " + resultFile + " there to record one."
+            );
+            return;
+        }
+
+        Map<String, JsonNode> baseline = load(baselineFile);
+        Map<String, JsonNode> current = load(resultFile);
+        int regressions = 0;
+
+        System.out.printf(
+            "%-90s %14s %14s %9s%n",
+            "Benchmark",
+            "Baseline",
+            "Current",
+            "Change"
+        );
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            double afterScore = after.path("primaryMetric").path("score").asDouble();
+            String unit = after.path("primaryMetric").path("scoreUnit").asText();
+
+            if (before == null) {
+                System.out.printf(
+                    "%-90s %14s %14.3f %9s  %s%n",
+                    entry.getKey(),
+                    "-",
+                    afterScore,
+                    "new",
+                    unit
+                );
+                continue;
+            }
+
+            double beforeScore = before.path("primaryMetric").path("score").asDouble();
+            double changePercent = beforeScore == 0
+                ? 0
+                : (afterScore - beforeScore) / beforeScore * 100;
+            boolean higherIsBetter = "thrpt".equals(after.path("mode").asText());
+            double regressionPercent = higherIsBetter ? -changePercent : changePercent;
+            boolean regressed = regressionPercent > maxRegressionPercent;
+            if (regressed) {
+                regressions++;
+            }
+
+            System.out.printf(
+                "%-90s %14.3f %14.3f %+8.1f%%  %s%s%n",
+                entry.getKey(),
+                beforeScore,
+                afterScore,
+                changePercent,
+                unit,
+                regressed ? "  REGRESSION" : ""
+            );
+        }
+
+        if (regressions > 0) {
+            System.err.printf(
+                "%d benchmark(s) regressed by more than %.1f%%%n",
+                regressions,
+                maxRegressionPercent
+            );
+            System.exit(1);
+        }
+    }
+
+    private static Map<String, JsonNode> load(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode run : MAPPER.readTree(file)) {
+            results.put(key(run), run);
+        }
+        return results;
+    }
+
+    private static String key(JsonNode run) {
+        StringBuilder key = new StringBuilder(run.path("benchmark").asText());
+        JsonNode params = run.path("params");
+        if (params.isObject()) {
+            key.append(" {");
+            Iterator<Map.Entry<String, JsonNode>> fields = params.fields();
+            while (fields.hasNext()) {
+                Map.Entry<String, JsonNode> param = fields.next();
+                key.append(param.getKey()).append('=').append(param.getValue().asText());
+                if (fields.hasNext()) {
+                    key.append(", ");
+                }
+            }
+            key.append('}');
+        }
+        return key.toString();
+    }
+}
@@ -0,0 +1,526 @@
+package com.see.bench;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.see.SeeOcrApplication;
+import com.see.constants.DocumentType;
+import com.see.domain.Batch;
+import com.see.domain.Project;
+import com.see.ocr.ExtractedField;
+import com.see.ocr.PipelineResult;
+import com.see.repository.BatchRepository;
+import com.see.repository.ProjectRepository;
+import com.see.service.DocumentPipelineService;
+import com.see.util.LatencyHistogram;
+import java.io.File;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import org.bytedeco.javacpp.Pointer;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+/**
+ * Pushes a generated corpus (see {@link ScannedCorpusGenerator}) through the full
+ * decode -> preprocess -> extract -> persist pipeline on an in-memory H2 database and reports
+ * pages/sec, per-stage latency, peak heap and native memory, and field-level accuracy against
+ * the ground truth.
+ *
+ * Usage: OcrPipelineBenchmark [key=value ...] [--app.ocr.some.setting=value ...]
+ * Keys are listed in {@link #DEFAULTS}; --arguments are passed to Spring, so stage settings
+ * can be changed per run. With baseline=report.json the run is compared against an earlier
+ * report and exits 1 when throughput or accuracy dropped past the allowed margins.
+ */
+public final class OcrPipelineBenchmark {
+
+    static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("corpus", "target/corpus");
+        DEFAULTS.put("count", "0"); // 0 = every document after the warm-up ones
+        DEFAULTS.put("warmup", "30");
+        DEFAULTS.put("threads", "1");
+        DEFAULTS.put("out", "target/ocr-benchmark.json");
+        DEFAULTS.put("baseline", "");
+        DEFAULTS.put("max-throughput-drop-percent", "10");
+        DEFAULTS.put("max-accuracy-drop-points", "0.5");
+    }
+
+    private static final String TOTAL = "total";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> settings = new LinkedHashMap<>(DEFAULTS);
+        List<String> springArgs = new ArrayList<>();
+        for (String arg : args) {
+            if (arg.startsWith("--")) {
+                springArgs.add(arg);
+                continue;
+            }
+            int separator = arg.indexOf('=');
+            if (separator <= 0 || !DEFAULTS.containsKey(arg.substring(0, separator))) {
+                System.err.println(
+                    "Unknown argument " + arg + ", expected one of " + DEFAULTS.keySet()
+                );
+                System.exit(2);
+            }
+            settings.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+
+        boolean passed = new OcrPipelineBenchmark().run(settings, springArgs);
+        System.exit(passed ? 0 : 1);
+    }
+
+    boolean run(Map<String, String> settings, List<String> springArgs) throws Exception {
+        File corpus = new File(settings.get("corpus"));
+        JsonNode manifest = objectMapper.readTree(new File(corpus, "manifest.json"));
+        List<JsonNode> documents = new ArrayList<>();
+        manifest.get("documents").forEach(documents::add);
+
+        int warmup = Math.min(Integer.parseInt(settings.get("warmup")), documents.size());
+        int count = Integer.parseInt(settings.get("count"));
+        int end = count > 0 ? Math.min(documents.size(), warmup + count) : documents.size();
+        if (end <= warmup) {
+            throw new IllegalArgumentException(
+                "Corpus has " + documents.size() + " documents, nothing left after warm-up"
+            );
+        }
+
+        // Command-line arguments outrank application.properties; caller's --args come last
+        List<String> arguments = new ArrayList<>(
+            List.of(
+                "--spring.datasource.url=jdbc:h2:mem:ocrbench;DB_CLOSE_DELAY=-1",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--spring.jpa.show-sql=false",
+                "--spring.devtools.restart.enabled=false",
+                "--logging.config=classpath:logback-jmh.xml",
+                "--app.search.index-dir=",
+                "--app.blobs.dir=target/ocrbench-blobs",
+                "--app.viewer.pregenerate=false",
+                "--app.warmup.enabled=false"
+            )
+        );
+        arguments.addAll(springArgs);
+        System.setProperty("spring.devtools.restart.enabled", "false");
+
+        try (
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(
+                SeeOcrApplication.class
+            )
+                .web(WebApplicationType.NONE)
+                .run(arguments.toArray(String[]::new))
+        ) {
+            DocumentPipelineService pipeline = context.getBean(DocumentPipelineService.class);
+            Batch batch = createBatch(context);
+            int threads = Integer.parseInt(settings.get("threads"));
+
+            process(pipeline, batch, corpus, documents.subList(0, warmup), threads, null);
+
+            Measurement measurement = new Measurement();
+            MemorySampler memory = new MemorySampler();
+            memory.start();
+            long started = System.nanoTime();
+            process(pipeline, batch, corpus, documents.subList(warmup, end), threads, measurement);
+            double seconds = (System.nanoTime() - started) / 1e9;
+            memory.stop();
+
+            Map<String, Object> report = report(settings, springArgs, measurement, memory, seconds);
+            File out = new File(settings.get("out"));
+            if (out.getParentFile() != null) {
+                out.getParentFile().mkdirs();
+            }
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(out, report);
+            print(report);
+            System.out.println("Report written to " + out);
+
+            String baseline = settings.get("baseline");
+            return baseline.isBlank() || compare(settings, new File(baseline), out);
+        }
+    }
+
+    private Batch createBatch(ConfigurableApplicationContext context) {
+        Project project = new Project();
+        project.setName("OCR benchmark");
+        project = context.getBean(ProjectRepository.class).save(project);
+
+        Batch batch = new Batch();
+        batch.setName("OCR benchmark run");
+        batch.setProject(project);
+        return context.getBean(BatchRepository.class).save(batch);
+    }
+
+    private void process(
+        DocumentPipelineService pipeline,
+        Batch batch,
+        File corpus,
+        List<JsonNode> documents,
+        int threads,
+        Measurement measurement
+    ) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (JsonNode entry : documents) {
+                tasks.add(
+                    pool.submit(() -> {
+                        File image = new File(corpus, entry.get("image").asText());
+                        JsonNode truth = objectMapper.readTree(
+                            new File(corpus, entry.get("truth").asText())
+                        );
+                        PipelineResult result = pipeline.process(
+                            batch,
+                            DocumentType.valueOf(entry.get("documentType").asText()),
+                            image.getPath(),
+                            Files.readAllBytes(image.toPath())
+                        );
+                        if (measurement != null) {
+                            measurement.record(result, truth);
+                        }
+                        return null;
+                    })
+                );
+            }
+            for (Future<?> task : tasks) {
+                task.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private Map<String, Object> report(
+        Map<String, String> settings,
+        List<String> springArgs,
+        Measurement measurement,
+        MemorySampler memory,
+        double seconds
+    ) {
+        Map<String, Object> stages = new LinkedHashMap<>();
+        for (String stage : measurement.stages.keySet()) {
+            LatencyHistogram.Snapshot snapshot = new LatencyHistogram.Snapshot();
+            measurement.stages.get(stage).addTo(snapshot);
+            Map<String, Object> latency = new LinkedHashMap<>();
+            latency.put("p50Ms", millis(snapshot.valueAtPercentile(0.50)));
+            latency.put("p90Ms", millis(snapshot.valueAtPercentile(0.90)));
+            latency.put("p99Ms", millis(snapshot.valueAtPercentile(0.99)));
+            latency.put("maxMs", millis(snapshot.getMaxMicros()));
+            stages.put(stage, latency);
+        }
+
+        Map<String, Object> memoryReport = new LinkedHashMap<>();
+        memoryReport.put("peakHeapBytes", memory.peakHeapBytes());
+        memoryReport.put("peakJavaCppBytes", memory.peakJavaCppBytes.get());
+        memoryReport.put("peakRssBytes", memory.peakRssBytes.get());
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("commit", gitCommit());
+        report.put("settings", settings);
+        report.put("springArgs", springArgs);
+        report.put("documents", measurement.documents);
+        report.put("seconds", round(seconds));
+        report.put("pagesPerSecond", round(measurement.documents / seconds));
+        report.put("stages", stages);
+        report.put("memory", memoryReport);
+        report.put("accuracy", measurement.accuracy.toReport());
+        report.put("accuracyByKind", reports(measurement.accuracyByKind));
+        report.put("accuracyByDocumentType", reports(measurement.accuracyByType));
+        report.put("accuracyByDegradation", reports(measurement.accuracyByDegradation));
+        return report;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void print(Map<String, Object> report) {
+        System.out.printf(
+            "%nDocuments: %s in %ss, %s pages/sec%n",
+            report.get("documents"),
+            report.get("seconds"),
+            report.get("pagesPerSecond")
+        );
+        System.out.printf("%-12s %9s %9s %9s %9s%n", "Stage", "p50 ms", "p90 ms", "p99 ms", "max ms");
+        ((Map<String, Map<String, Object>>) report.get("stages")).forEach((stage, latency) ->
+            System.out.printf(
+                "%-12s %9s %9s %9s %9s%n",
+                stage,
+                latency.get("p50Ms"),
+                latency.get("p90Ms"),
+                latency.get("p99Ms"),
+                latency.get("maxMs")
+            )
+        );
+        Map<String, Object> memory = (Map<String, Object>) report.get("memory");
+        System.out.printf(
+            "Peak heap %d MB, JavaCPP native %d MB, RSS %d MB%n",
+            (Long) memory.get("peakHeapBytes") >> 20,
+            (Long) memory.get("peakJavaCppBytes") >> 20,
+            (Long) memory.get("peakRssBytes") >> 20
+        );
+        Map<String, Object> accuracy = (Map<String, Object>) report.get("accuracy");
+        System.out.printf(
+            "Fields: %s, exact match %s%%, character accuracy %s%%%n",
+            accuracy.get("fields"),
+            accuracy.get("exactMatchPercent"),
+            accuracy.get("characterAccuracyPercent")
+        );
+        ((Map<String, Map<String, Object>>) report.get("accuracyByKind")).forEach((kind, values) ->
+            System.out.printf(
+                "  %-10s exact %6s%%  chars %6s%%%n",
+                kind,
+                values.get("exactMatchPercent"),
+                values.get("characterAccuracyPercent")
+            )
+        );
+    }
+
+    /**
+     * Compare against an earlier report; false when throughput or accuracy regressed
+     */
+    private boolean compare(Map<String, String> settings, File baselineFile, File currentFile)
+        throws IOException {
+        JsonNode baseline = objectMapper.readTree(baselineFile);
+        JsonNode current = objectMapper.readTree(currentFile);
+
+        double throughputBefore = baseline.path("pagesPerSecond").asDouble();
+        double throughputAfter = current.path("pagesPerSecond").asDouble();
+        double throughputChange = throughputBefore == 0
+            ? 0
+            : (throughputAfter - throughputBefore) / throughputBefore * 100;
+        double exactBefore = baseline.path("accuracy").path("exactMatchPercent").asDouble();
+        double exactAfter = current.path("accuracy").path("exactMatchPercent").asDouble();
+        double charsBefore = baseline.path("accuracy").path("characterAccuracyPercent").asDouble();
+        double charsAfter = current.path("accuracy").path("characterAccuracyPercent").asDouble();
+
+        System.out.printf(
+            "%nAgainst %s (%s):%n  pages/sec   %8.2f -> %8.2f (%+.1f%%)%n" +
+            "  exact       %8.2f -> %8.2f (%+.2f points)%n" +
+            "  characters  %8.2f -> %8.2f (%+.2f points)%n",
+            baselineFile,
+            baseline.path("commit").asText("unknown"),
+            throughputBefore,
+            throughputAfter,
+            throughputChange,
+            exactBefore,
+            exactAfter,
+            exactAfter - exactBefore,
+            charsBefore,
+            charsAfter,
+            charsAfter - charsBefore
+        );
+
+        boolean passed = true;
+        if (-throughputChange > Double.parseDouble(settings.get("max-throughput-drop-percent"))) {
+            System.err.println("Throughput regressed past max-throughput-drop-percent");
+            passed = false;
+        }
+        double maxAccuracyDrop = Double.parseDouble(settings.get("max-accuracy-drop-points"));
+        if (exactBefore - exactAfter > maxAccuracyDrop || charsBefore - charsAfter > maxAccuracyDrop) {
+            System.err.println("Accuracy regressed past max-accuracy-drop-points");
+            passed = false;
+        }
+        return passed;
+    }
+
+    private static Map<String, Object> reports(Map<String, Accuracy> accuracies) {
+        Map<String, Object> reports = new LinkedHashMap<>();
+        accuracies
+            .entrySet()
+            .stream()
+            .sorted(Map.Entry.comparingByKey())
+            .forEach(entry -> reports.put(entry.getKey(), entry.getValue().toReport()));
+        return reports;
+    }
+
+    private static String gitCommit() {
+        try {
+            Process process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD")
+                .redirectErrorStream(true)
+                .start();
+            String commit = new String(process.getInputStream().readAllBytes()).trim();
+            return process.waitFor(5, TimeUnit.SECONDS) && process.exitValue() == 0
+                ? commit
+                : "unknown";
+        } catch (IOException | InterruptedException e) {
+            return "unknown";
+        }
+    }
+
+    private static double millis(long micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    /**
+     * Levenshtein distance, for character-level accuracy
+     */
+    static int editDistance(String a, String b) {
+        int[] previous = new int[b.length() + 1];
+        int[] current = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            previous[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            current[0] = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int substitution = previous[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                current[j] = Math.min(substitution, Math.min(previous[j], current[j - 1]) + 1);
+            }
+            int[] swap = previous;
+            previous = current;
+            current = swap;
+        }
+        return previous[b.length()];
+    }
+
+    /**
+     * Running field-level accuracy totals
+     */
+    private static final class Accuracy {
+
+        private long fields;
+        private long exactMatches;
+        private long characters;
+        private long characterErrors;
+
+        void add(String expected, String actual) {
+            fields++;
+            if (expected.equals(actual)) {
+                exactMatches++;
+            }
+            characters += expected.length();
+            characterErrors += Math.min(expected.length(), editDistance(expected, actual));
+        }
+
+        Map<String, Object> toReport() {
+            Map<String, Object> report = new LinkedHashMap<>();
+            report.put("fields", fields);
+            report.put("exactMatchPercent", round(fields == 0 ? 0 : 100.0 * exactMatches / fields));
+            report.put(
+                "characterAccuracyPercent",
+                round(characters == 0 ? 0 : 100.0 * (characters - characterErrors) / characters)
+            );
+            return report;
+        }
+    }
+
+    /**
+     * Latency and accuracy collected from the measured documents
+     */
+    private static final class Measurement {
+
+        private final Map<String, LatencyHistogram> stages = new LinkedHashMap<>();
+        private final Accuracy accuracy = new Accuracy();
+        private final Map<String, Accuracy> accuracyByKind = new HashMap<>();
+        private final Map<String, Accuracy> accuracyByType = new HashMap<>();
+        private final Map<String, Accuracy> accuracyByDegradation = new HashMap<>();
+        private long documents;
+
+        Measurement() {
+            for (String stage : DocumentPipelineService.STAGES) {
+                stages.put(stage, new LatencyHistogram());
+            }
+            stages.put(TOTAL, new LatencyHistogram());
+        }
+
+        synchronized void record(PipelineResult result, JsonNode truth) {
+            documents++;
+            long total = 0;
+            for (Map.Entry<String, Long> stage : result.getStageNanos().entrySet()) {
+                stages.get(stage.getKey()).record(stage.getValue() / 1_000);
+                total += stage.getValue();
+            }
+            stages.get(TOTAL).record(total / 1_000);
+
+            Map<String, String> extracted = new HashMap<>();
+            for (ExtractedField field : result.getFields()) {
+                extracted.put(field.getName(), field.getValue());
+            }
+
+            List<String> degradations = new ArrayList<>();
+            truth.path("degradations").fieldNames().forEachRemaining(degradations::add);
+            if (degradations.isEmpty()) {
+                degradations.add("none");
+            }
+
+            for (JsonNode field : truth.get("fields")) {
+                String expected = field.get("value").asText();
+                String actual = extracted.getOrDefault(field.get("name").asText(), "");
+                accuracy.add(expected, actual);
+                accuracyByKind
+                    .computeIfAbsent(field.get("kind").asText(), key -> new Accuracy())
+                    .add(expected, actual);
+                accuracyByType
+                    .computeIfAbsent(truth.get("documentType").asText(), key -> new Accuracy())
+                    .add(expected, actual);
+                for (String degradation : degradations) {
+                    accuracyByDegradation
+                        .computeIfAbsent(degradation, key -> new Accuracy())
+                        .add(expected, actual);
+                }
+            }
+        }
+    }
+
+    /**
+     * Samples native memory while the measured run is in progress; heap peaks come from the
+     * memory pools themselves
+     */
+    private static final class MemorySampler {
+
+        private final AtomicLong peakJavaCppBytes = new AtomicLong();
+        private final AtomicLong peakRssBytes = new AtomicLong();
+        private final List<MemoryPoolMXBean> heapPools = new ArrayList<>();
+        private volatile boolean running;
+        private Thread thread;
+
+        void start() {
+            for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+                if (pool.getType() == MemoryType.HEAP) {
+                    pool.resetPeakUsage();
+                    heapPools.add(pool);
+                }
+            }
+            running = true;
+            thread = new Thread(() -> {
+                while (running) {
+                    peakJavaCppBytes.accumulateAndGet(Pointer.totalBytes(), Math::max);
+                    peakRssBytes.accumulateAndGet(Pointer.physicalBytes(), Math::max);
+                    try {
+                        Thread.sleep(20);
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+            }, "memory-sampler");
+            thread.setDaemon(true);
+            thread.start();
+        }
+
+        void stop() throws InterruptedException {
+            running = false;
+            thread.join();
+        }
+
+        long peakHeapBytes() {
+            return heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        }
+    }
+}
@@ -0,0 +1,428 @@
+package com.see.bench;
+
+import static org.bytedeco.opencv.global.opencv_core.BORDER_CONSTANT;
+import static org.bytedeco.opencv.global.opencv_core.CV_8UC1;
+import static org.bytedeco.opencv.global.opencv_imgcodecs.IMWRITE_JPEG_QUALITY;
+import static org.bytedeco.opencv.global.opencv_imgcodecs.IMWRITE_PNG_COMPRESSION;
+import static org.bytedeco.opencv.global.opencv_imgcodecs.imwrite;
+import static org.bytedeco.opencv.global.opencv_imgproc.FONT_HERSHEY_SIMPLEX;
+import static org.bytedeco.opencv.global.opencv_imgproc.GaussianBlur;
+import static org.bytedeco.opencv.global.opencv_imgproc.INTER_LINEAR;
+import static org.bytedeco.opencv.global.opencv_imgproc.LINE_8;
+import static org.bytedeco.opencv.global.opencv_imgproc.LINE_AA;
+import static org.bytedeco.opencv.global.opencv_imgproc.getRotationMatrix2D;
+import static org.bytedeco.opencv.global.opencv_imgproc.getTextSize;
+import static org.bytedeco.opencv.global.opencv_imgproc.line;
+import static org.bytedeco.opencv.global.opencv_imgproc.putText;
+import static org.bytedeco.opencv.global.opencv_imgproc.rectangle;
+import static org.bytedeco.opencv.global.opencv_imgproc.warpAffine;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.see.constants.DocumentType;
+import com.see.ocr.FormField;
+import com.see.ocr.FormTemplate;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.bytedeco.javacpp.indexer.UByteIndexer;
+import org.bytedeco.opencv.opencv_core.Mat;
+import org.bytedeco.opencv.opencv_core.Point;
+import org.bytedeco.opencv.opencv_core.Point2f;
+import org.bytedeco.opencv.opencv_core.Rect;
+import org.bytedeco.opencv.opencv_core.Scalar;
+import org.bytedeco.opencv.opencv_core.Size;
+
+/**
+ * Renders synthetic scanned forms for every DocumentType with known field values, degrades them
+ * like a real scan (skew, sensor noise, blur, JPEG compression) and writes ground-truth JSON
+ * next to each image, so pipeline throughput and accuracy can be measured without client data.
+ *
+ * Usage: ScannedCorpusGenerator [key=value ...], see {@link #DEFAULTS} for the keys.
+ * The same seed always produces the same corpus.
+ *
+ * Output layout:
+ *   images/000001-MASTER.jpg      rendered page (png when no JPEG artifacts were applied)
+ *   truth/000001-MASTER.json      document type, degradations and every field value and zone
+ *   manifest.json                 settings plus the list of documents
+ */
+public final class ScannedCorpusGenerator {
+
+    static final Map<String, String> DEFAULTS = new LinkedHashMap<>();
+
+    static {
+        DEFAULTS.put("out", "target/corpus");
+        DEFAULTS.put("count", "300");
+        DEFAULTS.put("seed", "42");
+        DEFAULTS.put("types", "MASTER,PARTY,LEGAL");
+        DEFAULTS.put("skew.rate", "0.6");
+        DEFAULTS.put("skew.max-degrees", "2.0");
+        DEFAULTS.put("noise.rate", "0.5");
+        DEFAULTS.put("noise.max-sigma", "18");
+        DEFAULTS.put("blur.rate", "0.3");
+        DEFAULTS.put("blur.max-kernel", "5");
+        DEFAULTS.put("jpeg.rate", "0.7");
+        DEFAULTS.put("jpeg.min-quality", "35");
+        DEFAULTS.put("jpeg.max-quality", "90");
+    }
+
+    private static final Scalar INK = new Scalar(20, 20, 20, 0);
+    private static final Scalar PAPER = new Scalar(255, 255, 255, 0);
+
+    private static final String[] FIRST_NAMES = {
+        "AARAV", "ANANYA", "ROHAN", "PRIYA", "VIKRAM", "MEERA", "ARJUN", "KAVYA",
+        "SANJAY", "NEHA", "RAHUL", "DIVYA", "KARAN", "POOJA", "NIKHIL", "SNEHA",
+    };
+    private static final String[] LAST_NAMES = {
+        "SHARMA", "PATIL", "DESHMUKH", "IYER", "KULKARNI", "REDDY", "JOSHI", "NAIR",
+        "GUPTA", "MEHTA", "RAO", "PAWAR", "BHOSALE", "KAPOOR", "SINGH", "DESAI",
+    };
+    private static final String[] STREETS = {
+        "MG ROAD", "STATION ROAD", "FC ROAD", "LINK ROAD", "MAIN STREET", "CHURCH LANE",
+    };
+    private static final String[] CITIES = {
+        "PUNE", "MUMBAI", "NASHIK", "NAGPUR", "THANE", "SATARA", "KOLHAPUR",
+    };
+    private static final String[] PARTY_TYPES = {
+        "INDIVIDUAL", "COMPANY", "PARTNERSHIP", "TRUST", "SOCIETY", "HUF",
+    };
+    private static final String[] COURTS = {
+        "DISTRICT COURT", "CIVIL COURT", "HIGH COURT", "SESSIONS COURT", "FAMILY COURT",
+    };
+
+    private final Map<String, String> settings;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    ScannedCorpusGenerator(Map<String, String> settings) {
+        this.settings = settings;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Map<String, String> settings = new LinkedHashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int separator = arg.indexOf('=');
+            if (separator <= 0 || !DEFAULTS.containsKey(arg.substring(0, separator))) {
+                System.err.println(
+                    "Unknown argument " + arg + ", expected one of " + DEFAULTS.keySet()
+                );
+                System.exit(2);
+            }
+            settings.put(arg.substring(0, separator), arg.substring(separator + 1));
+        }
+
+        long started = System.nanoTime();
+        int count = new ScannedCorpusGenerator(settings).generate();
+        System.out.printf(
+            "Generated %d documents in %s (%.1fs)%n",
+            count,
+            settings.get("out"),
+            (System.nanoTime() - started) / 1e9
+        );
+    }
+
+    int generate() throws IOException {
+        File out = new File(settings.get("out"));
+        File images = new File(out, "images");
+        File truth = new File(out, "truth");
+        if (
+            (!images.isDirectory() && !images.mkdirs()) ||
+            (!truth.isDirectory() && !truth.mkdirs())
+        ) {
+            throw new IOException("Cannot create output directories under " + out);
+        }
+
+        List<DocumentType> types = new ArrayList<>();
+        for (String type : settings.get("types").split(",")) {
+            types.add(DocumentType.valueOf(type.trim().toUpperCase()));
+        }
+
+        long seed = Long.parseLong(settings.get("seed"));
+        int count = Integer.parseInt(settings.get("count"));
+        List<Map<String, Object>> documents = new ArrayList<>();
+
+        for (int i = 1; i <= count; i++) {
+            // One generator per document so any single document can be reproduced from its seed
+            long documentSeed = seed * 1_000_003L + i;
+            DocumentType type = types.get((i - 1) % types.size());
+            String name = String.format("%06d-%s", i, type);
+
+            Map<String, Object> groundTruth = render(
+                FormTemplate.forType(type),
+                new Random(documentSeed),
+                images,
+                name
+            );
+            groundTruth.put("seed", documentSeed);
+            objectMapper
+                .writerWithDefaultPrettyPrinter()
+                .writeValue(new File(truth, name + ".json"), groundTruth);
+
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("id", name);
+            entry.put("documentType", type.name());
+            entry.put("image", "images/" + groundTruth.get("image"));
+            entry.put("truth", "truth/" + name + ".json");
+            documents.add(entry);
+        }
+
+        Map<String, Object> manifest = new LinkedHashMap<>();
+        manifest.put("settings", settings);
+        manifest.put("documents", documents);
+        objectMapper
+            .writerWithDefaultPrettyPrinter()
+            .writeValue(new File(out, "manifest.json"), manifest);
+        return count;
+    }
+
+    private Map<String, Object> render(
+        FormTemplate template,
+        Random random,
+        File images,
+        String name
+    ) {
+        Mat page = new Mat(
+            FormTemplate.PAGE_HEIGHT,
+            FormTemplate.PAGE_WIDTH,
+            CV_8UC1,
+            PAPER
+        );
+        List<Map<String, Object>> fields = new ArrayList<>();
+        Map<String, Object> degradations = new LinkedHashMap<>();
+
+        try {
+            putText(
+                page,
+                template.getTitle(),
+                new Point(80, 170),
+                FONT_HERSHEY_SIMPLEX,
+                1.6,
+                INK,
+                3,
+                LINE_AA,
+                false
+            );
+            line(
+                page,
+                new Point(80, 200),
+                new Point(FormTemplate.PAGE_WIDTH - 80, 200),
+                INK,
+                2,
+                LINE_8,
+                0
+            );
+
+            for (FormField field : template.getFields()) {
+                String value = fit(sampleValue(field, random), field.getWidth() - 32);
+                int baseline = field.getY() + field.getHeight() / 2 + 14;
+
+                putText(
+                    page,
+                    field.getLabel().toUpperCase(),
+                    new Point(80, baseline),
+                    FONT_HERSHEY_SIMPLEX,
+                    0.9,
+                    INK,
+                    1,
+                    LINE_AA,
+                    false
+                );
+                rectangle(
+                    page,
+                    new Rect(field.getX(), field.getY(), field.getWidth(), field.getHeight()),
+                    INK,
+                    2,
+                    LINE_8,
+                    0
+                );
+                putText(
+                    page,
+                    value,
+                    new Point(field.getX() + 16, baseline),
+                    FONT_HERSHEY_SIMPLEX,
+                    FormTemplate.VALUE_FONT_SCALE,
+                    INK,
+                    FormTemplate.VALUE_THICKNESS,
+                    LINE_AA,
+                    false
+                );
+
+                Map<String, Object> zone = new LinkedHashMap<>();
+                zone.put("x", field.getX());
+                zone.put("y", field.getY());
+                zone.put("width", field.getWidth());
+                zone.put("height", field.getHeight());
+
+                Map<String, Object> truth = new LinkedHashMap<>();
+                truth.put("name", field.getName());
+                truth.put("kind", field.getKind().name());
+                truth.put("value", value);
+                truth.put("zone", zone);
+                fields.add(truth);
+            }
+
+            if (chance(random, "skew.rate")) {
+                double degrees = (random.nextDouble() * 2 - 1) * number("skew.max-degrees");
+                skew(page, degrees);
+                degradations.put("skewDegrees", Math.round(degrees * 100) / 100.0);
+            }
+            if (chance(random, "noise.rate")) {
+                double sigma = 2 + random.nextDouble() * (number("noise.max-sigma") - 2);
+                addNoise(page, sigma, random);
+                degradations.put("noiseSigma", Math.round(sigma * 10) / 10.0);
+            }
+            if (chance(random, "blur.rate")) {
+                // Odd kernel sizes between 3 and blur.max-kernel
+                int maxKernel = Math.max(3, (int) number("blur.max-kernel"));
+                int kernel = 3 + 2 * random.nextInt((maxKernel - 3) / 2 + 1);
+                GaussianBlur(page, page, new Size(kernel, kernel), 0);
+                degradations.put("blurKernel", kernel);
+            }
+
+            String image;
+            if (chance(random, "jpeg.rate")) {
+                int minQuality = (int) number("jpeg.min-quality");
+                int maxQuality = (int) number("jpeg.max-quality");
+                int quality = minQuality + random.nextInt(maxQuality - minQuality + 1);
+                image = name + ".jpg";
+                imwrite(
+                    new File(images, image).getPath(),
+                    page,
+                    new int[] { IMWRITE_JPEG_QUALITY, quality }
+                );
+                degradations.put("jpegQuality", quality);
+            } else {
+                image = name + ".png";
+                imwrite(
+                    new File(images, image).getPath(),
+                    page,
+                    new int[] { IMWRITE_PNG_COMPRESSION, 3 }
+                );
+            }
+
+            Map<String, Object> groundTruth = new LinkedHashMap<>();
+            groundTruth.put("id", name);
+            groundTruth.put("documentType", template.getDocumentType().name());
+            groundTruth.put("image", image);
+            groundTruth.put("width", FormTemplate.PAGE_WIDTH);
+            groundTruth.put("height", FormTemplate.PAGE_HEIGHT);
+            groundTruth.put("degradations", degradations);
+            groundTruth.put("fields", fields);
+            return groundTruth;
+        } finally {
+            page.release();
+        }
+    }
+
+    private static void skew(Mat page, double degrees) {
+        Point2f center = new Point2f(page.cols() / 2f, page.rows() / 2f);
+        Mat rotation = getRotationMatrix2D(center, degrees, 1.0);
+        try {
+            warpAffine(page, page, rotation, page.size(), INTER_LINEAR, BORDER_CONSTANT, PAPER);
+        } finally {
+            rotation.release();
+        }
+    }
+
+    /**
+     * Gaussian sensor noise plus sparse dark specks, drawn from the document's own Random so the
+     * corpus stays reproducible
+     */
+    private static void addNoise(Mat page, double sigma, Random random) {
+        try (UByteIndexer pixels = page.createIndexer()) {
+            int rows = page.rows();
+            int cols = page.cols();
+            for (int y = 0; y < rows; y++) {
+                for (int x = 0; x < cols; x++) {
+                    int value = pixels.get(y, x) + (int) Math.round(random.nextGaussian() * sigma);
+                    if (random.nextInt(4000) == 0) {
+                        value = random.nextInt(80);
+                    }
+                    pixels.put(y, x, Math.max(0, Math.min(255, value)));
+                }
+            }
+        }
+    }
+
+    private static String fit(String value, int maxWidth) {
+        String fitted = value;
+        while (fitted.length() > 1 && textWidth(fitted) > maxWidth) {
+            fitted = fitted.substring(0, fitted.length() - 1).trim();
+        }
+        return fitted;
+    }
+
+    private static int textWidth(String text) {
+        int[] baseline = new int[1];
+        Size size = getTextSize(
+            text,
+            FONT_HERSHEY_SIMPLEX,
+            FormTemplate.VALUE_FONT_SCALE,
+            FormTemplate.VALUE_THICKNESS,
+            baseline
+        );
+        try {
+            return size.width();
+        } finally {
+            size.close();
+        }
+    }
+
+    private static String sampleValue(FormField field, Random random) {
+        return switch (field.getKind()) {
+            case ID -> letters(random, 2) +
+                "/" + (2015 + random.nextInt(11)) +
+                "/" + digits(random, 5);
+            case NAME -> pick(random, FIRST_NAMES) +
+                (random.nextBoolean() ? " " + (char) ('A' + random.nextInt(26)) + "." : "") +
+                " " + pick(random, LAST_NAMES);
+            case DATE -> String.format(
+                "%02d/%02d/%d",
+                1 + random.nextInt(28),
+                1 + random.nextInt(12),
+                1950 + random.nextInt(75)
+            );
+            case NUMBER -> field.getName().contains("pin")
+                ? String.valueOf(400_000 + random.nextInt(100_000))
+                : (7 + random.nextInt(3)) + digits(random, 9);
+            case AMOUNT -> String.format("%,d.00", (1 + random.nextInt(500)) * 100);
+            case TEXT -> switch (field.getName()) {
+                case "party_type" -> pick(random, PARTY_TYPES);
+                case "court" -> pick(random, COURTS) + " " + pick(random, CITIES);
+                default -> (1 + random.nextInt(250)) +
+                    ", " + pick(random, STREETS) +
+                    ", " + pick(random, CITIES);
+            };
+        };
+    }
+
+    private static String pick(Random random, String[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static String letters(Random random, int count) {
+        StringBuilder letters = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            letters.append((char) ('A' + random.nextInt(26)));
+        }
+        return letters.toString();
+    }
+
+    private static String digits(Random random, int count) {
+        StringBuilder digits = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            digits.append(random.nextInt(10));
+        }
+        return digits.toString();
+    }
+
+    private boolean chance(Random random, String rateKey) {
+        return random.nextDouble() < number(rateKey);
+    }
+
+    private double number(String key) {
+        return Double.parseDouble(settings.get(key));
+    }
+}
@@ -0,0 +1,83 @@
+package com.see.config;
+
+import com.see.bench.BenchmarkFixtures;
+import com.see.service.LoggingService;
+import jakarta.servlet.FilterChain;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * Per-request overhead of ApiLoggingFilter (MDC setup, API_CALL/PERFORMANCE/SECURITY lines,
+ * latency histogram, CPU/allocation readings) over an empty filter chain. Log output goes
+ * through the async appender tier into /dev/null, see logback-jmh.xml.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-jmh.xml")
+public class ApiLoggingFilterBenchmark {
+
+    @Param({ "true", "false" })
+    private boolean samplingEnabled;
+
+    private final FilterChain chain = (request, response) -> {};
+
+    private ApiLoggingFilter filter;
+    private MockHttpServletRequest request;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        filter = new ApiLoggingFilter(
+            new LoggingService(),
+            BenchmarkFixtures.logSampler(samplingEnabled),
+            BenchmarkFixtures.performanceStatsService()
+        );
+
+        request = new MockHttpServletRequest("GET", "/api/admin/users");
+        request.addHeader("User-Agent", "Mozilla/5.0 (X11; Linux x86_64) benchmark");
+        request.addHeader("X-Forwarded-For", "203.0.113.7, 10.0.0.1");
+        request.setAttribute(
+            HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE,
+            "/api/admin/users"
+        );
+        response = new MockHttpServletResponse();
+
+        SecurityContextHolder.getContext().setAuthentication(
+            new UsernamePasswordAuthenticationToken(
+                "admin",
+                null,
+                List.of(new SimpleGrantedAuthority("ROLE_ADMIN"))
+            )
+        );
+    }
+
+    @Benchmark
+    public void emptyChain() throws Exception {
+        chain.doFilter(request, response);
+    }
+
+    @Benchmark
+    public void withApiLoggingFilter() throws Exception {
+        filter.doFilter(request, response, chain);
+    }
+}
@@ -0,0 +1,69 @@
+package com.see.config;
+
+import com.see.bench.BenchmarkFixtures;
+import jakarta.servlet.FilterChain;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+/**
+ * Full JWT filter pass for an API request: header parse, signature check, user lookup and
+ * security context population. The user lookup is in-memory here, so the database round trip
+ * of CustomUserDetailsService is not part of the number.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-jmh.xml")
+public class JwtAuthenticationFilterBenchmark {
+
+    private final FilterChain chain = (request, response) -> {};
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest apiRequest;
+    private MockHttpServletRequest webPageRequest;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        JwtUtil jwtUtil = BenchmarkFixtures.jwtUtil();
+        UserDetails user = User.withUsername("admin")
+            .password("n/a")
+            .roles("ADMIN")
+            .build();
+        filter = new JwtAuthenticationFilter(jwtUtil, username -> user);
+
+        apiRequest = new MockHttpServletRequest("GET", "/api/admin/users");
+        apiRequest.addHeader("Authorization", "Bearer " + jwtUtil.generateToken(user));
+        webPageRequest = new MockHttpServletRequest("GET", "/dashboard");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public void authenticatedApiRequest(Blackhole blackhole) throws Exception {
+        filter.doFilter(apiRequest, response, chain);
+        blackhole.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public void skippedWebPage() throws Exception {
+        filter.doFilter(webPageRequest, response, chain);
+    }
+}
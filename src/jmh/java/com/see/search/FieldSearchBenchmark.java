@@ -0,0 +1,196 @@
+package com.see.search;
+
+import com.see.constants.DocumentType;
+import com.see.constants.QCStatus;
+import com.see.dto.FieldSearchResultDto;
+import com.see.repository.SearchIndexRow;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Query latency of the field search index over a synthetic corpus of {@code fields} extracted
+ * fields (16 per document, 10 projects, 1000 batches). The index is built once under
+ * target/search-bench-{fields} and reused by later runs; building 100M fields takes a while.
+ *
+ * Run: ./mvnw -Pjmh -DskipTests verify -Djmh.includes=FieldSearch \
+ *          -Djmh.args="-p fields=100000000"
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx2g", "-Dlogback.configurationFile=logback-jmh.xml" })
+public class FieldSearchBenchmark {
+
+    private static final int FIELDS_PER_DOCUMENT = 16;
+    private static final int PROJECTS = 10;
+    private static final int BATCHES = 1000;
+    private static final int QUERIES = 1024;
+    private static final String[] FIRST_NAMES = names("first", 400);
+    private static final String[] LAST_NAMES = names("last", 2000);
+
+    @Param({ "1000000" })
+    private long fields;
+
+    private final UUID[] projectIds = new UUID[PROJECTS];
+    private final UUID[] batchIds = new UUID[BATCHES];
+    private final List<String> references = new ArrayList<>();
+    private final List<String> partyNames = new ArrayList<>();
+    private FieldSearchIndex index;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        Random ids = new Random(7);
+        for (int i = 0; i < PROJECTS; i++) {
+            projectIds[i] = new UUID(ids.nextLong(), ids.nextLong());
+        }
+        for (int i = 0; i < BATCHES; i++) {
+            batchIds[i] = new UUID(ids.nextLong(), ids.nextLong());
+        }
+
+        Path dir = Path.of("target", "search-bench-" + fields);
+        boolean build = !Files.exists(dir.resolve("complete"));
+        index = new FieldSearchIndex(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(index, "indexDir", dir.toString());
+        ReflectionTestUtils.setField(index, "refreshIntervalMillis", 3_600_000L);
+        ReflectionTestUtils.setField(index, "commitIntervalMillis", 3_600_000L);
+        ReflectionTestUtils.setField(index, "ramBufferMb", 256.0);
+        index.open();
+
+        Random random = new Random(42);
+        if (build) {
+            index.startRebuild();
+        }
+        long sampleEvery = Math.max(1, fields / FIELDS_PER_DOCUMENT / QUERIES);
+        long started = System.nanoTime();
+        for (long field = 0; field < fields; field++) {
+            SearchIndexRow row = row(field, random);
+            if (build) {
+                index.add(row);
+                if ((field + 1) % 10_000_000 == 0) {
+                    System.out.printf(
+                        "%n%d fields indexed in %ds%n",
+                        field + 1,
+                        (System.nanoTime() - started) / 1_000_000_000
+                    );
+                }
+            }
+            // Sample query inputs from the same corpus without keeping it in memory
+            long document = field / FIELDS_PER_DOCUMENT;
+            if (document % sampleEvery == 0) {
+                if (row.fieldName().equals("case_no")) {
+                    references.add(row.fieldValue());
+                } else if (row.fieldName().equals("party_1")) {
+                    partyNames.add(row.fieldValue());
+                }
+            }
+        }
+        if (build) {
+            index.finishRebuild();
+            index.commit();
+            Files.createFile(dir.resolve("complete"));
+            System.out.printf(
+                "%nBuilt %d fields in %ds%n",
+                fields,
+                (System.nanoTime() - started) / 1_000_000_000
+            );
+        } else {
+            index.commit();
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        index.close();
+    }
+
+    /**
+     * A reference number: a few matching fields among all of them
+     */
+    @Benchmark
+    public FieldSearchResultDto referenceNumber() {
+        return index.search(references.get(next++ % references.size()), Map.of(), 20);
+    }
+
+    /**
+     * A party name narrowed to one project and QC status
+     */
+    @Benchmark
+    public FieldSearchResultDto partyNameInProject() {
+        int i = next++;
+        Map<String, String> filters = new HashMap<>();
+        filters.put(FieldSearchIndex.PROJECT_ID, projectIds[i % PROJECTS].toString());
+        filters.put(FieldSearchIndex.QC_STATUS, QCStatus.PASSED.name());
+        return index.search(partyNames.get(i % partyNames.size()), filters, 20);
+    }
+
+    /**
+     * A single surname matching about 1 in 2000 party-name fields, unfiltered
+     */
+    @Benchmark
+    public FieldSearchResultDto commonSurname() {
+        return index.search(LAST_NAMES[next++ % LAST_NAMES.length], Map.of(), 20);
+    }
+
+    private SearchIndexRow row(long field, Random random) {
+        long document = field / FIELDS_PER_DOCUMENT;
+        int slot = (int) (field % FIELDS_PER_DOCUMENT);
+        int batch = (int) (document % BATCHES);
+        String name;
+        String value;
+        if (slot == 0) {
+            name = "case_no";
+            value = "CS/" + document + "/" + (2000 + random.nextInt(25));
+        } else if (slot < 4) {
+            name = "party_" + slot;
+            value = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " "
+                + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        } else {
+            name = "field_" + slot;
+            value = Integer.toString(random.nextInt(1_000_000));
+        }
+        return new SearchIndexRow(
+            new UUID(field, slot),
+            new UUID(document, 0),
+            batchIds[batch],
+            projectIds[batch % PROJECTS],
+            DocumentType.values()[(int) (document % DocumentType.values().length)],
+            QCStatus.values()[(int) (document % QCStatus.values().length)],
+            name,
+            value
+        );
+    }
+
+    private static String[] names(String prefix, int count) {
+        String[] names = new String[count];
+        for (int i = 0; i < count; i++) {
+            names[i] = prefix + Integer.toString(i, 36) + "x";
+        }
+        return names;
+    }
+}
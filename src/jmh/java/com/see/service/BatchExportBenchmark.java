@@ -0,0 +1,140 @@
+package com.see.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.see.constants.DocumentType;
+import com.see.constants.ExportFormat;
+import com.see.repository.DocumentFieldExportRow;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.test.util.ReflectionTestUtils;
+
+/**
+ * Export writers over an in-memory result set, without the database. The encoded size of
+ * each format is printed at the end of the trial.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(
+    value = 1,
+    jvmArgsAppend = {
+        "-Dlogback.configurationFile=logback-jmh.xml",
+        "--add-opens=java.base/java.nio=ALL-UNNAMED",
+    }
+)
+public class BatchExportBenchmark {
+
+    private static final String[] FIELD_NAMES = {
+        "case_no", "court", "petitioner", "respondent", "filing_date", "hearing_date",
+        "advocate", "stamp_value", "district", "taluka", "village", "survey_no",
+        "owner_name", "area", "registration_no", "document_date",
+    };
+
+    @Param({ "100000" })
+    private int rowCount;
+
+    @Param({ "CSV", "NDJSON", "ARROW" })
+    private ExportFormat format;
+
+    @Param({ "false", "true" })
+    private boolean gzip;
+
+    private final BatchExportService exportService = new BatchExportService(
+        null,
+        new ObjectMapper()
+    );
+    private final CountingOutputStream out = new CountingOutputStream();
+    private List<DocumentFieldExportRow> rows;
+
+    @Setup
+    public void setUp() {
+        ReflectionTestUtils.setField(exportService, "bufferBytes", 65536);
+        ReflectionTestUtils.setField(exportService, "arrowBatchRows", 65536);
+
+        Random random = new Random(42);
+        UUID batchId = UUID.randomUUID();
+        rows = new ArrayList<>(rowCount);
+        UUID documentId = null;
+        String path = null;
+        for (int i = 0; i < rowCount; i++) {
+            int fieldIndex = i % FIELD_NAMES.length;
+            if (fieldIndex == 0) {
+                documentId = UUID.randomUUID();
+                path = "scans/batch-07/" + String.format("%06d", i / FIELD_NAMES.length) + ".tif";
+            }
+            rows.add(
+                new DocumentFieldExportRow(
+                    batchId,
+                    documentId,
+                    path,
+                    DocumentType.LEGAL,
+                    FIELD_NAMES[fieldIndex],
+                    random.nextInt(20) == 0 ? null : "CS/" + random.nextInt(100_000) + "/2024",
+                    0.5 + random.nextDouble() / 2
+                )
+            );
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void reportSize() {
+        System.out.printf(
+            "%n%s gzip=%s: %d bytes for %d rows%n",
+            format,
+            gzip,
+            out.lastSize,
+            rowCount
+        );
+    }
+
+    @Benchmark
+    public long export() throws IOException {
+        out.count = 0;
+        if (!gzip) {
+            exportService.write(format, rows.iterator(), out);
+        } else {
+            GZIPOutputStream compressed = new GZIPOutputStream(out, 65536);
+            exportService.write(format, rows.iterator(), compressed);
+            compressed.finish();
+        }
+        out.lastSize = out.count;
+        return out.count;
+    }
+
+    private static final class CountingOutputStream extends OutputStream {
+
+        private long count;
+        private long lastSize;
+
+        @Override
+        public void write(int b) {
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            count += len;
+        }
+    }
+}
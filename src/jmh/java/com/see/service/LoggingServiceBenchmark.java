@@ -0,0 +1,57 @@
+package com.see.service;
+
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+/**
+ * Client IP resolution, called several times per logged request
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-jmh.xml")
+public class LoggingServiceBenchmark {
+
+    /**
+     * direct: no proxy headers, every header is checked before falling back to the remote address.
+     * forwarded: X-Forwarded-For chain, first header wins.
+     * realIp: only X-Real-IP set, second header wins.
+     */
+    @Param({ "direct", "forwarded", "realIp" })
+    private String headers;
+
+    private final LoggingService loggingService = new LoggingService();
+    private MockHttpServletRequest request;
+
+    @Setup
+    public void setUp() {
+        request = new MockHttpServletRequest("GET", "/api/admin/users");
+        request.setRemoteAddr("192.168.1.20");
+        switch (headers) {
+            case "forwarded" -> request.addHeader(
+                "X-Forwarded-For",
+                "203.0.113.7, 10.0.0.1, 10.0.0.2"
+            );
+            case "realIp" -> request.addHeader("X-Real-IP", "198.51.100.23");
+            default -> {}
+        }
+    }
+
+    @Benchmark
+    public String getClientIP() {
+        return loggingService.getClientIP(request);
+    }
+}
@@ -0,0 +1,65 @@
+package com.see.util;
+
+import com.see.domain.Role;
+import com.see.domain.User;
+import com.see.dto.UserDto;
+import java.util.Date;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Entity to DTO mapping used by every admin user listing, over growing role sets
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Dlogback.configurationFile=logback-jmh.xml")
+public class UserMapperBenchmark {
+
+    @Param({ "1", "10", "100", "1000" })
+    private int roleCount;
+
+    private final UserMapper userMapper = new UserMapper();
+    private User user;
+
+    @Setup
+    public void setUp() {
+        Set<Role> roles = new HashSet<>();
+        for (int i = 0; i < roleCount; i++) {
+            Role role = new Role();
+            role.setId(UUID.randomUUID());
+            role.setName("ROLE_" + i);
+            role.setDescription("Benchmark role " + i);
+            roles.add(role);
+        }
+
+        user = new User();
+        user.setId(UUID.randomUUID());
+        user.setUsername("benchmark.user");
+        user.setEmail("benchmark.user@example.com");
+        user.setPassword("n/a");
+        user.setCreatedAt(new Date());
+        user.setUpdatedAt(new Date());
+        user.setRoles(roles);
+    }
+
+    @Benchmark
+    public UserDto toDto() {
+        return userMapper.toDto(user);
+    }
+}
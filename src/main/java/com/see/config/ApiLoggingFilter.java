@@ -1,6 +1,9 @@
 package com.see.config;
 
+import com.see.service.LogSampler;
 import com.see.service.LoggingService;
+import com.see.service.PerformanceStatsService;
+import com.see.util.ThreadResourceMeter;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,6 +15,7 @@ import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
 
 @Slf4j
 @Component
@@ -19,10 +23,11 @@ import org.springframework.web.filter.OncePerRequestFilter;
 public class ApiLoggingFilter extends OncePerRequestFilter {
 
     private final LoggingService loggingService;
+    private final LogSampler logSampler;
+    private final PerformanceStatsService performanceStatsService;
 
-    // Performance thresholds
-    private static final long SLOW_REQUEST_THRESHOLD_MS = 2000; // 2 seconds
-    private static final long VERY_SLOW_REQUEST_THRESHOLD_MS = 5000; // 5 seconds
+    // API_CALL + PERFORMANCE lines written for every routine request
+    private static final int LINES_PER_ROUTINE_REQUEST = 2;
 
     @Override
     protected void doFilterInternal(
@@ -32,8 +37,12 @@ public class ApiLoggingFilter extends OncePerRequestFilter {
     ) throws ServletException, IOException {
         String uri = request.getRequestURI();
         String method = request.getMethod();
-        long startTime = System.currentTimeMillis();
+        long startNanos = System.nanoTime();
+        long startCpuNanos = ThreadResourceMeter.currentThreadCpuNanos();
+        long startAllocatedBytes =
+            ThreadResourceMeter.currentThreadAllocatedBytes();
         String requestId = null;
+        boolean failed = false;
 
         // Skip logging for static resources and health checks
         if (!shouldLog(uri)) {
@@ -63,6 +72,7 @@ public class ApiLoggingFilter extends OncePerRequestFilter {
             // Process the request
             filterChain.doFilter(request, response);
         } catch (Exception e) {
+            failed = true;
             // Log any exceptions that occur during request processing
             log.error(
                 "Exception occurred during request processing: {} {} by user: {}",
@@ -82,9 +92,40 @@ public class ApiLoggingFilter extends OncePerRequestFilter {
         } finally {
             try {
                 // Calculate request duration
-                long duration = System.currentTimeMillis() - startTime;
+                long elapsedNanos = System.nanoTime() - startNanos;
+                long duration = elapsedNanos / 1_000_000;
                 int statusCode = response.getStatus();
 
+                // CPU and allocation of the request thread (work on other threads is not included)
+                long cpuNanos = ThreadResourceMeter.delta(
+                    startCpuNanos,
+                    ThreadResourceMeter.currentThreadCpuNanos()
+                );
+                long allocatedBytes = ThreadResourceMeter.delta(
+                    startAllocatedBytes,
+                    ThreadResourceMeter.currentThreadAllocatedBytes()
+                );
+
+                // Feed the endpoint's latency distribution; slow thresholds come from it
+                String endpoint = resolveEndpoint(request);
+                performanceStatsService.record(
+                    method,
+                    endpoint,
+                    elapsedNanos,
+                    cpuNanos,
+                    allocatedBytes
+                );
+                long slowThreshold =
+                    performanceStatsService.getSlowThresholdMillis(
+                        method,
+                        endpoint
+                    );
+                long verySlowThreshold =
+                    performanceStatsService.getVerySlowThresholdMillis(
+                        method,
+                        endpoint
+                    );
+
                 // Create action description with detailed info
                 String action = String.format(
                     "Response: %d, Duration: %dms, Size: %d bytes",
@@ -93,36 +134,62 @@ public class ApiLoggingFilter extends OncePerRequestFilter {
                     response.getBufferSize()
                 );
 
-                // Log the API call
-                loggingService.logApiCall(request, username, action);
+                // Errors and slow requests are always logged; routine ones are sampled under load
+                boolean routine =
+                    !failed &&
+                    statusCode < 400 &&
+                    duration < slowThreshold;
+                long sampleRate = routine
+                    ? logSampler.sample(LINES_PER_ROUTINE_REQUEST)
+                    : 1;
 
-                // Log performance metrics for all requests
-                loggingService.logPerformance(
-                    method + " " + uri,
-                    duration,
-                    username,
-                    "Status: " + statusCode
-                );
+                if (sampleRate > 0) {
+                    // Log the API call
+                    loggingService.logApiCall(
+                        request,
+                        username,
+                        action,
+                        sampleRate
+                    );
+
+                    // Log performance metrics
+                    loggingService.logPerformance(
+                        method + " " + uri,
+                        duration,
+                        username,
+                        String.format(
+                            "Status: %d, CPU: %s, Alloc: %s",
+                            statusCode,
+                            cpuNanos >= 0 ? cpuNanos / 1_000_000 + "ms" : "n/a",
+                            allocatedBytes >= 0
+                                ? allocatedBytes / 1024 + "KB"
+                                : "n/a"
+                        ),
+                        sampleRate
+                    );
+                }
 
                 // Log slow requests with warning level
-                if (duration >= VERY_SLOW_REQUEST_THRESHOLD_MS) {
+                if (duration >= verySlowThreshold) {
                     loggingService.logSlowOperation(
                         method + " " + uri,
                         duration,
                         username,
                         String.format(
-                            "Very slow request - Status: %d, User: %s",
+                            "Very slow request (threshold %dms) - Status: %d, User: %s",
+                            verySlowThreshold,
                             statusCode,
                             username != null ? username : "anonymous"
                         )
                     );
-                } else if (duration >= SLOW_REQUEST_THRESHOLD_MS) {
+                } else if (duration >= slowThreshold) {
                     loggingService.logSlowOperation(
                         method + " " + uri,
                         duration,
                         username,
                         String.format(
-                            "Slow request - Status: %d, User: %s",
+                            "Slow request (threshold %dms) - Status: %d, User: %s",
+                            slowThreshold,
                             statusCode,
                             username != null ? username : "anonymous"
                         )
@@ -130,7 +197,7 @@ public class ApiLoggingFilter extends OncePerRequestFilter {
                 }
 
                 // Log security events for certain endpoints
-                logSecurityEvents(request, response, username, duration);
+                logSecurityEvents(request, response, username, sampleRate);
 
                 log.debug(
                     "Completed request processing: {} {} by user: {} in {}ms with status: {}",
@@ -150,13 +217,14 @@ public class ApiLoggingFilter extends OncePerRequestFilter {
     }
 
     /**
-     * Log security-relevant events based on request patterns
+     * Log security-relevant events based on request patterns.
+     * Failures are always logged; read-only admin operations follow the request's sample rate.
      */
     private void logSecurityEvents(
         HttpServletRequest request,
         HttpServletResponse response,
         String username,
-        long duration
+        long sampleRate
     ) {
         String uri = request.getRequestURI();
         String method = request.getMethod();
@@ -185,8 +253,12 @@ public class ApiLoggingFilter extends OncePerRequestFilter {
             }
         }
 
-        // Log admin operations
-        if (uri.startsWith("/api/admin/") || uri.contains("/admin")) {
+        // Log admin operations (mutations are always kept for the audit trail)
+        boolean readOnly = "GET".equals(method) || "HEAD".equals(method);
+        if (
+            (uri.startsWith("/api/admin/") || uri.contains("/admin")) &&
+            (!readOnly || sampleRate > 0)
+        ) {
             loggingService.logSecurityEvent(
                 "ADMIN_OPERATION",
                 username,
@@ -195,7 +267,8 @@ public class ApiLoggingFilter extends OncePerRequestFilter {
                     method,
                     uri,
                     status
-                )
+                ),
+                readOnly ? sampleRate : 1
             );
         }
 
@@ -221,6 +294,17 @@ public class ApiLoggingFilter extends OncePerRequestFilter {
         }
     }
 
+    /**
+     * URI template of the handler that served the request, so /api/admin/users/{id}
+     * is tracked as one endpoint instead of one per ID
+     */
+    private String resolveEndpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(
+            HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE
+        );
+        return pattern != null ? pattern.toString() : "UNMATCHED";
+    }
+
     /**
      * Determine if the request should be logged
      */
@@ -0,0 +1,75 @@
+package com.see.config;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+/**
+ * Publishes the async log appender event and drop counters and queue depths under
+ * /actuator/metrics
+ */
+@Slf4j
+@Component
+public class AsyncAppenderMetrics implements MeterBinder {
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Map<String, CountingAsyncAppender.DropCounters> appenders =
+            CountingAsyncAppender.dropCounters();
+
+        appenders.forEach((name, counters) -> {
+            FunctionCounter.builder(
+                "logback.async.appended",
+                counters,
+                CountingAsyncAppender.DropCounters::getAppended
+            )
+                .tag("appender", name)
+                .description("Events offered to the async appender, dropped or not")
+                .register(registry);
+
+            FunctionCounter.builder(
+                "logback.async.dropped",
+                counters,
+                CountingAsyncAppender.DropCounters::getDiscarded
+            )
+                .tag("appender", name)
+                .tag("reason", "discarded")
+                .description("Events discarded because the queue passed its discarding threshold")
+                .register(registry);
+
+            FunctionCounter.builder(
+                "logback.async.dropped",
+                counters,
+                CountingAsyncAppender.DropCounters::getOverflow
+            )
+                .tag("appender", name)
+                .tag("reason", "overflow")
+                .description("Events dropped because the queue was full and the appender never blocks")
+                .register(registry);
+
+            Gauge.builder(
+                "logback.async.queue.depth",
+                counters,
+                CountingAsyncAppender.DropCounters::getQueueDepth
+            )
+                .tag("appender", name)
+                .description("Events waiting to be written by the async appender")
+                .register(registry);
+
+            Gauge.builder(
+                "logback.async.queue.remaining",
+                counters,
+                CountingAsyncAppender.DropCounters::getRemainingCapacity
+            )
+                .tag("appender", name)
+                .description("Free slots left in the async appender queue")
+                .register(registry);
+        });
+
+        log.info("Registered drop metrics for {} async log appenders", appenders.size());
+    }
+}
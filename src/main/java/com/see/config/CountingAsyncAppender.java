@@ -0,0 +1,107 @@
+package com.see.config;
+
+import ch.qos.logback.classic.AsyncAppender;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Async appender that counts the events it drops instead of losing them silently.
+ *
+ * Every event offered to the queue is counted as appended, which gives the log write rate.
+ * Two kinds of loss are tracked per appender name:
+ * - discarded: INFO-and-below events dropped once the queue passes the discarding threshold
+ * - overflow: events offered to a full queue while neverBlock is enabled
+ *
+ * Counters live in a static registry keyed by appender name so they survive logback
+ * reconfiguration and can be bound to Micrometer from {@link AsyncAppenderMetrics}.
+ */
+public class CountingAsyncAppender extends AsyncAppender {
+
+    private static final Map<String, DropCounters> COUNTERS =
+        new ConcurrentHashMap<>();
+
+    private DropCounters counters;
+
+    @Override
+    public void start() {
+        counters = COUNTERS.computeIfAbsent(getName(), name ->
+            new DropCounters()
+        );
+        counters.appender = this;
+        super.start();
+    }
+
+    /**
+     * Called for every event that passed the filters, before it is queued or discarded
+     */
+    @Override
+    protected void append(ILoggingEvent event) {
+        counters.appended.increment();
+        super.append(event);
+    }
+
+    /**
+     * Only called by the base class once the queue is below the discarding threshold,
+     * so every discardable event seen here is about to be dropped.
+     */
+    @Override
+    protected boolean isDiscardable(ILoggingEvent event) {
+        boolean discardable = super.isDiscardable(event);
+        if (discardable) {
+            counters.discarded.increment();
+        }
+        return discardable;
+    }
+
+    /**
+     * Called right before the event is offered to the queue. With neverBlock the offer
+     * fails silently on a full queue, so count it here (best effort under contention).
+     */
+    @Override
+    protected void preprocess(ILoggingEvent event) {
+        super.preprocess(event);
+        if (isNeverBlock() && getRemainingCapacity() == 0) {
+            counters.overflow.increment();
+        }
+    }
+
+    /**
+     * Snapshot of drop counters for every counting appender started so far
+     */
+    public static Map<String, DropCounters> dropCounters() {
+        return Collections.unmodifiableMap(COUNTERS);
+    }
+
+    public static final class DropCounters {
+
+        private final LongAdder appended = new LongAdder();
+        private final LongAdder discarded = new LongAdder();
+        private final LongAdder overflow = new LongAdder();
+        private volatile CountingAsyncAppender appender;
+
+        public long getAppended() {
+            return appended.sum();
+        }
+
+        public long getDiscarded() {
+            return discarded.sum();
+        }
+
+        public long getOverflow() {
+            return overflow.sum();
+        }
+
+        public int getQueueDepth() {
+            CountingAsyncAppender current = appender;
+            return current != null ? current.getNumberOfElementsInQueue() : 0;
+        }
+
+        public int getRemainingCapacity() {
+            CountingAsyncAppender current = appender;
+            return current != null ? current.getRemainingCapacity() : 0;
+        }
+    }
+}
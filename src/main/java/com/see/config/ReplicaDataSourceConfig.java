@@ -0,0 +1,91 @@
+package com.see.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Primary + read replica connection pools, enabled by setting app.datasource.replica.jdbc-url.
+ *
+ * The primary pool is configured from spring.datasource.* as before, the replica pool from
+ * app.datasource.replica.* (Hikari property names). Each pool registers its own hikaricp.*
+ * metrics under its pool name. The application sees a single routing data source that serves
+ * read-only transactions from the replica while {@link ReplicaLagMonitor} reports it usable.
+ */
+@Configuration
+@ConditionalOnProperty("app.datasource.replica.jdbc-url")
+public class ReplicaDataSourceConfig {
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        return properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean(defaultCandidate = false)
+    @ConfigurationProperties("app.datasource.replica")
+    public HikariDataSource replicaDataSource() {
+        HikariDataSource dataSource = new HikariDataSource();
+        dataSource.setPoolName("SeeOCR-Replica-HikariCP");
+        return dataSource;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(
+        @Qualifier("replicaDataSource") DataSource replica,
+        @Value("${app.datasource.replica.lag.query:}") String lagQuery,
+        @Value("${app.datasource.replica.lag.max-seconds:5}") double maxLagSeconds,
+        @Value("${app.datasource.replica.lag.check-interval-ms:5000}") long checkIntervalMillis,
+        MeterRegistry meterRegistry
+    ) {
+        return new ReplicaLagMonitor(
+            replica,
+            lagQuery,
+            maxLagSeconds,
+            checkIntervalMillis,
+            meterRegistry
+        );
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(
+        @Qualifier("primaryDataSource") DataSource primary,
+        @Qualifier("replicaDataSource") DataSource replica,
+        ReplicaLagMonitor replicaLagMonitor,
+        MeterRegistry meterRegistry
+    ) {
+        ReplicaRoutingDataSource routing = new ReplicaRoutingDataSource(
+            primary,
+            replica,
+            replicaLagMonitor,
+            meterRegistry
+        );
+        routing.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    /**
+     * Hibernate keeps a session's connection until the session closes by default; with
+     * open-in-view that would pin a request's later transactions to whichever pool served the
+     * first one
+     */
+    @Bean
+    public HibernatePropertiesCustomizer releaseConnectionsAfterTransaction() {
+        return properties ->
+            properties.put(
+                "hibernate.connection.handling_mode",
+                "DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION"
+            );
+    }
+}
@@ -0,0 +1,137 @@
+package com.see.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.util.StringUtils;
+
+/**
+ * Polls the replica to decide whether read-only transactions may use it.
+ *
+ * Without a lag query the replica is usable whenever it hands out a valid connection. With one
+ * (a single numeric column: seconds behind the primary, NULL when replication is stopped) it
+ * must also be within maxLagSeconds. Publishes app.datasource.replica.lag and
+ * app.datasource.replica.usable.
+ */
+@Slf4j
+public class ReplicaLagMonitor implements SmartLifecycle {
+
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final DataSource replica;
+    private final String lagQuery;
+    private final double maxLagSeconds;
+    private final long checkIntervalMillis;
+
+    private volatile boolean replicaUsable;
+    private volatile double lagSeconds = Double.NaN;
+    private volatile ScheduledExecutorService scheduler;
+
+    public ReplicaLagMonitor(
+        DataSource replica,
+        String lagQuery,
+        double maxLagSeconds,
+        long checkIntervalMillis,
+        MeterRegistry meterRegistry
+    ) {
+        this.replica = replica;
+        this.lagQuery = lagQuery;
+        this.maxLagSeconds = maxLagSeconds;
+        this.checkIntervalMillis = checkIntervalMillis;
+
+        Gauge.builder("app.datasource.replica.lag", this, monitor -> monitor.lagSeconds)
+            .description("Seconds the replica trails the primary, NaN when unknown")
+            .baseUnit("seconds")
+            .register(meterRegistry);
+        Gauge.builder("app.datasource.replica.usable", this, monitor ->
+            monitor.replicaUsable ? 1 : 0
+        )
+            .description("1 while read-only transactions are routed to the replica")
+            .register(meterRegistry);
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    /**
+     * Re-check the replica now; runs on the monitor thread every check interval
+     */
+    public void check() {
+        boolean usable;
+        double lag = Double.NaN;
+        try (Connection connection = replica.getConnection()) {
+            if (StringUtils.hasText(lagQuery)) {
+                try (
+                    Statement statement = connection.createStatement();
+                    ResultSet result = statement.executeQuery(lagQuery)
+                ) {
+                    if (result.next()) {
+                        double value = result.getDouble(1);
+                        lag = result.wasNull() ? Double.NaN : value;
+                    }
+                }
+                usable = !Double.isNaN(lag) && lag <= maxLagSeconds;
+            } else {
+                usable = connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+            }
+        } catch (SQLException | RuntimeException e) {
+            log.debug("Replica check failed: {}", e.getMessage());
+            usable = false;
+        }
+
+        lagSeconds = lag;
+        if (usable != replicaUsable) {
+            if (usable) {
+                log.info("Replica usable again (lag {}s), routing read-only transactions to it", lag);
+            } else {
+                log.warn(
+                    "Replica unavailable or lagging (lag {}s, limit {}s), reads fall back to primary",
+                    lag,
+                    maxLagSeconds
+                );
+            }
+        }
+        replicaUsable = usable;
+    }
+
+    @Override
+    public void start() {
+        check();
+        ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "replica-lag-monitor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(
+            this::check,
+            checkIntervalMillis,
+            checkIntervalMillis,
+            TimeUnit.MILLISECONDS
+        );
+        scheduler = executor;
+    }
+
+    @Override
+    public void stop() {
+        ScheduledExecutorService executor = scheduler;
+        scheduler = null;
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return scheduler != null;
+    }
+}
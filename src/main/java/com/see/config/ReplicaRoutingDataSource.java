@@ -0,0 +1,65 @@
+package com.see.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.Map;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Hands out replica connections inside read-only transactions while the replica is usable, and
+ * primary connections for everything else. Each decision is counted as
+ * app.datasource.routing{target, reason}.
+ *
+ * Must sit behind a LazyConnectionDataSourceProxy: the read-only flag is only set once the
+ * transaction has begun, after the transaction manager asked for its connection handle.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+    static final String PRIMARY = "primary";
+    static final String REPLICA = "replica";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter writes;
+    private final Counter reads;
+    private final Counter fallbacks;
+
+    public ReplicaRoutingDataSource(
+        DataSource primary,
+        DataSource replica,
+        ReplicaLagMonitor lagMonitor,
+        MeterRegistry meterRegistry
+    ) {
+        this.lagMonitor = lagMonitor;
+        setTargetDataSources(Map.of(PRIMARY, primary, REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        setLenientFallback(false);
+
+        writes = counter(meterRegistry, PRIMARY, "read-write");
+        reads = counter(meterRegistry, REPLICA, "read-only");
+        fallbacks = counter(meterRegistry, PRIMARY, "replica-unavailable");
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            writes.increment();
+            return PRIMARY;
+        }
+        if (!lagMonitor.isReplicaUsable()) {
+            fallbacks.increment();
+            return PRIMARY;
+        }
+        reads.increment();
+        return REPLICA;
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String target, String reason) {
+        return Counter.builder("app.datasource.routing")
+            .description("Connections handed out by the replica routing data source")
+            .tag("target", target)
+            .tag("reason", reason)
+            .register(meterRegistry);
+    }
+}
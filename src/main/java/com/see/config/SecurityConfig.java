@@ -81,12 +81,18 @@ public class SecurityConfig {
                     .permitAll()
                     .requestMatchers("/error")
                     .permitAll()
+                    // Liveness and readiness probes (details stay behind authentication)
+                    .requestMatchers("/actuator/health", "/actuator/health/**")
+                    .permitAll()
                     // Admin web pages (session-based)
                     .requestMatchers("/", "/dashboard", "/users", "/roles")
                     .hasRole("ADMIN")
                     // Admin API endpoints (JWT-based)
                     .requestMatchers("/api/admin/**")
                     .hasRole("ADMIN")
+                    // Changing log levels is an admin action, timed or not
+                    .requestMatchers("/actuator/loggers", "/actuator/loggers/**")
+                    .hasRole("ADMIN")
                     // Other API endpoints
                     .requestMatchers("/api/**")
                     .authenticated()
@@ -0,0 +1,131 @@
+package com.see.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.time.Duration;
+import java.util.List;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordedThread;
+import jdk.jfr.consumer.RecordingStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reports virtual threads that block while pinned to their carrier (inside a synchronized block
+ * or a native call) when the application runs on virtual threads.
+ *
+ * Listens to the JDK's jdk.VirtualThreadPinned flight recorder event, records each occurrence in
+ * the jvm.threads.virtual.pinned timer and logs the top of the pinned stack.
+ */
+@Slf4j
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+@RequiredArgsConstructor
+public class VirtualThreadPinningMonitor implements SmartLifecycle {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+
+    @Value("${app.threads.pinned-threshold-ms:20}")
+    private long thresholdMs;
+
+    @Value("${app.threads.pinned-stack-depth:8}")
+    private int stackDepth;
+
+    private final MeterRegistry meterRegistry;
+
+    private volatile RecordingStream stream;
+
+    @Override
+    public void start() {
+        Timer pinned = Timer.builder("jvm.threads.virtual.pinned")
+            .description("Time virtual threads spent blocked while pinned to their carrier")
+            .register(meterRegistry);
+
+        try {
+            RecordingStream recording = new RecordingStream();
+            recording
+                .enable(PINNED_EVENT)
+                .withThreshold(Duration.ofMillis(thresholdMs))
+                .withStackTrace();
+            recording.onEvent(PINNED_EVENT, event -> {
+                pinned.record(event.getDuration());
+                log.warn(
+                    "Virtual thread {} pinned for {}ms{}",
+                    threadName(event),
+                    event.getDuration().toMillis(),
+                    frames(event)
+                );
+            });
+            recording.startAsync();
+            stream = recording;
+            log.info("Reporting virtual threads pinned for more than {}ms", thresholdMs);
+        } catch (IllegalStateException | SecurityException e) {
+            // Flight recorder disabled or unavailable in this runtime
+            log.warn("Virtual thread pinning monitor not started: {}", e.getMessage());
+        }
+    }
+
+    @Override
+    public void stop() {
+        RecordingStream recording = stream;
+        stream = null;
+        if (recording != null) {
+            recording.close();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return stream != null;
+    }
+
+    private static String threadName(RecordedEvent event) {
+        RecordedThread thread = event.getThread();
+        if (thread == null) {
+            return "?";
+        }
+        String name = thread.getJavaName();
+        return name == null || name.isEmpty() ? "#" + thread.getJavaThreadId() : name;
+    }
+
+    /**
+     * Stack of the pinned thread, starting past the JDK's own parking frames
+     */
+    private String frames(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        if (stackTrace == null) {
+            return "";
+        }
+        List<RecordedFrame> all = stackTrace.getFrames();
+        int first = 0;
+        while (first < all.size() && isJdkFrame(all.get(first))) {
+            first++;
+        }
+        if (first == all.size()) {
+            first = 0;
+        }
+        StringBuilder frames = new StringBuilder();
+        for (RecordedFrame frame : all.subList(first, Math.min(first + stackDepth, all.size()))) {
+            frames
+                .append("\n\tat ")
+                .append(frame.getMethod().getType().getName())
+                .append('.')
+                .append(frame.getMethod().getName())
+                .append(':')
+                .append(frame.getLineNumber());
+        }
+        return frames.toString();
+    }
+
+    private static boolean isJdkFrame(RecordedFrame frame) {
+        String type = frame.getMethod().getType().getName();
+        return type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.");
+    }
+}
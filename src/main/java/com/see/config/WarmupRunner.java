@@ -0,0 +1,334 @@
+package com.see.config;
+
+import static org.bytedeco.opencv.global.opencv_core.CV_8UC1;
+import static org.bytedeco.opencv.global.opencv_imgcodecs.imencode;
+import static org.bytedeco.opencv.global.opencv_imgproc.FONT_HERSHEY_SIMPLEX;
+import static org.bytedeco.opencv.global.opencv_imgproc.LINE_8;
+import static org.bytedeco.opencv.global.opencv_imgproc.LINE_AA;
+import static org.bytedeco.opencv.global.opencv_imgproc.line;
+import static org.bytedeco.opencv.global.opencv_imgproc.putText;
+import static org.bytedeco.opencv.global.opencv_imgproc.rectangle;
+
+import com.see.constants.DocumentType;
+import com.see.constants.QCStatus;
+import com.see.ocr.FormField;
+import com.see.ocr.FormTemplate;
+import com.see.ocr.ImagePreprocessor;
+import com.see.ocr.ZonalFieldExtractor;
+import com.see.repository.DocumentRepository;
+import com.see.repository.RoleRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bytedeco.javacpp.BytePointer;
+import org.bytedeco.opencv.opencv_core.Mat;
+import org.bytedeco.opencv.opencv_core.Point;
+import org.bytedeco.opencv.opencv_core.Rect;
+import org.bytedeco.opencv.opencv_core.Scalar;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.authentication.AuthenticationManager;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.AuthenticationException;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the per-request hot paths with synthetic data before the application reports ready.
+ *
+ * Application runners finish before the readiness state moves to ACCEPTING_TRAFFIC, so
+ * /actuator/health/readiness stays OUT_OF_SERVICE until JWT signing, the credential check (a
+ * rejected login, which still runs BCrypt), the login and review-queue queries, the OpenCV
+ * natives and preprocessing stages, and the login page template have been loaded and
+ * JIT-compiled. Nothing is written. Every iteration is recorded in app.warmup (tagged by step)
+ * and each step logs its first against its settled latency; a failing step is logged and
+ * skipped, and steps past max-duration-ms are cut short, so warm-up never holds startup back.
+ *
+ * Each step has its own app.warmup.{step}.enabled switch. The OCR steps are off by default:
+ * they load the OpenCV natives, which startup otherwise leaves to the first page processed, and
+ * cost more time to ready than the first page saves. Nodes that ingest turn them on.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class WarmupRunner implements ApplicationRunner {
+
+    @Value("${app.warmup.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.warmup.jwt.enabled:true}")
+    private boolean jwtEnabled;
+
+    @Value("${app.warmup.bcrypt.enabled:true}")
+    private boolean bcryptEnabled;
+
+    @Value("${app.warmup.database.enabled:true}")
+    private boolean databaseEnabled;
+
+    // Loads the OpenCV natives before readiness, see the class comment
+    @Value("${app.warmup.ocr.enabled:false}")
+    private boolean ocrEnabled;
+
+    @Value("${app.warmup.login-page.enabled:true}")
+    private boolean loginPageEnabled;
+
+    @Value("${app.warmup.iterations:200}")
+    private int iterations;
+
+    @Value("${app.warmup.bcrypt-iterations:3}")
+    private int bcryptIterations;
+
+    @Value("${app.warmup.ocr-iterations:10}")
+    private int ocrIterations;
+
+    @Value("${app.warmup.max-duration-ms:60000}")
+    private long maxDurationMillis;
+
+    private final JwtUtil jwtUtil;
+    private final AuthenticationManager authenticationManager;
+    private final UserDetailsService userDetailsService;
+    private final RoleRepository roleRepository;
+    private final DocumentRepository documentRepository;
+    private final ImagePreprocessor imagePreprocessor;
+    private final ZonalFieldExtractor zonalFieldExtractor;
+    private final ApplicationContext applicationContext;
+    private final MeterRegistry meterRegistry;
+
+    @FunctionalInterface
+    private interface Step {
+        void run(int iteration) throws Exception;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled) {
+            return;
+        }
+        long started = System.nanoTime();
+        long deadline = started + maxDurationMillis * 1_000_000;
+
+        UserDetails user = User.withUsername("warmup-" + UUID.randomUUID())
+            .password("")
+            .authorities("ROLE_USER")
+            .build();
+        if (jwtEnabled) {
+            warm("jwt", iterations, deadline, i ->
+                jwtUtil.validateToken(jwtUtil.generateToken(user), user)
+            );
+        }
+
+        // An unknown user still costs one BCrypt check (the provider's timing-attack guard)
+        Authentication unknown = new UsernamePasswordAuthenticationToken(
+            user.getUsername(),
+            "warmup"
+        );
+        if (bcryptEnabled) {
+            warm("bcrypt", bcryptIterations, deadline, i -> {
+                try {
+                    authenticationManager.authenticate(unknown);
+                } catch (AuthenticationException expected) {
+                    // rejected, as it should be
+                }
+            });
+        }
+
+        if (databaseEnabled) {
+            UUID projectId = UUID.randomUUID();
+            warm("database", iterations, deadline, i -> {
+                try {
+                    userDetailsService.loadUserByUsername(user.getUsername());
+                } catch (UsernameNotFoundException expected) {
+                    // no such user: the lookup is what gets warmed
+                }
+                roleRepository.findAll();
+                documentRepository.countByProjectIdAndQcStatus(projectId, QCStatus.PENDING);
+                documentRepository.findReviewQueue(projectId, PageRequest.of(0, 20));
+            });
+        }
+
+        if (ocrEnabled) {
+            warmOcr(deadline);
+        }
+
+        if (loginPageEnabled
+            && applicationContext instanceof WebServerApplicationContext web
+            && web.getWebServer() != null) {
+            HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(2))
+                .build();
+            HttpRequest login = HttpRequest.newBuilder(
+                URI.create("http://localhost:" + web.getWebServer().getPort() + "/login")
+            )
+                .timeout(Duration.ofSeconds(5))
+                .build();
+            warm("login-page", iterations, deadline, i -> {
+                HttpResponse<Void> page = client.send(
+                    login,
+                    HttpResponse.BodyHandlers.discarding()
+                );
+                if (page.statusCode() != 200) {
+                    throw new IllegalStateException("GET /login returned " + page.statusCode());
+                }
+            });
+        }
+
+        log.info("Warm-up finished in {}ms", (System.nanoTime() - started) / 1_000_000);
+    }
+
+    private void warmOcr(long deadline) {
+        List<FormTemplate> templates = new ArrayList<>();
+        List<byte[]> pages = new ArrayList<>();
+        warm("ocr-natives", 1, deadline, i -> {
+            for (DocumentType type : DocumentType.values()) {
+                templates.add(FormTemplate.forType(type));
+                pages.add(syntheticPage(templates.get(templates.size() - 1)));
+            }
+        });
+        if (pages.isEmpty()) {
+            return;
+        }
+        warm("ocr", ocrIterations, deadline, i -> {
+            try (Mat gray = imagePreprocessor.decode(pages.get(i % pages.size()))) {
+                imagePreprocessor.fitToTemplate(gray);
+                imagePreprocessor.thumbnail(gray);
+                try (Mat binary = imagePreprocessor.preprocess(gray)) {
+                    zonalFieldExtractor.extract(binary, templates.get(i % templates.size()));
+                }
+            }
+        });
+    }
+
+    private void warm(String name, int runs, long deadline, Step step) {
+        Timer timer = Timer.builder("app.warmup")
+            .description("Warm-up iterations run before the application reports ready")
+            .tag("step", name)
+            .register(meterRegistry);
+        long[] nanos = new long[runs];
+        int done = 0;
+        try {
+            while (done < runs && System.nanoTime() < deadline) {
+                long start = System.nanoTime();
+                step.run(done);
+                nanos[done] = System.nanoTime() - start;
+                timer.record(Duration.ofNanos(nanos[done]));
+                done++;
+            }
+        } catch (Exception | LinkageError e) {
+            log.warn("Warm-up step {} failed after {} runs: {}", name, done, e.toString());
+            return;
+        }
+        if (done == 0) {
+            log.warn("Warm-up step {} skipped: past max-duration-ms", name);
+            return;
+        }
+        log.info(
+            "Warm-up {}: {} runs, first {}, settled {} (median of the last quarter)",
+            name,
+            done,
+            format(nanos[0]),
+            format(settled(nanos, done))
+        );
+    }
+
+    private static long settled(long[] nanos, int done) {
+        int from = done - Math.max(1, done / 4);
+        long[] tail = Arrays.copyOfRange(nanos, from, done);
+        Arrays.sort(tail);
+        return tail[tail.length / 2];
+    }
+
+    private static String format(long nanos) {
+        return nanos >= 1_000_000
+            ? String.format("%.1fms", nanos / 1e6)
+            : String.format("%.0fus", nanos / 1e3);
+    }
+
+    /** PNG of a filled-in form page, drawn the way the benchmark corpus draws them. */
+    private static byte[] syntheticPage(FormTemplate template) {
+        // Created here rather than as constants: loading this class must not load the natives
+        try (
+            Scalar ink = new Scalar(20, 20, 20, 0);
+            Scalar paper = new Scalar(255, 255, 255, 0);
+            Mat page = new Mat(FormTemplate.PAGE_HEIGHT, FormTemplate.PAGE_WIDTH, CV_8UC1, paper);
+            BytePointer png = new BytePointer()
+        ) {
+            putText(
+                page,
+                template.getTitle(),
+                new Point(80, 170),
+                FONT_HERSHEY_SIMPLEX,
+                1.6,
+                ink,
+                3,
+                LINE_AA,
+                false
+            );
+            line(
+                page,
+                new Point(80, 200),
+                new Point(FormTemplate.PAGE_WIDTH - 80, 200),
+                ink,
+                2,
+                LINE_8,
+                0
+            );
+            for (FormField field : template.getFields()) {
+                int baseline = field.getY() + field.getHeight() / 2 + 14;
+                putText(
+                    page,
+                    field.getLabel().toUpperCase(),
+                    new Point(80, baseline),
+                    FONT_HERSHEY_SIMPLEX,
+                    0.9,
+                    ink,
+                    1,
+                    LINE_AA,
+                    false
+                );
+                rectangle(
+                    page,
+                    new Rect(field.getX(), field.getY(), field.getWidth(), field.getHeight()),
+                    ink,
+                    2,
+                    LINE_8,
+                    0
+                );
+                putText(
+                    page,
+                    "WARMUP 0123",
+                    new Point(field.getX() + 16, baseline),
+                    FONT_HERSHEY_SIMPLEX,
+                    FormTemplate.VALUE_FONT_SCALE,
+                    ink,
+                    FormTemplate.VALUE_THICKNESS,
+                    LINE_AA,
+                    false
+                );
+            }
+            if (!imencode(".png", page, png)) {
+                throw new IllegalStateException("Could not encode the warm-up page");
+            }
+            byte[] bytes = new byte[(int) png.limit()];
+            png.get(bytes);
+            return bytes;
+        }
+    }
+}
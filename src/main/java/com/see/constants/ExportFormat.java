@@ -0,0 +1,48 @@
+package com.see.constants;
+
+import java.util.Locale;
+
+public enum ExportFormat {
+    CSV("csv", "text/csv", "csv", true),
+    NDJSON("ndjson", "application/x-ndjson", "ndjson", true),
+    ARROW("arrow", "application/vnd.apache.arrow.stream", "arrows", false);
+
+    private final String parameter;
+    private final String contentType;
+    private final String extension;
+    private final boolean text;
+
+    ExportFormat(String parameter, String contentType, String extension, boolean text) {
+        this.parameter = parameter;
+        this.contentType = contentType;
+        this.extension = extension;
+        this.text = text;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public String getExtension() {
+        return extension;
+    }
+
+    /**
+     * Whether the body is UTF-8 text, so the response should carry a charset
+     */
+    public boolean isText() {
+        return text;
+    }
+
+    /**
+     * Format for a ?format= request parameter, or null when it is not supported
+     */
+    public static ExportFormat fromParameter(String value) {
+        for (ExportFormat format : values()) {
+            if (format.parameter.equals(value.toLowerCase(Locale.ROOT))) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,30 @@
+package com.see.controllers;
+
+import com.see.service.BlobService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/blobs")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminBlobController {
+
+    private final BlobService blobService;
+
+    /**
+     * Remove blobs that have been unreferenced for the grace period now rather than on the
+     * next scheduled pass
+     */
+    @PostMapping("/gc")
+    public ResponseEntity<String> collect() {
+        log.info("Admin started blob garbage collection");
+        return ResponseEntity.ok("Collected " + blobService.collect() + " unreferenced blobs");
+    }
+}
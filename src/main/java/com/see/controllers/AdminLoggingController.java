@@ -0,0 +1,86 @@
+package com.see.controllers;
+
+import com.see.dto.LogGovernorStatusDto;
+import com.see.dto.LogLevelOverrideDto;
+import com.see.service.LogLevelGovernor;
+import java.time.Duration;
+import java.util.Locale;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/logging")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminLoggingController {
+
+    private final LogLevelGovernor logLevelGovernor;
+
+    /**
+     * Current log and disk write rates, their limits, and the overrides in force
+     */
+    @GetMapping
+    public ResponseEntity<LogGovernorStatusDto> getStatus() {
+        return ResponseEntity.ok(logLevelGovernor.getStatus());
+    }
+
+    /**
+     * Set a logger's level for a number of minutes, after which its previous level comes back
+     */
+    @PutMapping("/levels/{logger}")
+    public ResponseEntity<String> override(
+        @PathVariable String logger,
+        @RequestParam String level,
+        @RequestParam(defaultValue = "15") long minutes,
+        @RequestParam(defaultValue = "") String reason,
+        Authentication authentication
+    ) {
+        LogLevel logLevel;
+        try {
+            logLevel = LogLevel.valueOf(level.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body("Unknown level: " + level);
+        }
+        try {
+            LogLevelOverrideDto override = logLevelGovernor.override(
+                logger,
+                logLevel,
+                Duration.ofMinutes(minutes),
+                authentication.getName(),
+                reason
+            );
+            return ResponseEntity.ok(
+                logger + " is at " + override.getLevel() + " until " + override.getExpiresAt()
+            );
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+
+    /**
+     * End a logger's override now, admin or governor alike
+     */
+    @DeleteMapping("/levels/{logger}")
+    public ResponseEntity<String> revert(
+        @PathVariable String logger,
+        Authentication authentication
+    ) {
+        if (!logLevelGovernor.revert(logger, authentication.getName())) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(logger + " has no override");
+        }
+        return ResponseEntity.ok(logger + " is back at its configured level");
+    }
+}
@@ -0,0 +1,55 @@
+package com.see.controllers;
+
+import com.see.dto.EndpointPerfDto;
+import com.see.dto.EndpointResourceDto;
+import com.see.service.PerformanceStatsService;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/perf")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminPerfController {
+
+    private final PerformanceStatsService performanceStatsService;
+
+    @GetMapping
+    public ResponseEntity<List<EndpointPerfDto>> getEndpointLatencies() {
+        try {
+            log.debug("Admin fetching endpoint latency percentiles");
+            return ResponseEntity.ok(performanceStatsService.getEndpointStats());
+        } catch (Exception e) {
+            log.error("Error computing endpoint latency percentiles", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+
+    @GetMapping("/heaviest")
+    public ResponseEntity<List<EndpointResourceDto>> getHeaviestEndpoints(
+        @RequestParam(defaultValue = "cpu") String by,
+        @RequestParam(defaultValue = "10") int limit
+    ) {
+        if (!"cpu".equalsIgnoreCase(by) && !"alloc".equalsIgnoreCase(by)) {
+            return ResponseEntity.badRequest().build();
+        }
+        try {
+            log.debug("Admin fetching top {} endpoints by {}", limit, by);
+            return ResponseEntity.ok(
+                performanceStatsService.getHeaviestEndpoints(by, limit)
+            );
+        } catch (Exception e) {
+            log.error("Error computing heaviest endpoints", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).build();
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.see.controllers;
+
+import com.see.service.FieldSearchService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/admin/search")
+@RequiredArgsConstructor
+@PreAuthorize("hasRole('ADMIN')")
+public class AdminSearchController {
+
+    private final FieldSearchService fieldSearchService;
+
+    /**
+     * Rebuild the field search index from the database in the background. Searches keep
+     * answering from the old index until the rebuild completes.
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<String> rebuildIndex() {
+        if (!fieldSearchService.rebuildAsync()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body("A rebuild is already running");
+        }
+        log.info("Admin started a search index rebuild");
+        return ResponseEntity.accepted().body("Search index rebuild started");
+    }
+}
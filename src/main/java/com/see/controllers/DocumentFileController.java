@@ -0,0 +1,98 @@
+package com.see.controllers;
+
+import com.see.dto.TilePyramidDto;
+import com.see.repository.DocumentRepository;
+import com.see.service.TilePyramidService;
+import com.see.storage.BlobHttpSender;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/documents")
+@RequiredArgsConstructor
+public class DocumentFileController {
+
+    private final DocumentRepository documentRepository;
+    private final BlobHttpSender blobHttpSender;
+    private final TilePyramidService tilePyramidService;
+
+    /**
+     * The scan as uploaded (for a page of a multi-page TIFF or PDF, the whole file), with Range
+     * support for partial loads of large TIFFs
+     */
+    @GetMapping("/{id}/original")
+    public void getOriginal(
+        @PathVariable UUID id,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        send(documentRepository.findOriginalSha256ById(id), null, request, response);
+    }
+
+    @GetMapping("/{id}/thumbnail")
+    public void getThumbnail(
+        @PathVariable UUID id,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        send(
+            documentRepository.findThumbnailSha256ById(id),
+            MediaType.IMAGE_JPEG,
+            request,
+            response
+        );
+    }
+
+    /**
+     * Dimensions and tile URL of the document's image pyramid for the viewer. The first call
+     * for a document without one builds it.
+     */
+    @GetMapping("/{id}/tiles")
+    public ResponseEntity<TilePyramidDto> getTiles(@PathVariable UUID id) throws IOException {
+        return tilePyramidService
+            .getPyramid(id)
+            .map(ResponseEntity::ok)
+            .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    /**
+     * One JPEG tile; level 0 is the whole page, x and y count tiles from the top left
+     */
+    @GetMapping("/{id}/tiles/{level}/{x}/{y}")
+    public void getTile(
+        @PathVariable UUID id,
+        @PathVariable int level,
+        @PathVariable int x,
+        @PathVariable int y,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        tilePyramidService.sendTile(id, level, x, y, request, response);
+    }
+
+    private void send(
+        Optional<String> hash,
+        MediaType contentType,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        if (hash.isEmpty()) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        blobHttpSender.send(hash.get(), contentType, request, response);
+    }
+}
@@ -0,0 +1,121 @@
+package com.see.controllers;
+
+import com.see.constants.ExportFormat;
+import com.see.repository.BatchRepository;
+import com.see.repository.ProjectRepository;
+import com.see.service.BatchExportService;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api")
+@RequiredArgsConstructor
+public class ExportController {
+
+    private final BatchExportService batchExportService;
+    private final BatchRepository batchRepository;
+    private final ProjectRepository projectRepository;
+
+    /**
+     * Extracted fields of a batch as CSV (default), NDJSON or an Arrow IPC stream, written
+     * straight to the response while rows are read. With gzip=true the body is sent with
+     * Content-Encoding: gzip.
+     */
+    @GetMapping("/batches/{id}/export")
+    public void exportBatch(
+        @PathVariable UUID id,
+        @RequestParam(defaultValue = "csv") String format,
+        @RequestParam(defaultValue = "false") boolean gzip,
+        HttpServletResponse response
+    ) throws IOException {
+        ExportFormat exportFormat = prepare(
+            "batch",
+            id,
+            batchRepository.existsById(id),
+            format,
+            gzip,
+            response
+        );
+        if (exportFormat != null) {
+            batchExportService.export(id, exportFormat, gzip, response.getOutputStream());
+        }
+    }
+
+    /**
+     * Extracted fields of every batch in a project, in the same formats as a batch export
+     */
+    @GetMapping("/projects/{id}/export")
+    public void exportProject(
+        @PathVariable UUID id,
+        @RequestParam(defaultValue = "csv") String format,
+        @RequestParam(defaultValue = "false") boolean gzip,
+        HttpServletResponse response
+    ) throws IOException {
+        ExportFormat exportFormat = prepare(
+            "project",
+            id,
+            projectRepository.existsById(id),
+            format,
+            gzip,
+            response
+        );
+        if (exportFormat != null) {
+            batchExportService.exportProject(id, exportFormat, gzip, response.getOutputStream());
+        }
+    }
+
+    /**
+     * Validates the request and sets the response headers. Returns null when an error has
+     * already been sent.
+     */
+    private ExportFormat prepare(
+        String scope,
+        UUID id,
+        boolean exists,
+        String format,
+        boolean gzip,
+        HttpServletResponse response
+    ) throws IOException {
+        ExportFormat exportFormat = ExportFormat.fromParameter(format);
+        if (exportFormat == null) {
+            response.sendError(HttpServletResponse.SC_BAD_REQUEST, "Unsupported format: " + format);
+            return null;
+        }
+        if (!exists) {
+            response.sendError(
+                HttpServletResponse.SC_NOT_FOUND,
+                Character.toUpperCase(scope.charAt(0)) + scope.substring(1) + " not found: " + id
+            );
+            return null;
+        }
+
+        log.debug("Exporting {} {} as {}", scope, id, exportFormat);
+        response.setContentType(exportFormat.getContentType());
+        if (exportFormat.isText()) {
+            response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        }
+        response.setHeader(
+            HttpHeaders.CONTENT_DISPOSITION,
+            ContentDisposition.attachment()
+                .filename(scope + "-" + id + "." + exportFormat.getExtension())
+                .build()
+                .toString()
+        );
+        if (gzip) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return exportFormat;
+    }
+}
@@ -0,0 +1,47 @@
+package com.see.controllers;
+
+import com.see.constants.DocumentType;
+import com.see.service.IngestService;
+import jakarta.servlet.http.HttpServletRequest;
+import java.io.IOException;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/batches")
+@RequiredArgsConstructor
+public class IngestController {
+
+    private final IngestService ingestService;
+
+    /**
+     * Ingest a scan file sent as the raw request body (image/tiff, application/pdf or a single
+     * image). Every page becomes a document; pages are processed while the body is still
+     * arriving, and the response lists the documents once all pages are done.
+     */
+    @PostMapping("/{batchId}/documents")
+    public ResponseEntity<?> ingest(
+        @PathVariable UUID batchId,
+        @RequestParam DocumentType type,
+        @RequestParam(defaultValue = "upload") String filename,
+        HttpServletRequest request
+    ) throws IOException {
+        try {
+            return ingestService
+                .ingest(batchId, type, filename, request.getInputStream())
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalArgumentException e) {
+            log.warn("Rejected upload {} to batch {}: {}", filename, batchId, e.getMessage());
+            return ResponseEntity.badRequest().body(e.getMessage());
+        }
+    }
+}
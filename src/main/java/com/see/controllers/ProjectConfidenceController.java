@@ -0,0 +1,59 @@
+package com.see.controllers;
+
+import com.see.dto.ProjectConfidenceDto;
+import com.see.repository.ProjectRepository;
+import com.see.service.ConfidenceHistogramService;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/projects")
+@RequiredArgsConstructor
+public class ProjectConfidenceController {
+
+    private final ConfidenceHistogramService confidenceHistogramService;
+    private final ProjectRepository projectRepository;
+
+    /**
+     * Confidence histogram of each field in the project; with threshold (0..1), also the share
+     * of fields an auto-accept at that threshold would take
+     */
+    @GetMapping("/{id}/confidence")
+    public ResponseEntity<ProjectConfidenceDto> getConfidence(
+        @PathVariable UUID id,
+        @RequestParam(required = false) Double threshold
+    ) {
+        if (threshold != null && (threshold < 0 || threshold > 1)) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!projectRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        log.debug("Fetching confidence histograms of project {}", id);
+        return ResponseEntity.ok(confidenceHistogramService.getProjectConfidence(id, threshold));
+    }
+
+    /**
+     * Recount the project's histograms from its stored fields
+     */
+    @PostMapping("/{id}/confidence/rebuild")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ProjectConfidenceDto> rebuildConfidence(@PathVariable UUID id) {
+        if (!projectRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        log.info("Rebuilding confidence histograms of project {}", id);
+        confidenceHistogramService.rebuild(id);
+        return ResponseEntity.ok(confidenceHistogramService.getProjectConfidence(id, null));
+    }
+}
@@ -0,0 +1,99 @@
+package com.see.controllers;
+
+import com.see.dto.QcTriageReportDto;
+import com.see.dto.ReviewQueueItemDto;
+import com.see.repository.ProjectRepository;
+import com.see.service.QcTriageService;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/projects")
+@RequiredArgsConstructor
+public class QcTriageController {
+
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private final QcTriageService qcTriageService;
+    private final ProjectRepository projectRepository;
+
+    /**
+     * Auto-pass thresholds by field name; "*" is the default for other fields
+     */
+    @GetMapping("/{id}/qc/thresholds")
+    public ResponseEntity<Map<String, Double>> getThresholds(@PathVariable UUID id) {
+        if (!projectRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(qcTriageService.getThresholds(id));
+    }
+
+    /**
+     * Replace the thresholds; an empty map turns auto-pass off for the project
+     */
+    @PutMapping("/{id}/qc/thresholds")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<?> replaceThresholds(
+        @PathVariable UUID id,
+        @RequestBody Map<String, Double> thresholds
+    ) {
+        for (Map.Entry<String, Double> threshold : thresholds.entrySet()) {
+            Double value = threshold.getValue();
+            boolean valid = value != null && value >= 0 && value <= 1;
+            if (!StringUtils.hasText(threshold.getKey()) || !valid) {
+                return ResponseEntity.badRequest()
+                    .body("Thresholds must map field names to a confidence between 0 and 1");
+            }
+        }
+        if (!projectRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(qcTriageService.replaceThresholds(id, thresholds));
+    }
+
+    /**
+     * Documents waiting for manual QC, most uncertain first
+     */
+    @GetMapping("/{id}/qc/review-queue")
+    public ResponseEntity<List<ReviewQueueItemDto>> getReviewQueue(
+        @PathVariable UUID id,
+        @RequestParam(defaultValue = "0") int page,
+        @RequestParam(defaultValue = "50") int size
+    ) {
+        if (page < 0 || size < 1) {
+            return ResponseEntity.badRequest().build();
+        }
+        if (!projectRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        log.debug("Fetching review queue page {} of project {}", page, id);
+        return ResponseEntity.ok(
+            qcTriageService.getReviewQueue(id, page, Math.min(size, MAX_PAGE_SIZE))
+        );
+    }
+
+    /**
+     * Triage decisions so far and the review queue length with and without them
+     */
+    @GetMapping("/{id}/qc/triage")
+    public ResponseEntity<QcTriageReportDto> getTriageReport(@PathVariable UUID id) {
+        if (!projectRepository.existsById(id)) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(qcTriageService.getReport(id));
+    }
+}
@@ -0,0 +1,51 @@
+package com.see.controllers;
+
+import com.see.constants.DocumentType;
+import com.see.constants.QCStatus;
+import com.see.dto.FieldSearchResultDto;
+import com.see.service.FieldSearchService;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequestMapping("/api/search")
+@RequiredArgsConstructor
+public class SearchController {
+
+    private final FieldSearchService fieldSearchService;
+
+    /**
+     * Extracted fields whose value contains every word of q, optionally narrowed to a project,
+     * batch, document type, QC status or field name
+     */
+    @GetMapping("/fields")
+    public ResponseEntity<FieldSearchResultDto> searchFields(
+        @RequestParam String q,
+        @RequestParam(required = false) UUID projectId,
+        @RequestParam(required = false) UUID batchId,
+        @RequestParam(required = false) DocumentType documentType,
+        @RequestParam(required = false) QCStatus qcStatus,
+        @RequestParam(required = false) String fieldName,
+        @RequestParam(defaultValue = "20") int limit
+    ) {
+        log.debug("Searching fields for '{}'", q);
+        return ResponseEntity.ok(
+            fieldSearchService.search(
+                q,
+                projectId,
+                batchId,
+                documentType,
+                qcStatus,
+                fieldName,
+                limit
+            )
+        );
+    }
+}
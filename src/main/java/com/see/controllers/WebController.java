@@ -166,6 +166,17 @@ public class WebController {
         return "roles";
     }
 
+    /**
+     * Zoomable view of a document scan for QC; tiles are loaded by the page as they come into
+     * view
+     */
+    @GetMapping("/documents/{id}/viewer")
+    public String viewer(@PathVariable UUID id, Model model) {
+        model.addAttribute("documentId", id);
+        model.addAttribute("pageTitle", "Document Viewer");
+        return "viewer";
+    }
+
     @GetMapping("/logout")
     public String logout(HttpServletRequest request) {
         Authentication auth =
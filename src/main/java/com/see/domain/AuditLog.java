@@ -8,7 +8,10 @@ import java.util.UUID;
 
 @Data
 @Entity
-@Table(name = "audit_logs")
+@Table(
+    name = "audit_logs",
+    indexes = @Index(name = "idx_audit_logs_entity", columnList = "entity_id")
+)
 public class AuditLog {
     @Id
     @GeneratedValue
@@ -0,0 +1,35 @@
+package com.see.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.util.Date;
+
+/**
+ * Reference count of one stored blob, keyed by its content hash. A blob whose count has been 0
+ * for longer than the grace period is removed by the blob garbage collector.
+ */
+@Data
+@Entity
+@Table(
+    name = "blobs",
+    indexes = @Index(name = "idx_blobs_unreferenced", columnList = "ref_count, updated_at")
+)
+public class Blob {
+
+    @Id
+    @Column(name = "sha256", length = 64)
+    private String sha256;
+
+    @Column(name = "size_bytes", nullable = false)
+    private long sizeBytes;
+
+    @Column(name = "ref_count", nullable = false)
+    private long refCount;
+
+    @Column(name = "created_at")
+    private Date createdAt = new Date();
+
+    @Column(name = "updated_at")
+    private Date updatedAt = new Date();
+}
@@ -0,0 +1,36 @@
+package com.see.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Persisted confidence-score histogram of one field name within a project; counts is
+ * {@link com.see.util.ConfidenceBuckets#encode encoded} bucket counts plus the missing-score slot
+ */
+@Data
+@Entity
+@Table(
+    name = "confidence_histograms",
+    uniqueConstraints = @UniqueConstraint(columnNames = { "project_id", "field_name" })
+)
+public class ConfidenceHistogram {
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(name = "project_id", nullable = false)
+    private UUID projectId;
+
+    @Column(name = "field_name", nullable = false)
+    private String fieldName;
+
+    @Column(name = "counts", nullable = false, length = 1024)
+    private byte[] counts;
+
+    @Column(name = "updated_at")
+    private Date updatedAt = new Date();
+}
@@ -12,7 +12,14 @@ import java.util.UUID;
 
 @Data
 @Entity
-@Table(name = "documents")
+@Table(
+    name = "documents",
+    indexes = {
+        // Review queue: pending documents, least confident first
+        @Index(name = "idx_documents_qc_queue", columnList = "qc_status, min_confidence"),
+        @Index(name = "idx_documents_sha256", columnList = "sha256_hash"),
+    }
+)
 public class Document {
 
     @Id
@@ -26,15 +33,30 @@ public class Document {
     @Enumerated(EnumType.STRING)
     private DocumentType type;
 
+    // Name the scan was uploaded under; the content is the blob sha256Hash
     @Column(name = "original_path", nullable = false)
     private String originalPath;
 
-    @Column(name = "thumbnail_path")
-    private String thumbnailPath;
-
-    @Column(name = "sha256_hash", unique = true, nullable = false)
+    // Blobs are shared across projects, so one scan may back several documents
+    @Column(name = "sha256_hash", nullable = false, length = 64)
     private String sha256Hash;
 
+    // 0-based page within the uploaded file; each page of a multi-page TIFF or PDF is a document
+    @Column(name = "page_index")
+    private Integer pageIndex;
+
+    // The multi-page TIFF or PDF the page was split from, as uploaded; null for a single image,
+    // whose original is sha256Hash itself
+    @Column(name = "upload_sha256", length = 64)
+    private String uploadSha256;
+
+    @Column(name = "thumbnail_sha256", length = 64)
+    private String thumbnailSha256;
+
+    // Viewer tiles, see TilePyramidFile; null until generated
+    @Column(name = "pyramid_sha256", length = 64)
+    private String pyramidSha256;
+
     @ManyToOne
     @JoinColumn(name = "assigned_to")
     private User assignedTo;
@@ -43,6 +65,10 @@ public class Document {
     @Column(name = "qc_status")
     private QCStatus qcStatus = QCStatus.PENDING;
 
+    // Lowest extracted field confidence, null when no fields were extracted
+    @Column(name = "min_confidence")
+    private Double minConfidence;
+
     @Column(name = "created_at")
     private Date createdAt = new Date();
 
@@ -0,0 +1,39 @@
+package com.see.domain;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.util.UUID;
+
+/**
+ * Lowest confidence score a field may have for its document to pass QC without review. The
+ * {@link #ANY_FIELD} row is the project default for fields without a threshold of their own.
+ */
+@Data
+@Entity
+@Table(
+    name = "qc_thresholds",
+    uniqueConstraints = @UniqueConstraint(columnNames = { "project_id", "field_name" })
+)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = QcThreshold.CACHE_REGION)
+public class QcThreshold {
+
+    public static final String ANY_FIELD = "*";
+    public static final String CACHE_REGION = "qc-thresholds";
+    public static final String QUERY_CACHE_REGION = "qc-threshold-queries";
+
+    @Id
+    @GeneratedValue
+    private UUID id;
+
+    @Column(name = "project_id", nullable = false)
+    private UUID projectId;
+
+    @Column(name = "field_name", nullable = false)
+    private String fieldName;
+
+    @Column(name = "min_confidence", nullable = false)
+    private double minConfidence;
+}
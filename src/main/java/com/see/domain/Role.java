@@ -13,13 +13,19 @@ import jakarta.persistence.ManyToMany;
 import jakarta.persistence.Table;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @Setter
 @Entity
 @Table(name="roles")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Role.CACHE_REGION)
 public class Role {
 
+    public static final String CACHE_REGION = "roles";
+    public static final String QUERY_CACHE_REGION = "role-queries";
+
     @Id
     @GeneratedValue
     private UUID id;
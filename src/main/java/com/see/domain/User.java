@@ -16,6 +16,8 @@ import java.util.Set;
 import java.util.UUID;
 import lombok.Getter;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 @Getter
 @Setter
@@ -23,6 +25,8 @@ import lombok.Setter;
 @Table(name = "users")
 public class User {
 
+    public static final String ROLES_CACHE_REGION = "user-roles";
+
     @Id
     @GeneratedValue
     private UUID id;
@@ -45,7 +49,11 @@ public class User {
     @Column(name = "updated_at")
     private Date updatedAt = new Date();
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    // Lazy: listings read role names through UserRepository projections, and the lookups
+    // that need roles (authentication) fetch them with an entity graph.
+    // Role ids per user are cached; the roles themselves come from the "roles" region
+    @ManyToMany(fetch = FetchType.LAZY)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = User.ROLES_CACHE_REGION)
     @JoinTable(
             name = "user_roles",
             joinColumns = @JoinColumn(name = "user_id"),
@@ -0,0 +1,19 @@
+package com.see.dto;
+
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class EndpointPerfDto {
+
+    private String endpoint;
+
+    // Keyed by window name: 1m, 5m, 15m
+    private Map<String, LatencyStatsDto> windows;
+}
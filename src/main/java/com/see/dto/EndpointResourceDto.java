@@ -0,0 +1,20 @@
+package com.see.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class EndpointResourceDto {
+
+    private String endpoint;
+    private long count;
+    private double totalCpuMs;
+    private double avgCpuMs;
+    private long totalAllocatedBytes;
+    private long avgAllocatedBytes;
+}
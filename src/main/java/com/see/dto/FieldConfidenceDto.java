@@ -0,0 +1,30 @@
+package com.see.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class FieldConfidenceDto {
+
+    private String fieldName;
+
+    // Fields with a confidence score; missing counts the ones without
+    private long total;
+    private long missing;
+
+    // Lower edge of the bucket holding each percentile, null when total is 0
+    private Double p10;
+    private Double p50;
+    private Double p90;
+
+    // Share of scored fields at or above the requested threshold, null when none was given
+    private Double atOrAboveThreshold;
+
+    // One count per bucket, lowest confidence first
+    private long[] counts;
+}
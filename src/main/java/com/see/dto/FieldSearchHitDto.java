@@ -0,0 +1,26 @@
+package com.see.dto;
+
+import com.see.constants.DocumentType;
+import com.see.constants.QCStatus;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class FieldSearchHitDto {
+
+    private UUID fieldId;
+    private UUID documentId;
+    private UUID batchId;
+    private UUID projectId;
+    private DocumentType documentType;
+    private QCStatus qcStatus;
+    private String fieldName;
+    private String fieldValue;
+    private float score;
+}
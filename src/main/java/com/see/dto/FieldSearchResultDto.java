@@ -0,0 +1,19 @@
+package com.see.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class FieldSearchResultDto {
+
+    // A lower bound when totalHitsExact is false (counting stops past 1000 matches)
+    private long totalHits;
+    private boolean totalHitsExact;
+    private List<FieldSearchHitDto> hits;
+}
@@ -0,0 +1,27 @@
+package com.see.dto;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class IngestResultDto {
+
+    private UUID batchId;
+    private String originalPath;
+
+    // Pages read from the upload
+    private int pages;
+
+    // Document created for each page, in page order; null where the page failed
+    private List<UUID> documentIds;
+
+    // One message per failed page, or for a read error that ended the split early
+    private List<String> failures;
+}
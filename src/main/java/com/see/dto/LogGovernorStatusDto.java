@@ -0,0 +1,26 @@
+package com.see.dto;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LogGovernorStatusDto {
+
+    // Verbose loggers are demoted until the trip expires
+    private boolean tripped;
+
+    // Rates over the last check interval; -1 when not measurable (no log files, say)
+    private long linesPerSecond;
+    private long logBytesPerSecond;
+
+    private long maxLinesPerSecond;
+    private long maxLogBytesPerSecond;
+
+    private List<LogLevelOverrideDto> overrides;
+}
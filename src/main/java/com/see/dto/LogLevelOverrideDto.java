@@ -0,0 +1,26 @@
+package com.see.dto;
+
+import java.util.Date;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class LogLevelOverrideDto {
+
+    private String logger;
+    private String level;
+
+    // Configured level restored on expiry; null means the logger inherits its parent's level
+    private String previousLevel;
+
+    private Date expiresAt;
+
+    // Admin username, or "governor" for demotions made when a threshold tripped
+    private String setBy;
+    private String reason;
+}
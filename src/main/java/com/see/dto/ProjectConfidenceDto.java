@@ -0,0 +1,22 @@
+package com.see.dto;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ProjectConfidenceDto {
+
+    private UUID projectId;
+    private double bucketWidth;
+
+    // Rounded down to a bucket edge
+    private Double threshold;
+    private List<FieldConfidenceDto> fields;
+}
@@ -0,0 +1,27 @@
+package com.see.dto;
+
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class QcTriageReportDto {
+
+    private UUID projectId;
+
+    // Triage decisions recorded for the project's documents
+    private long autoPassed;
+    private long sentToReview;
+
+    // Pending documents now, and how many there would be had nothing been auto-passed
+    private long reviewQueueLength;
+    private long reviewQueueLengthWithoutTriage;
+
+    // Share of triaged documents that skipped review, null before any were triaged
+    private Double autoPassRate;
+}
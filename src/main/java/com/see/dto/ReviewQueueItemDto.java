@@ -0,0 +1,25 @@
+package com.see.dto;
+
+import com.see.constants.DocumentType;
+import java.util.Date;
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class ReviewQueueItemDto {
+
+    private UUID documentId;
+    private UUID batchId;
+    private DocumentType type;
+    private String originalPath;
+
+    // Lowest field confidence, null when nothing was extracted
+    private Double minConfidence;
+    private Date createdAt;
+}
@@ -0,0 +1,27 @@
+package com.see.dto;
+
+import java.util.UUID;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class TilePyramidDto {
+
+    private UUID documentId;
+
+    // Full-size page in pixels
+    private int width;
+    private int height;
+
+    // Level 0 fits the page in one tile; each level doubles the resolution, the last is full size
+    private int tileSize;
+    private int levels;
+
+    // Tile URL with {level}, {x} and {y} placeholders
+    private String tileUrl;
+}
@@ -0,0 +1,16 @@
+package com.see.ocr;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Value read from one field zone, with the mean glyph match confidence (0..1)
+ */
+@Getter
+@AllArgsConstructor
+public class ExtractedField {
+
+    private final String name;
+    private final String value;
+    private final double confidence;
+}
@@ -0,0 +1,38 @@
+package com.see.ocr;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * One field zone on a form template, in page pixels at the template's resolution
+ */
+@Getter
+@AllArgsConstructor
+public class FormField {
+
+    /**
+     * What a field holds, used to generate sample values and to constrain recognition
+     */
+    public enum Kind {
+        ID, NAME, TEXT, DATE, NUMBER, AMOUNT;
+
+        public String charset() {
+            return switch (this) {
+                case DATE -> "0123456789/";
+                case NUMBER -> "0123456789";
+                case AMOUNT -> "0123456789.,";
+                case ID -> "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789/-";
+                case NAME -> "ABCDEFGHIJKLMNOPQRSTUVWXYZ .";
+                case TEXT -> "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789 ,./-";
+            };
+        }
+    }
+
+    private final String name;
+    private final String label;
+    private final Kind kind;
+    private final int x;
+    private final int y;
+    private final int width;
+    private final int height;
+}
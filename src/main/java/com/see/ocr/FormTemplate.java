@@ -0,0 +1,123 @@
+package com.see.ocr;
+
+import static com.see.ocr.FormField.Kind.AMOUNT;
+import static com.see.ocr.FormField.Kind.DATE;
+import static com.see.ocr.FormField.Kind.ID;
+import static com.see.ocr.FormField.Kind.NAME;
+import static com.see.ocr.FormField.Kind.NUMBER;
+import static com.see.ocr.FormField.Kind.TEXT;
+
+import com.see.constants.DocumentType;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Getter;
+
+/**
+ * Fixed layout of a scanned form per DocumentType: page size and the zones holding each field.
+ *
+ * Pages are A4 at 150 dpi. Field values are printed in upper case with the Hershey simplex
+ * font at {@link #VALUE_FONT_SCALE}, which is what zonal extraction expects to find.
+ */
+@Getter
+public class FormTemplate {
+
+    public static final int PAGE_WIDTH = 1240;
+    public static final int PAGE_HEIGHT = 1754;
+    public static final double VALUE_FONT_SCALE = 1.2;
+    public static final int VALUE_THICKNESS = 2;
+
+    private static final int FIRST_ROW_Y = 300;
+    private static final int ROW_PITCH = 160;
+    private static final int ZONE_X = 440;
+    private static final int ZONE_WIDTH = 720;
+    private static final int ZONE_HEIGHT = 80;
+
+    private static final Map<DocumentType, FormTemplate> TEMPLATES =
+        new EnumMap<>(DocumentType.class);
+
+    static {
+        TEMPLATES.put(
+            DocumentType.MASTER,
+            new FormTemplate(
+                DocumentType.MASTER,
+                "APPLICANT MASTER RECORD",
+                List.of(
+                    field("application_no", "Application No", ID, 0),
+                    field("applicant_name", "Applicant Name", NAME, 1),
+                    field("father_name", "Father's Name", NAME, 2),
+                    field("date_of_birth", "Date of Birth", DATE, 3),
+                    field("address", "Address", TEXT, 4),
+                    field("pin_code", "PIN Code", NUMBER, 5),
+                    field("phone", "Phone", NUMBER, 6)
+                )
+            )
+        );
+        TEMPLATES.put(
+            DocumentType.PARTY,
+            new FormTemplate(
+                DocumentType.PARTY,
+                "PARTY DETAILS",
+                List.of(
+                    field("party_name", "Party Name", NAME, 0),
+                    field("party_type", "Party Type", TEXT, 1),
+                    field("registration_no", "Registration No", ID, 2),
+                    field("registration_date", "Registered On", DATE, 3),
+                    field("contact_person", "Contact Person", NAME, 4),
+                    field("phone", "Phone", NUMBER, 5)
+                )
+            )
+        );
+        TEMPLATES.put(
+            DocumentType.LEGAL,
+            new FormTemplate(
+                DocumentType.LEGAL,
+                "LEGAL DOCUMENT SUMMARY",
+                List.of(
+                    field("case_no", "Case No", ID, 0),
+                    field("court", "Court", TEXT, 1),
+                    field("petitioner", "Petitioner", NAME, 2),
+                    field("respondent", "Respondent", NAME, 3),
+                    field("filing_date", "Filing Date", DATE, 4),
+                    field("stamp_value", "Stamp Value", AMOUNT, 5),
+                    field("document_no", "Document No", ID, 6)
+                )
+            )
+        );
+    }
+
+    private final DocumentType documentType;
+    private final String title;
+    private final List<FormField> fields;
+
+    private FormTemplate(
+        DocumentType documentType,
+        String title,
+        List<FormField> fields
+    ) {
+        this.documentType = documentType;
+        this.title = title;
+        this.fields = fields;
+    }
+
+    public static FormTemplate forType(DocumentType documentType) {
+        return TEMPLATES.get(documentType);
+    }
+
+    private static FormField field(
+        String name,
+        String label,
+        FormField.Kind kind,
+        int row
+    ) {
+        return new FormField(
+            name,
+            label,
+            kind,
+            ZONE_X,
+            FIRST_ROW_Y + row * ROW_PITCH,
+            ZONE_WIDTH,
+            ZONE_HEIGHT
+        );
+    }
+}
@@ -0,0 +1,185 @@
+package com.see.ocr;
+
+import static org.bytedeco.opencv.global.opencv_core.CV_8UC1;
+import static org.bytedeco.opencv.global.opencv_imgproc.FONT_HERSHEY_SIMPLEX;
+import static org.bytedeco.opencv.global.opencv_imgproc.INTER_AREA;
+import static org.bytedeco.opencv.global.opencv_imgproc.LINE_AA;
+import static org.bytedeco.opencv.global.opencv_imgproc.THRESH_BINARY_INV;
+import static org.bytedeco.opencv.global.opencv_imgproc.THRESH_OTSU;
+import static org.bytedeco.opencv.global.opencv_imgproc.boundingRect;
+import static org.bytedeco.opencv.global.opencv_imgproc.putText;
+import static org.bytedeco.opencv.global.opencv_imgproc.resize;
+import static org.bytedeco.opencv.global.opencv_imgproc.threshold;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.bytedeco.javacpp.indexer.UByteIndexer;
+import org.bytedeco.opencv.opencv_core.Mat;
+import org.bytedeco.opencv.opencv_core.Point;
+import org.bytedeco.opencv.opencv_core.Rect;
+import org.bytedeco.opencv.opencv_core.Scalar;
+import org.bytedeco.opencv.opencv_core.Size;
+
+/**
+ * Reference glyphs rendered in the form font, matched against glyphs cut from a field zone.
+ *
+ * A glyph is described by a normalised 16x16 bitmap plus its shape relative to the line:
+ * aspect ratio, height and top offset as fractions of the cap height. The shape terms tell
+ * apart glyphs whose bitmaps look alike once scaled, such as '.', ',' and '-'.
+ */
+class GlyphSet {
+
+    static final int SIZE = 16;
+
+    private static final String CHARACTERS =
+        "ABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789/-.,";
+
+    private final List<Glyph> glyphs = new ArrayList<>();
+    private final double capHeight;
+
+    record Glyph(
+        char character,
+        float[] bitmap,
+        double aspect,
+        double heightRatio,
+        double topRatio
+    ) {}
+
+    record Match(char character, double confidence) {}
+
+    GlyphSet(double fontScale, int thickness) {
+        Rect capital = render('H', fontScale, thickness, null);
+        capHeight = capital.height();
+        for (char character : CHARACTERS.toCharArray()) {
+            render(character, fontScale, thickness, capital).close();
+        }
+        capital.close();
+    }
+
+    double getCapHeight() {
+        return capHeight;
+    }
+
+    /**
+     * Widest reference glyph, as width over cap height
+     */
+    double getMaxWidthRatio() {
+        return glyphs
+            .stream()
+            .mapToDouble(glyph -> glyph.aspect() * glyph.heightRatio())
+            .max()
+            .orElse(1);
+    }
+
+    /**
+     * Best reference glyph for a candidate, restricted to the allowed characters
+     */
+    Match match(
+        float[] bitmap,
+        double aspect,
+        double heightRatio,
+        double topRatio,
+        String allowed
+    ) {
+        char best = '?';
+        double bestScore = Double.NEGATIVE_INFINITY;
+        for (Glyph glyph : glyphs) {
+            if (allowed.indexOf(glyph.character()) < 0) {
+                continue;
+            }
+            double correlation = 0;
+            for (int i = 0; i < bitmap.length; i++) {
+                correlation += bitmap[i] * glyph.bitmap()[i];
+            }
+            double score =
+                correlation -
+                0.5 * Math.abs(Math.log(aspect / glyph.aspect())) -
+                Math.abs(heightRatio - glyph.heightRatio()) -
+                Math.abs(topRatio - glyph.topRatio());
+            if (score > bestScore) {
+                bestScore = score;
+                best = glyph.character();
+            }
+        }
+        return new Match(best, Math.max(0, Math.min(1, bestScore)));
+    }
+
+    /**
+     * Zero-mean, unit-length 16x16 bitmap of the ink inside a box
+     */
+    static float[] bitmap(Mat binary, Rect box) {
+        float[] values = new float[SIZE * SIZE];
+        try (
+            Mat crop = new Mat(binary, box);
+            Mat scaled = new Mat();
+            Size size = new Size(SIZE, SIZE)
+        ) {
+            resize(crop, scaled, size, 0, 0, INTER_AREA);
+            try (UByteIndexer pixels = scaled.createIndexer()) {
+                double sum = 0;
+                for (int y = 0; y < SIZE; y++) {
+                    for (int x = 0; x < SIZE; x++) {
+                        values[y * SIZE + x] = pixels.get(y, x);
+                        sum += values[y * SIZE + x];
+                    }
+                }
+                float mean = (float) (sum / values.length);
+                double norm = 0;
+                for (int i = 0; i < values.length; i++) {
+                    values[i] -= mean;
+                    norm += values[i] * values[i];
+                }
+                if (norm > 0) {
+                    float scale = (float) (1 / Math.sqrt(norm));
+                    for (int i = 0; i < values.length; i++) {
+                        values[i] *= scale;
+                    }
+                }
+            }
+        }
+        return values;
+    }
+
+    /**
+     * Render one character on a blank canvas, record it as a reference glyph (unless this is
+     * the cap-height probe) and return its bounding box
+     */
+    private Rect render(
+        char character,
+        double fontScale,
+        int thickness,
+        Rect capital
+    ) {
+        int canvas = (int) Math.ceil(60 * fontScale);
+        try (
+            Mat page = new Mat(canvas * 2, canvas * 2, CV_8UC1, Scalar.all(255));
+            Point origin = new Point(canvas / 2, canvas + canvas / 4)
+        ) {
+            putText(
+                page,
+                String.valueOf(character),
+                origin,
+                FONT_HERSHEY_SIMPLEX,
+                fontScale,
+                Scalar.all(0),
+                thickness,
+                LINE_AA,
+                false
+            );
+            threshold(page, page, 0, 255, THRESH_BINARY_INV | THRESH_OTSU);
+            Rect box = boundingRect(page);
+            if (capital != null) {
+                glyphs.add(
+                    new Glyph(
+                        character,
+                        bitmap(page, box),
+                        (double) box.width() / box.height(),
+                        box.height() / (double) capital.height(),
+                        (box.y() - capital.y()) / (double) capital.height()
+                    )
+                );
+            }
+            return box;
+        }
+    }
+}
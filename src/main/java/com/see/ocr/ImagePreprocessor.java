@@ -0,0 +1,225 @@
+package com.see.ocr;
+
+import static org.bytedeco.opencv.global.opencv_core.BORDER_CONSTANT;
+import static org.bytedeco.opencv.global.opencv_core.CV_8UC1;
+import static org.bytedeco.opencv.global.opencv_imgcodecs.IMREAD_GRAYSCALE;
+import static org.bytedeco.opencv.global.opencv_imgcodecs.IMWRITE_JPEG_QUALITY;
+import static org.bytedeco.opencv.global.opencv_imgcodecs.imdecode;
+import static org.bytedeco.opencv.global.opencv_imgcodecs.imencode;
+import static org.bytedeco.opencv.global.opencv_imgproc.HoughLines;
+import static org.bytedeco.opencv.global.opencv_imgproc.INTER_AREA;
+import static org.bytedeco.opencv.global.opencv_imgproc.INTER_LINEAR;
+import static org.bytedeco.opencv.global.opencv_imgproc.INTER_NEAREST;
+import static org.bytedeco.opencv.global.opencv_imgproc.MORPH_OPEN;
+import static org.bytedeco.opencv.global.opencv_imgproc.MORPH_RECT;
+import static org.bytedeco.opencv.global.opencv_imgproc.THRESH_BINARY_INV;
+import static org.bytedeco.opencv.global.opencv_imgproc.THRESH_OTSU;
+import static org.bytedeco.opencv.global.opencv_imgproc.getRotationMatrix2D;
+import static org.bytedeco.opencv.global.opencv_imgproc.getStructuringElement;
+import static org.bytedeco.opencv.global.opencv_imgproc.medianBlur;
+import static org.bytedeco.opencv.global.opencv_imgproc.morphologyEx;
+import static org.bytedeco.opencv.global.opencv_imgproc.resize;
+import static org.bytedeco.opencv.global.opencv_imgproc.threshold;
+import static org.bytedeco.opencv.global.opencv_imgproc.warpAffine;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import lombok.extern.slf4j.Slf4j;
+import org.bytedeco.javacpp.BytePointer;
+import org.bytedeco.javacpp.IntPointer;
+import org.bytedeco.opencv.opencv_core.Mat;
+import org.bytedeco.opencv.opencv_core.Point2f;
+import org.bytedeco.opencv.opencv_core.Scalar;
+import org.bytedeco.opencv.opencv_core.Size;
+import org.bytedeco.opencv.opencv_imgproc.Vec2fVector;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Turns a scanned page into a straightened binary image (ink = 255, paper = 0) for extraction.
+ *
+ * Skew is measured from the long horizontal rules of the form (title rule and field boxes)
+ * and undone with a rotation about the page centre. A horizontal opening strips the text
+ * before the line search, which keeps the Hough transform cheap on full-size scans.
+ */
+@Slf4j
+@Component
+public class ImagePreprocessor {
+
+    @Value("${app.ocr.preprocess.denoise:true}")
+    private boolean denoise;
+
+    @Value("${app.ocr.preprocess.deskew:true}")
+    private boolean deskew;
+
+    @Value("${app.ocr.preprocess.max-skew-degrees:5}")
+    private double maxSkewDegrees;
+
+    // How far a page's height/width ratio may stray from A4 and still be scaled onto the template
+    @Value("${app.ocr.preprocess.max-aspect-deviation:0.03}")
+    private double maxAspectDeviation;
+
+    @Value("${app.ocr.thumbnail.max-side:320}")
+    private int thumbnailMaxSide;
+
+    @Value("${app.ocr.thumbnail.jpeg-quality:80}")
+    private int thumbnailJpegQuality;
+
+    /**
+     * Decode image bytes (any format OpenCV reads) into an 8-bit grayscale page.
+     * The caller releases the returned Mat.
+     */
+    public Mat decode(byte[] image) {
+        try (
+            BytePointer data = new BytePointer(image);
+            Mat buffer = new Mat(1, image.length, CV_8UC1, data)
+        ) {
+            Mat page = imdecode(buffer, IMREAD_GRAYSCALE);
+            if (page == null || page.empty()) {
+                throw new IllegalArgumentException("Unsupported or corrupt image");
+            }
+            return page;
+        }
+    }
+
+    /**
+     * Scale a decoded page in place to the template size ({@link FormTemplate#PAGE_WIDTH} x
+     * {@link FormTemplate#PAGE_HEIGHT}), so the template zones fall on the form boxes whatever
+     * resolution the page was scanned or rendered at. Throws IllegalArgumentException for a page
+     * whose shape is not A4 portrait.
+     */
+    public void fitToTemplate(Mat gray) {
+        int width = gray.cols();
+        int height = gray.rows();
+        if (width == FormTemplate.PAGE_WIDTH && height == FormTemplate.PAGE_HEIGHT) {
+            return;
+        }
+        double expected = (double) FormTemplate.PAGE_HEIGHT / FormTemplate.PAGE_WIDTH;
+        double aspect = (double) height / width;
+        if (Math.abs(aspect / expected - 1) > maxAspectDeviation) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Page is %dx%d, not an A4 portrait page; forms are read as %dx%d at 150 dpi",
+                    width,
+                    height,
+                    FormTemplate.PAGE_WIDTH,
+                    FormTemplate.PAGE_HEIGHT
+                )
+            );
+        }
+        try (Size size = new Size(FormTemplate.PAGE_WIDTH, FormTemplate.PAGE_HEIGHT)) {
+            // Area averaging for the usual 300/600 dpi scans, linear when a page is smaller
+            int interpolation = width > FormTemplate.PAGE_WIDTH ? INTER_AREA : INTER_LINEAR;
+            resize(gray, gray, size, 0, 0, interpolation);
+        }
+    }
+
+    /**
+     * JPEG of the page scaled down to fit thumbnail.max-side, for listings
+     */
+    public byte[] thumbnail(Mat gray) {
+        double scale = Math.min(
+            1.0,
+            (double) thumbnailMaxSide / Math.max(gray.cols(), gray.rows())
+        );
+        try (
+            Mat small = new Mat();
+            Size size = new Size(
+                Math.max(1, (int) Math.round(gray.cols() * scale)),
+                Math.max(1, (int) Math.round(gray.rows() * scale))
+            );
+            BytePointer jpeg = new BytePointer();
+            IntPointer params = new IntPointer(IMWRITE_JPEG_QUALITY, thumbnailJpegQuality)
+        ) {
+            resize(gray, small, size, 0, 0, INTER_AREA);
+            if (!imencode(".jpg", small, jpeg, params)) {
+                throw new IllegalStateException("Could not encode thumbnail");
+            }
+            byte[] bytes = new byte[(int) jpeg.limit()];
+            jpeg.get(bytes);
+            return bytes;
+        }
+    }
+
+    /**
+     * Binarize and straighten a grayscale page. The caller releases the returned Mat.
+     */
+    public Mat preprocess(Mat gray) {
+        Mat binary = new Mat();
+        if (denoise) {
+            // Removes JPEG ringing and sensor specks without eroding 2px strokes
+            medianBlur(gray, binary, 3);
+            threshold(binary, binary, 0, 255, THRESH_BINARY_INV | THRESH_OTSU);
+        } else {
+            threshold(gray, binary, 0, 255, THRESH_BINARY_INV | THRESH_OTSU);
+        }
+
+        if (deskew) {
+            double angle = estimateSkewDegrees(binary);
+            if (Math.abs(angle) >= 0.05) {
+                rotate(binary, angle);
+            }
+        }
+        return binary;
+    }
+
+    /**
+     * Median angle of the long, nearly horizontal lines on the page, in OpenCV's rotation
+     * convention (positive = counter-clockwise), or 0 when no rule was found
+     */
+    double estimateSkewDegrees(Mat binary) {
+        List<Double> angles = new ArrayList<>();
+        try (
+            Size length = new Size(Math.max(15, binary.cols() / 40), 1);
+            Mat kernel = getStructuringElement(MORPH_RECT, length);
+            Mat rules = new Mat();
+            Vec2fVector lines = new Vec2fVector()
+        ) {
+            // At a few degrees of skew a rule steps one pixel every 20-30 columns, so a short
+            // kernel keeps its segments while removing every glyph stroke
+            morphologyEx(binary, rules, MORPH_OPEN, kernel);
+            // Only vote for near-horizontal normals; the full half-turn costs ~20x more
+            double maxSkew = Math.toRadians(maxSkewDegrees);
+            HoughLines(
+                rules,
+                lines,
+                1,
+                Math.PI / 1800,
+                binary.cols() / 3,
+                0,
+                0,
+                Math.PI / 2 - maxSkew,
+                Math.PI / 2 + maxSkew
+            );
+            for (long i = 0; i < lines.size(); i++) {
+                // (rho, theta) with theta the normal's angle; a horizontal rule has theta = 90
+                try (Point2f line = lines.get(i)) {
+                    angles.add(Math.toDegrees(line.y()) - 90);
+                }
+            }
+        }
+        if (angles.isEmpty()) {
+            return 0;
+        }
+        Collections.sort(angles);
+        return angles.get(angles.size() / 2);
+    }
+
+    private static void rotate(Mat binary, double degrees) {
+        Point2f center = new Point2f(binary.cols() / 2f, binary.rows() / 2f);
+        try (Mat rotation = getRotationMatrix2D(center, degrees, 1.0)) {
+            warpAffine(
+                binary,
+                binary,
+                rotation,
+                binary.size(),
+                INTER_NEAREST,
+                BORDER_CONSTANT,
+                Scalar.all(0)
+            );
+        } finally {
+            center.close();
+        }
+    }
+}
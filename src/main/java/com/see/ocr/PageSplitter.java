@@ -0,0 +1,210 @@
+package com.see.ocr;
+
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.stream.ImageInputStream;
+import org.apache.pdfbox.Loader;
+import org.apache.pdfbox.io.IOUtils;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.rendering.ImageType;
+import org.apache.pdfbox.rendering.PDFRenderer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Splits an uploaded scan file into pages, handing each one on as soon as it is decoded.
+ *
+ * Multi-page TIFFs are read with ImageIO over a disk cache of the upload, so a page is decoded
+ * once its bytes have arrived and the rest of the file is never held in memory. A PDF keeps its
+ * page table at the end, so it is spooled to disk first and each page is rendered in grayscale
+ * at pdf-dpi. Split pages are passed on as lossless PNGs; any other image is passed on unchanged
+ * as a single page.
+ *
+ * TIFF and PDF uploads are copied to the caller's spool file as they are read, so the original
+ * can be kept as a blob without holding it in memory.
+ */
+@Component
+public class PageSplitter {
+
+    @Value("${app.ingest.pdf-dpi:300}")
+    private float pdfDpi;
+
+    /**
+     * Receives the pages of a file in order. Called on the splitting thread, which does not
+     * decode the next page until this returns.
+     */
+    @FunctionalInterface
+    public interface PageHandler {
+        void page(int pageIndex, byte[] image);
+    }
+
+    enum Format {
+        TIFF,
+        PDF,
+        IMAGE,
+    }
+
+    /**
+     * Split the file and return its number of pages. Pages handed on before a read error stay
+     * handed on. A TIFF or PDF is copied whole to spool; for any other image spool is left as it
+     * is, since the single page is the original.
+     */
+    public int split(InputStream upload, Path spool, PageHandler handler) throws IOException {
+        BufferedInputStream in = new BufferedInputStream(upload);
+        return switch (sniff(in)) {
+            case TIFF -> splitTiff(in, spool, handler);
+            case PDF -> splitPdf(in, spool, handler);
+            case IMAGE -> {
+                handler.page(0, in.readAllBytes());
+                yield 1;
+            }
+        };
+    }
+
+    static Format sniff(BufferedInputStream in) throws IOException {
+        in.mark(4);
+        byte[] head = in.readNBytes(4);
+        in.reset();
+        if (head.length < 4) {
+            return Format.IMAGE;
+        }
+        boolean littleEndian = head[0] == 'I' && head[1] == 'I' && head[2] == 42 && head[3] == 0;
+        boolean bigEndian = head[0] == 'M' && head[1] == 'M' && head[2] == 0 && head[3] == 42;
+        if (littleEndian || bigEndian) {
+            return Format.TIFF;
+        }
+        if (head[0] == '%' && head[1] == 'P' && head[2] == 'D' && head[3] == 'F') {
+            return Format.PDF;
+        }
+        return Format.IMAGE;
+    }
+
+    private int splitTiff(InputStream in, Path spool, PageHandler handler) throws IOException {
+        Iterator<ImageReader> readers = ImageIO.getImageReadersByFormatName("tiff");
+        if (!readers.hasNext()) {
+            throw new IllegalStateException("No TIFF reader available");
+        }
+        ImageReader reader = readers.next();
+        try (OutputStream copy = new BufferedOutputStream(Files.newOutputStream(spool))) {
+            // Not closed: that would close the caller's upload stream
+            TeeInputStream tee = new TeeInputStream(in, copy);
+            int page = 0;
+            try (ImageInputStream input = ImageIO.createImageInputStream(tee)) {
+                // Not seek-forward-only: some scanners write the page directories after the images
+                reader.setInput(input, false, true);
+                while (true) {
+                    BufferedImage image;
+                    try {
+                        image = reader.read(page);
+                    } catch (IndexOutOfBoundsException e) {
+                        break; // past the last page directory
+                    }
+                    handler.page(page, png(image));
+                    page++;
+                }
+            }
+            // Whatever follows the last page still belongs to the original
+            tee.transferTo(OutputStream.nullOutputStream());
+            return page;
+        } finally {
+            reader.dispose();
+        }
+    }
+
+    private int splitPdf(InputStream in, Path spool, PageHandler handler) throws IOException {
+        Files.copy(in, spool, StandardCopyOption.REPLACE_EXISTING);
+        try (
+            PDDocument pdf = Loader.loadPDF(spool.toFile(), IOUtils.createTempFileOnlyStreamCache())
+        ) {
+            // The default cache keeps every page's scan image reachable until the end
+            pdf.setResourceCache(null);
+            PDFRenderer renderer = new PDFRenderer(pdf);
+            int pages = pdf.getNumberOfPages();
+            for (int page = 0; page < pages; page++) {
+                BufferedImage image = renderer.renderImageWithDPI(page, pdfDpi, ImageType.GRAY);
+                handler.page(page, png(image));
+            }
+            return pages;
+        }
+    }
+
+    private static byte[] png(BufferedImage image) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        if (!ImageIO.write(image, "png", bytes)) {
+            // Colour models PNG cannot hold (CMYK, for one) go through grayscale, as OCR does
+            BufferedImage gray = new BufferedImage(
+                image.getWidth(),
+                image.getHeight(),
+                BufferedImage.TYPE_BYTE_GRAY
+            );
+            Graphics2D graphics = gray.createGraphics();
+            graphics.drawImage(image, 0, 0, null);
+            graphics.dispose();
+            bytes.reset();
+            ImageIO.write(gray, "png", bytes);
+        }
+        return bytes.toByteArray();
+    }
+
+    /** Copies every byte read through it to out. */
+    private static final class TeeInputStream extends FilterInputStream {
+
+        private final OutputStream out;
+
+        TeeInputStream(InputStream in, OutputStream out) {
+            super(in);
+            this.out = out;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                out.write(b);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                out.write(buffer, offset, n);
+            }
+            return n;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            // Skipped bytes are read so that they reach the copy too
+            byte[] buffer = new byte[(int) Math.min(n, 8192)];
+            long skipped = 0;
+            while (skipped < n) {
+                int read = read(buffer, 0, (int) Math.min(buffer.length, n - skipped));
+                if (read < 0) {
+                    break;
+                }
+                skipped += read;
+            }
+            return skipped;
+        }
+
+        @Override
+        public boolean markSupported() {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.see.ocr;
+
+import com.see.domain.Document;
+import java.util.List;
+import java.util.Map;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Outcome of one document through the pipeline, with the time spent in each stage
+ */
+@Getter
+@AllArgsConstructor
+public class PipelineResult {
+
+    private final Document document;
+    private final List<ExtractedField> fields;
+    // Stage name -> nanoseconds, in pipeline order
+    private final Map<String, Long> stageNanos;
+}
@@ -0,0 +1,102 @@
+package com.see.ocr;
+
+import static org.bytedeco.opencv.global.opencv_imgcodecs.IMWRITE_JPEG_QUALITY;
+import static org.bytedeco.opencv.global.opencv_imgcodecs.imencode;
+import static org.bytedeco.opencv.global.opencv_imgproc.INTER_AREA;
+import static org.bytedeco.opencv.global.opencv_imgproc.resize;
+
+import com.see.storage.TilePyramidFile;
+import java.util.ArrayList;
+import java.util.List;
+import org.bytedeco.javacpp.BytePointer;
+import org.bytedeco.javacpp.IntPointer;
+import org.bytedeco.opencv.opencv_core.Mat;
+import org.bytedeco.opencv.opencv_core.Rect;
+import org.bytedeco.opencv.opencv_core.Size;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Cuts a page into JPEG tiles at every zoom level for the QC viewer.
+ *
+ * The full-size page is tiled first, then halved with area averaging (which keeps thin strokes
+ * legible) and tiled again until the page fits in one tile. Edge tiles are cropped to the page
+ * rather than padded.
+ */
+@Component
+public class TilePyramidBuilder {
+
+    @Value("${app.viewer.tile-size:256}")
+    private int tileSize;
+
+    @Value("${app.viewer.jpeg-quality:80}")
+    private int jpegQuality;
+
+    /**
+     * Pack the page's pyramid into a {@link TilePyramidFile}; the caller keeps ownership of page
+     */
+    public byte[] build(Mat page) {
+        TilePyramidFile.Layout layout = new TilePyramidFile.Layout(
+            tileSize,
+            page.cols(),
+            page.rows(),
+            TilePyramidFile.Layout.levelsFor(page.cols(), page.rows(), tileSize)
+        );
+        // Built from the full-size level down, stored from level 0 up
+        List<List<byte[]>> levels = new ArrayList<>();
+        Mat level = page;
+        try (IntPointer params = new IntPointer(IMWRITE_JPEG_QUALITY, jpegQuality)) {
+            for (int l = layout.levels() - 1; l >= 0; l--) {
+                levels.add(0, tiles(level, layout, l, params));
+                if (l > 0) {
+                    Mat smaller = new Mat();
+                    try (
+                        Size size = new Size(layout.levelWidth(l - 1), layout.levelHeight(l - 1))
+                    ) {
+                        resize(level, smaller, size, 0, 0, INTER_AREA);
+                    }
+                    if (level != page) {
+                        level.release();
+                    }
+                    level = smaller;
+                }
+            }
+        } finally {
+            if (level != page) {
+                level.release();
+            }
+        }
+
+        TilePyramidFile.Writer writer = new TilePyramidFile.Writer(layout);
+        levels.forEach(tiles -> tiles.forEach(writer::add));
+        return writer.toByteArray();
+    }
+
+    private List<byte[]> tiles(Mat level, TilePyramidFile.Layout layout, int l, IntPointer params) {
+        List<byte[]> tiles = new ArrayList<>();
+        for (int row = 0; row < layout.rows(l); row++) {
+            for (int column = 0; column < layout.columns(l); column++) {
+                int x = column * tileSize;
+                int y = row * tileSize;
+                try (
+                    Rect area = new Rect(
+                        x,
+                        y,
+                        Math.min(tileSize, level.cols() - x),
+                        Math.min(tileSize, level.rows() - y)
+                    );
+                    Mat tile = new Mat(level, area);
+                    BytePointer jpeg = new BytePointer()
+                ) {
+                    if (!imencode(".jpg", tile, jpeg, params)) {
+                        throw new IllegalStateException("Could not encode tile");
+                    }
+                    byte[] bytes = new byte[(int) jpeg.limit()];
+                    jpeg.get(bytes);
+                    tiles.add(bytes);
+                }
+            }
+        }
+        return tiles;
+    }
+}
@@ -0,0 +1,349 @@
+package com.see.ocr;
+
+import static org.bytedeco.opencv.global.opencv_core.CV_32S;
+import static org.bytedeco.opencv.global.opencv_imgproc.boundingRect;
+import static org.bytedeco.opencv.global.opencv_imgproc.connectedComponentsWithStats;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import org.bytedeco.javacpp.indexer.IntIndexer;
+import org.bytedeco.javacpp.indexer.UByteIndexer;
+import org.bytedeco.opencv.opencv_core.Mat;
+import org.bytedeco.opencv.opencv_core.Rect;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Reads field values from a preprocessed page by cutting each template zone into glyphs
+ * (connected components) and matching them against the form font.
+ *
+ * Neighbouring letters often touch ("AA", "VY"), so components wider than any single glyph are
+ * cut at thin columns, keeping the cuts whose pieces match best.
+ */
+@Component
+public class ZonalFieldExtractor {
+
+    // Keeps the zone's box border out of the crop after deskew
+    private static final int ZONE_INSET = 8;
+
+    // Score given up per extra cut, so a clean glyph is not split into look-alike pieces
+    private static final double CUT_PENALTY = 0.04;
+
+    @Value("${app.ocr.extract.min-component-area:8}")
+    private int minComponentArea;
+
+    @Value("${app.ocr.extract.space-gap-ratio:0.6}")
+    private double spaceGapRatio;
+
+    @Value("${app.ocr.extract.split-touching:true}")
+    private boolean splitTouching;
+
+    // Built on first use so OpenCV is not loaded while the context starts. A lock rather than
+    // synchronized, so virtual threads waiting on the first build do not pin their carriers.
+    private final Lock glyphSetLock = new ReentrantLock();
+    private volatile GlyphSet glyphSet;
+
+    public List<ExtractedField> extract(Mat binaryPage, FormTemplate template) {
+        // Zones are fixed pixel boxes, so any other size reads the wrong part of the page
+        if (
+            binaryPage.cols() != FormTemplate.PAGE_WIDTH ||
+            binaryPage.rows() != FormTemplate.PAGE_HEIGHT
+        ) {
+            throw new IllegalArgumentException(
+                String.format(
+                    "Page is %dx%d but the %s template is laid out for %dx%d",
+                    binaryPage.cols(),
+                    binaryPage.rows(),
+                    template.getDocumentType(),
+                    FormTemplate.PAGE_WIDTH,
+                    FormTemplate.PAGE_HEIGHT
+                )
+            );
+        }
+        List<ExtractedField> fields = new ArrayList<>();
+        for (FormField field : template.getFields()) {
+            fields.add(extract(binaryPage, field));
+        }
+        return fields;
+    }
+
+    private GlyphSet glyphSet() {
+        GlyphSet glyphs = glyphSet;
+        if (glyphs == null) {
+            glyphSetLock.lock();
+            try {
+                if (glyphSet == null) {
+                    glyphSet = new GlyphSet(
+                        FormTemplate.VALUE_FONT_SCALE,
+                        FormTemplate.VALUE_THICKNESS
+                    );
+                }
+                glyphs = glyphSet;
+            } finally {
+                glyphSetLock.unlock();
+            }
+        }
+        return glyphs;
+    }
+
+    private ExtractedField extract(Mat binaryPage, FormField field) {
+        try (
+            Rect zone = new Rect(
+                field.getX() + ZONE_INSET,
+                field.getY() + ZONE_INSET,
+                field.getWidth() - 2 * ZONE_INSET,
+                field.getHeight() - 2 * ZONE_INSET
+            );
+            Mat crop = new Mat(binaryPage, zone)
+        ) {
+            List<int[]> boxes = glyphBoxes(crop);
+            if (boxes.isEmpty()) {
+                return new ExtractedField(field.getName(), "", 0);
+            }
+
+            Line line = line(boxes);
+            String allowed = field.getKind().charset();
+            StringBuilder value = new StringBuilder();
+            double confidence = 0;
+            int glyphs = 0;
+            int previousRight = -1;
+
+            for (int[] box : boxes) {
+                if (
+                    previousRight >= 0 &&
+                    box[0] - previousRight > line.capHeight() * spaceGapRatio &&
+                    allowed.indexOf(' ') >= 0
+                ) {
+                    value.append(' ');
+                }
+                Reading reading = read(crop, box, line, allowed);
+                value.append(reading.text());
+                confidence += reading.confidence();
+                glyphs += reading.text().length();
+                previousRight = box[0] + box[2];
+            }
+
+            return new ExtractedField(
+                field.getName(),
+                value.toString(),
+                glyphs == 0 ? 0 : confidence / glyphs
+            );
+        }
+    }
+
+    /**
+     * Cap height and cap line of a zone, from the glyphs of typical height (capitals, digits)
+     */
+    private static Line line(List<int[]> boxes) {
+        int[] heights = boxes.stream().mapToInt(box -> box[3]).sorted().toArray();
+        double capHeight = Math.max(1, heights[heights.length / 2]);
+        int[] tops = boxes
+            .stream()
+            .filter(box -> Math.abs(box[3] - capHeight) <= capHeight * 0.15)
+            .mapToInt(box -> box[1])
+            .sorted()
+            .toArray();
+        return new Line(tops.length == 0 ? boxes.get(0)[1] : tops[tops.length / 2], capHeight);
+    }
+
+    /**
+     * One glyph box read as one or more characters; confidence is summed over characters
+     */
+    private Reading read(Mat crop, int[] box, Line line, String allowed) {
+        double maxWidth = line.capHeight() * glyphSet().getMaxWidthRatio() * 1.15;
+        if (!splitTouching || box[2] <= maxWidth) {
+            GlyphSet.Match match = match(crop, box, line, allowed);
+            return new Reading(String.valueOf(match.character()), match.confidence());
+        }
+
+        int[] ink = columnInk(crop, box);
+        int minPiece = (int) Math.max(2, line.capHeight() * 0.2);
+        List<Integer> cuts = new ArrayList<>();
+        for (int x = minPiece; x < box[2] - minPiece; x++) {
+            if (ink[x] <= ink[x - 1] && ink[x] <= ink[x + 1]) {
+                cuts.add(x);
+            }
+        }
+        // The thinnest columns are the likely joins
+        cuts.sort(Comparator.comparingInt(x -> ink[x]));
+        int[] candidates = cuts
+            .stream()
+            .limit(10)
+            .mapToInt(Integer::intValue)
+            .sorted()
+            .toArray();
+
+        Reading best = split(
+            crop,
+            box,
+            line,
+            allowed,
+            0,
+            box[2],
+            candidates,
+            maxWidth,
+            new HashMap<>()
+        );
+        if (best == null) {
+            GlyphSet.Match match = match(crop, box, line, allowed);
+            return new Reading(String.valueOf(match.character()), match.confidence());
+        }
+        return best;
+    }
+
+    /**
+     * Best reading of columns [from, to) of a box, either as one glyph or cut at a candidate
+     * column, scored by mean confidence minus a penalty per cut
+     */
+    private Reading split(
+        Mat crop,
+        int[] box,
+        Line line,
+        String allowed,
+        int from,
+        int to,
+        int[] candidates,
+        double maxWidth,
+        Map<Long, Reading> memo
+    ) {
+        long key = ((long) from << 32) | to;
+        if (memo.containsKey(key)) {
+            return memo.get(key);
+        }
+
+        Reading best = null;
+        if (to - from <= maxWidth) {
+            int[] piece = tighten(crop, new int[] { box[0] + from, box[1], to - from, box[3] });
+            if (piece != null) {
+                GlyphSet.Match match = match(crop, piece, line, allowed);
+                best = new Reading(String.valueOf(match.character()), match.confidence());
+            }
+        }
+        for (int cut : candidates) {
+            if (cut <= from || cut >= to) {
+                continue;
+            }
+            Reading left = split(crop, box, line, allowed, from, cut, candidates, maxWidth, memo);
+            Reading right = split(crop, box, line, allowed, cut, to, candidates, maxWidth, memo);
+            if (left == null || right == null) {
+                continue;
+            }
+            Reading joined = new Reading(
+                left.text() + right.text(),
+                left.confidence() + right.confidence()
+            );
+            if (best == null || joined.score() > best.score()) {
+                best = joined;
+            }
+        }
+        memo.put(key, best);
+        return best;
+    }
+
+    private GlyphSet.Match match(Mat crop, int[] box, Line line, String allowed) {
+        try (Rect rect = new Rect(box[0], box[1], box[2], box[3])) {
+            return glyphSet().match(
+                GlyphSet.bitmap(crop, rect),
+                (double) box[2] / box[3],
+                box[3] / line.capHeight(),
+                (box[1] - line.top()) / line.capHeight(),
+                allowed
+            );
+        }
+    }
+
+    /**
+     * Shrink a box to the ink inside it, or null when it holds no ink
+     */
+    private static int[] tighten(Mat crop, int[] box) {
+        try (
+            Rect rect = new Rect(box[0], box[1], box[2], box[3]);
+            Mat piece = new Mat(crop, rect);
+            Rect ink = boundingRect(piece)
+        ) {
+            if (ink.width() == 0 || ink.height() == 0) {
+                return null;
+            }
+            return new int[] { box[0] + ink.x(), box[1] + ink.y(), ink.width(), ink.height() };
+        }
+    }
+
+    private static int[] columnInk(Mat crop, int[] box) {
+        int[] ink = new int[box[2]];
+        try (UByteIndexer pixels = crop.createIndexer()) {
+            for (int y = box[1]; y < box[1] + box[3]; y++) {
+                for (int x = 0; x < box[2]; x++) {
+                    if (pixels.get(y, box[0] + x) != 0) {
+                        ink[x]++;
+                    }
+                }
+            }
+        }
+        return ink;
+    }
+
+    /**
+     * Bounding boxes {x, y, width, height} of the glyphs in a zone, left to right. Specks are
+     * dropped and pieces lying within another component's columns (broken strokes) are merged.
+     */
+    private List<int[]> glyphBoxes(Mat zone) {
+        List<int[]> components = new ArrayList<>();
+        try (
+            Mat labels = new Mat();
+            Mat stats = new Mat();
+            Mat centroids = new Mat()
+        ) {
+            int count = connectedComponentsWithStats(zone, labels, stats, centroids, 8, CV_32S);
+            try (IntIndexer stat = stats.createIndexer()) {
+                for (int i = 1; i < count; i++) {
+                    int width = stat.get(i, 2);
+                    int height = stat.get(i, 3);
+                    if (stat.get(i, 4) < minComponentArea) {
+                        continue;
+                    }
+                    // Leftover box borders span the zone
+                    if (width > zone.cols() * 0.8 || height >= zone.rows() - 1) {
+                        continue;
+                    }
+                    components.add(new int[] { stat.get(i, 0), stat.get(i, 1), width, height });
+                }
+            }
+        }
+        components.sort(Comparator.comparingInt(box -> box[0]));
+
+        List<int[]> glyphs = new ArrayList<>();
+        for (int[] box : components) {
+            int[] last = glyphs.isEmpty() ? null : glyphs.get(glyphs.size() - 1);
+            if (last != null) {
+                int overlap =
+                    Math.min(last[0] + last[2], box[0] + box[2]) - Math.max(last[0], box[0]);
+                if (overlap >= Math.min(last[2], box[2]) * 0.8) {
+                    int left = Math.min(last[0], box[0]);
+                    int top = Math.min(last[1], box[1]);
+                    int right = Math.max(last[0] + last[2], box[0] + box[2]);
+                    int bottom = Math.max(last[1] + last[3], box[1] + box[3]);
+                    glyphs.set(
+                        glyphs.size() - 1,
+                        new int[] { left, top, right - left, bottom - top }
+                    );
+                    continue;
+                }
+            }
+            glyphs.add(box);
+        }
+        return glyphs;
+    }
+
+    private record Line(int top, double capHeight) {}
+
+    private record Reading(String text, double confidence) {
+        double score() {
+            return confidence / text.length() - CUT_PENALTY * (text.length() - 1);
+        }
+    }
+}
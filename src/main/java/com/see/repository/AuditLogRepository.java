@@ -0,0 +1,29 @@
+package com.see.repository;
+
+import com.see.domain.AuditLog;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface AuditLogRepository extends JpaRepository<AuditLog, UUID> {
+
+    List<AuditLog> findByEntityIdOrderByTimestamp(UUID entityId);
+
+    /**
+     * Rows of (action, count) over the audit entries of the project's documents
+     */
+    @Query(
+        "select a.action, count(a) from AuditLog a, Document d join d.batch b"
+            + " where a.entityType = 'Document' and a.entityId = d.id"
+            + " and b.project.id = :projectId and a.action in :actions"
+            + " group by a.action"
+    )
+    List<Object[]> countDocumentActions(
+        @Param("projectId") UUID projectId,
+        @Param("actions") Collection<String> actions
+    );
+}
@@ -0,0 +1,9 @@
+package com.see.repository;
+
+import com.see.domain.Batch;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.UUID;
+
+public interface BatchRepository extends JpaRepository<Batch, UUID> {
+}
@@ -0,0 +1,27 @@
+package com.see.repository;
+
+import com.see.domain.Blob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Date;
+import java.util.List;
+import java.util.Optional;
+
+public interface BlobRepository extends JpaRepository<Blob, String> {
+
+    // Row lock so reference changes and collection of the same blob happen one at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select b from Blob b where b.sha256 = :sha256")
+    Optional<Blob> findForUpdate(@Param("sha256") String sha256);
+
+    @Query(
+        "select b.sha256 from Blob b where b.refCount = 0 and b.updatedAt <= :before"
+            + " order by b.updatedAt"
+    )
+    List<String> findUnreferenced(@Param("before") Date before, Pageable pageable);
+}
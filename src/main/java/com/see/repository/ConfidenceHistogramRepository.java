@@ -0,0 +1,46 @@
+package com.see.repository;
+
+import com.see.domain.ConfidenceHistogram;
+import com.see.util.ConfidenceBuckets;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ConfidenceHistogramRepository extends JpaRepository<ConfidenceHistogram, UUID> {
+
+    // Same rounding as ConfidenceBuckets.bucketIndex, so a rebuild agrees with live counts
+    String BUCKET = "floor(round(f.confidenceScore * "
+        + ConfidenceBuckets.BUCKET_COUNT * ConfidenceBuckets.STEPS_PER_BUCKET
+        + ", 0) / "
+        + ConfidenceBuckets.STEPS_PER_BUCKET
+        + ")";
+
+    List<ConfidenceHistogram> findByProjectIdOrderByFieldName(UUID projectId);
+
+    // Row lock so instances flushing the same histogram add to it one at a time
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<ConfidenceHistogram> findByProjectIdAndFieldName(UUID projectId, String fieldName);
+
+    @Modifying
+    @Query("delete from ConfidenceHistogram h where h.projectId = :projectId")
+    void deleteByProjectId(@Param("projectId") UUID projectId);
+
+    /**
+     * Rows of (field name, bucket index or null when unscored, count) over every field in a
+     * project; only used to rebuild its histograms
+     */
+    @Query(
+        "select f.fieldName, " + BUCKET + ", count(f)"
+            + " from DocumentField f join f.document d join d.batch b"
+            + " where b.project.id = :projectId"
+            + " group by f.fieldName, " + BUCKET
+    )
+    List<Object[]> countByFieldAndBucket(@Param("projectId") UUID projectId);
+}
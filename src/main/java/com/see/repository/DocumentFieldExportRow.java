@@ -0,0 +1,17 @@
+package com.see.repository;
+
+import com.see.constants.DocumentType;
+import java.util.UUID;
+
+/**
+ * One extracted field with its document, as read by the export cursor
+ */
+public record DocumentFieldExportRow(
+    UUID batchId,
+    UUID documentId,
+    String originalPath,
+    DocumentType documentType,
+    String fieldName,
+    String fieldValue,
+    Double confidenceScore
+) {}
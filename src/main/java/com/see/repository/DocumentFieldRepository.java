@@ -0,0 +1,23 @@
+package com.see.repository;
+
+import com.see.domain.DocumentField;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public interface DocumentFieldRepository extends JpaRepository<DocumentField, UUID> {
+
+    String SEARCH_INDEX_ROWS = """
+        select new com.see.repository.SearchIndexRow(
+            f.id, d.id, b.id, p.id, d.type, d.qcStatus, f.fieldName, f.fieldValue
+        )
+        from DocumentField f join f.document d left join d.batch b left join b.project p
+        """;
+
+    @Query(SEARCH_INDEX_ROWS + "where d.id in :documentIds")
+    List<SearchIndexRow> findSearchIndexRows(@Param("documentIds") Collection<UUID> documentIds);
+}
@@ -0,0 +1,81 @@
+package com.see.repository;
+
+import com.see.constants.QCStatus;
+import com.see.domain.Document;
+import com.see.dto.ReviewQueueItemDto;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+public interface DocumentRepository extends JpaRepository<Document, UUID> {
+
+    // A scan may be ingested once per project (or per batch outside any project)
+    @Query(
+        "select count(d) > 0 from Document d join d.batch b"
+            + " where d.sha256Hash = :sha256Hash and b.project.id = :projectId"
+    )
+    boolean existsInProject(
+        @Param("sha256Hash") String sha256Hash,
+        @Param("projectId") UUID projectId
+    );
+
+    boolean existsBySha256HashAndBatchId(String sha256Hash, UUID batchId);
+
+    @Query("select d.sha256Hash from Document d where d.id = :id")
+    Optional<String> findSha256HashById(@Param("id") UUID id);
+
+    // The file as uploaded: the multi-page upload the page came from, or else the page itself
+    @Query("select coalesce(d.uploadSha256, d.sha256Hash) from Document d where d.id = :id")
+    Optional<String> findOriginalSha256ById(@Param("id") UUID id);
+
+    @Query("select d.thumbnailSha256 from Document d where d.id = :id")
+    Optional<String> findThumbnailSha256ById(@Param("id") UUID id);
+
+    @Query("select d.pyramidSha256 from Document d where d.id = :id")
+    Optional<String> findPyramidSha256ById(@Param("id") UUID id);
+
+    // Returns 0 when another instance attached a pyramid first
+    @Modifying
+    @Query(
+        "update Document d set d.pyramidSha256 = :hash"
+            + " where d.id = :id and d.pyramidSha256 is null"
+    )
+    int attachPyramid(@Param("id") UUID id, @Param("hash") String hash);
+
+    @Modifying
+    @Query("update Document d set d.uploadSha256 = :hash where d.id in :ids")
+    int attachUpload(@Param("ids") Collection<UUID> ids, @Param("hash") String hash);
+
+    /**
+     * Pending documents of a project, most uncertain first: documents without fields, then by
+     * their lowest field confidence
+     */
+    @Query(
+        "select new com.see.dto.ReviewQueueItemDto("
+            + "d.id, b.id, d.type, d.originalPath, d.minConfidence, d.createdAt)"
+            + " from Document d join d.batch b"
+            + " where b.project.id = :projectId"
+            + " and d.qcStatus = com.see.constants.QCStatus.PENDING"
+            + " order by d.minConfidence asc nulls first, d.createdAt asc"
+    )
+    List<ReviewQueueItemDto> findReviewQueue(
+        @Param("projectId") UUID projectId,
+        Pageable pageable
+    );
+
+    @Query(
+        "select count(d) from Document d join d.batch b"
+            + " where b.project.id = :projectId and d.qcStatus = :qcStatus"
+    )
+    long countByProjectIdAndQcStatus(
+        @Param("projectId") UUID projectId,
+        @Param("qcStatus") QCStatus qcStatus
+    );
+}
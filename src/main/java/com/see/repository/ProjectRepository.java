@@ -0,0 +1,11 @@
+package com.see.repository;
+
+import com.see.domain.Project;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface ProjectRepository extends JpaRepository<Project, UUID> {
+    Optional<Project> findByName(String name);
+}
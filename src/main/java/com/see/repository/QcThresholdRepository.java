@@ -0,0 +1,27 @@
+package com.see.repository;
+
+import com.see.domain.QcThreshold;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
+import java.util.UUID;
+
+public interface QcThresholdRepository extends JpaRepository<QcThreshold, UUID> {
+
+    // Read once per processed document, so served from the query cache
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QcThreshold.QUERY_CACHE_REGION)
+    })
+    List<QcThreshold> findByProjectIdOrderByFieldName(UUID projectId);
+
+    @Modifying
+    @Query("delete from QcThreshold t where t.projectId = :projectId")
+    void deleteByProjectId(@Param("projectId") UUID projectId);
+}
@@ -0,0 +1,19 @@
+package com.see.repository;
+
+import com.see.constants.DocumentType;
+import com.see.constants.QCStatus;
+import java.util.UUID;
+
+/**
+ * One extracted field with the document attributes search results are filtered on
+ */
+public record SearchIndexRow(
+    UUID fieldId,
+    UUID documentId,
+    UUID batchId,
+    UUID projectId,
+    DocumentType documentType,
+    QCStatus qcStatus,
+    String fieldName,
+    String fieldValue
+) {}
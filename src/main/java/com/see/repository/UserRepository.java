@@ -1,15 +1,38 @@
 package com.see.repository;
 
 import com.see.domain.User;
-import jakarta.jws.soap.SOAPBinding;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
 public interface UserRepository extends JpaRepository<User, UUID> {
+
+    // Roles are lazy; authentication and login need them with the user in one query
+    @EntityGraph(attributePaths = "roles")
     Optional<User> findByUsername(String username);
+
+    @EntityGraph(attributePaths = "roles")
     Optional<User> findByEmail(String email);
+
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
+
+    @Query("""
+        select new com.see.repository.UserSummary(
+            u.id, u.username, u.email, u.isActive, u.createdAt, u.updatedAt
+        )
+        from User u
+        order by u.username
+        """)
+    List<UserSummary> findAllSummaries();
+
+    @Query("""
+        select new com.see.repository.UserRoleName(u.id, r.name)
+        from User u join u.roles r
+        """)
+    List<UserRoleName> findAllRoleNames();
 }
@@ -0,0 +1,8 @@
+package com.see.repository;
+
+import java.util.UUID;
+
+/**
+ * One (user, role name) pair of the user_roles join
+ */
+public record UserRoleName(UUID userId, String roleName) {}
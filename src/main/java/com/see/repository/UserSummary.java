@@ -0,0 +1,16 @@
+package com.see.repository;
+
+import java.util.Date;
+import java.util.UUID;
+
+/**
+ * Flat user row for listings, read without loading the entity or its roles
+ */
+public record UserSummary(
+    UUID id,
+    String username,
+    String email,
+    boolean active,
+    Date createdAt,
+    Date updatedAt
+) {}
@@ -0,0 +1,10 @@
+package com.see.search;
+
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Published inside the transaction that wrote fields of these documents (or changed a
+ * document attribute the search index filters on); indexed once that transaction commits
+ */
+public record DocumentFieldsChangedEvent(Collection<UUID> documentIds) {}
@@ -0,0 +1,422 @@
+package com.see.search;
+
+import com.see.constants.DocumentType;
+import com.see.constants.QCStatus;
+import com.see.dto.FieldSearchHitDto;
+import com.see.dto.FieldSearchResultDto;
+import com.see.repository.SearchIndexRow;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.TokenStream;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.analysis.tokenattributes.CharTermAttribute;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.AlreadyClosedException;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+/**
+ * Lucene index with one entry per extracted field, keyed by its document.
+ *
+ * Field values are analysed with the standard analyzer; project, batch, document type, QC
+ * status and field name are indexed as exact terms for filtering. Writes go to a single
+ * IndexWriter and become searchable on the next near-real-time refresh (every
+ * refresh-interval-ms); they are made durable every commit-interval-ms and on shutdown. Anything
+ * lost to a crash between commits comes back with a rebuild from the database. A rebuild that
+ * fails, or is cut off by shutdown, is rolled back to the commit made when it started.
+ *
+ * An empty app.search.index-dir keeps the index in memory.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class FieldSearchIndex {
+
+    public static final String FIELD_ID = "field_id";
+    public static final String DOCUMENT_ID = "document_id";
+    public static final String BATCH_ID = "batch_id";
+    public static final String PROJECT_ID = "project_id";
+    public static final String DOCUMENT_TYPE = "document_type";
+    public static final String QC_STATUS = "qc_status";
+    public static final String FIELD_NAME = "field_name";
+    public static final String VALUE = "value";
+
+    @Value("${app.search.index-dir:data/search-index}")
+    private String indexDir;
+
+    @Value("${app.search.refresh-interval-ms:1000}")
+    private long refreshIntervalMillis;
+
+    @Value("${app.search.commit-interval-ms:60000}")
+    private long commitIntervalMillis;
+
+    @Value("${app.search.ram-buffer-mb:64}")
+    private double ramBufferMb;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final AtomicBoolean rebuilding = new AtomicBoolean();
+    // Documents re-indexed while a rebuild is running; indexed again once it is done
+    private final Set<UUID> changedDuringRebuild = ConcurrentHashMap.newKeySet();
+    // Writes share it; starting, finishing and aborting a rebuild take it exclusively, so a
+    // write is either recorded as changed during the rebuild or lands before it clears the index
+    private final ReadWriteLock rebuildLock = new ReentrantReadWriteLock();
+
+    private Directory directory;
+    // Replaced when a failed rebuild is rolled back
+    private volatile IndexWriter writer;
+    private volatile SearcherManager searcherManager;
+    private ScheduledExecutorService scheduler;
+    private Timer queryTimer;
+
+    @PostConstruct
+    void open() throws IOException {
+        directory = StringUtils.hasText(indexDir)
+            ? FSDirectory.open(Path.of(indexDir))
+            : new ByteBuffersDirectory();
+        openWriter();
+
+        queryTimer = Timer.builder("app.search.query")
+            .description("Time to run one field search against the index")
+            .register(meterRegistry);
+        Gauge.builder("app.search.indexed.fields", this, index ->
+            index.writer.getDocStats().numDocs
+        )
+            .description("Fields in the search index, including ones not yet refreshed")
+            .register(meterRegistry);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "search-index");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(
+            this::refreshQuietly,
+            refreshIntervalMillis,
+            refreshIntervalMillis,
+            TimeUnit.MILLISECONDS
+        );
+        scheduler.scheduleWithFixedDelay(
+            this::commitQuietly,
+            commitIntervalMillis,
+            commitIntervalMillis,
+            TimeUnit.MILLISECONDS
+        );
+        log.info(
+            "Search index {} opened with {} fields",
+            StringUtils.hasText(indexDir) ? indexDir : "(in memory)",
+            writer.getDocStats().numDocs
+        );
+    }
+
+    private void openWriter() throws IOException {
+        writer = new IndexWriter(
+            directory,
+            new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND)
+                .setRAMBufferSizeMB(ramBufferMb)
+        );
+        searcherManager = new SearcherManager(writer, null);
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        scheduler.shutdownNow();
+        try {
+            // A refresh or commit already running must not see the manager or writer close
+            if (!scheduler.awaitTermination(10, TimeUnit.SECONDS)) {
+                log.warn("Search index refresh still running at shutdown");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        searcherManager.close();
+        if (rebuilding.get()) {
+            // Keep the last commit, which still has the pre-rebuild index
+            writer.rollback();
+        } else {
+            writer.commit();
+            writer.close();
+        }
+        directory.close();
+    }
+
+    /**
+     * Replace everything indexed for these documents with the given rows; documents without
+     * rows are removed
+     */
+    public void replace(Collection<UUID> documentIds, List<SearchIndexRow> rows)
+        throws IOException {
+        Map<UUID, List<Document>> byDocument = new HashMap<>();
+        for (SearchIndexRow row : rows) {
+            byDocument
+                .computeIfAbsent(row.documentId(), id -> new ArrayList<>())
+                .add(toDocument(row));
+        }
+        rebuildLock.readLock().lock();
+        try {
+            if (rebuilding.get()) {
+                changedDuringRebuild.addAll(documentIds);
+            }
+            for (UUID documentId : documentIds) {
+                writer.updateDocuments(
+                    new Term(DOCUMENT_ID, documentId.toString()),
+                    byDocument.getOrDefault(documentId, List.of())
+                );
+            }
+        } finally {
+            rebuildLock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Clear the index ahead of a rebuild. Searches keep seeing the last refreshed contents until
+     * the rebuild is committed. Returns false when a rebuild is already running.
+     */
+    public boolean startRebuild() throws IOException {
+        rebuildLock.writeLock().lock();
+        try {
+            if (!rebuilding.compareAndSet(false, true)) {
+                return false;
+            }
+            changedDuringRebuild.clear();
+            try {
+                // The commit a failed rebuild rolls back to
+                writer.commit();
+            } catch (IOException | RuntimeException e) {
+                rebuilding.set(false);
+                throw e;
+            }
+            writer.deleteAll();
+            return true;
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Add a row during a rebuild
+     */
+    public void add(SearchIndexRow row) throws IOException {
+        writer.addDocument(toDocument(row));
+    }
+
+    /**
+     * End a rebuild and return the documents that changed while it ran; the caller indexes them
+     * again (duplicates are dropped by {@link #replace}) and then calls {@link #commit}
+     */
+    public Set<UUID> finishRebuild() {
+        rebuildLock.writeLock().lock();
+        try {
+            rebuilding.set(false);
+            Set<UUID> changed = Set.copyOf(changedDuringRebuild);
+            changedDuringRebuild.clear();
+            return changed;
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Abandon a failed rebuild: roll the writer back to the commit made when it started and
+     * reopen it, so searches and later commits keep the pre-rebuild index. Returns the documents
+     * that changed while it ran, for the caller to index again.
+     */
+    public Set<UUID> abortRebuild() throws IOException {
+        rebuildLock.writeLock().lock();
+        try {
+            SearcherManager abandoned = searcherManager;
+            writer.rollback();
+            openWriter();
+            abandoned.close();
+            return finishRebuild();
+        } finally {
+            rebuildLock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Make all writes durable and searchable now
+     */
+    public void commit() throws IOException {
+        writer.commit();
+        searcherManager.maybeRefreshBlocking();
+    }
+
+    /**
+     * Fields whose value contains every term of the text, best matches first. Filters with a
+     * null value are ignored.
+     */
+    public FieldSearchResultDto search(String text, Map<String, String> filters, int limit) {
+        long started = System.nanoTime();
+        List<String> terms = analyze(text);
+        if (terms.isEmpty()) {
+            return FieldSearchResultDto.builder().totalHitsExact(true).hits(List.of()).build();
+        }
+
+        BooleanQuery.Builder query = new BooleanQuery.Builder();
+        for (String term : terms) {
+            query.add(new TermQuery(new Term(VALUE, term)), BooleanClause.Occur.MUST);
+        }
+        filters.forEach((field, value) -> {
+            if (value != null) {
+                query.add(new TermQuery(new Term(field, value)), BooleanClause.Occur.FILTER);
+            }
+        });
+
+        Query built = query.build();
+        try {
+            try {
+                return search(searcherManager, built, limit);
+            } catch (AlreadyClosedException e) {
+                // abortRebuild closed the manager this read; its replacement is already in place
+                return search(searcherManager, built, limit);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Search index query failed", e);
+        } finally {
+            queryTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private FieldSearchResultDto search(SearcherManager manager, Query query, int limit)
+        throws IOException {
+        IndexSearcher searcher = manager.acquire();
+        try {
+            TopDocs top = searcher.search(query, limit);
+            StoredFields storedFields = searcher.storedFields();
+            List<FieldSearchHitDto> hits = new ArrayList<>(top.scoreDocs.length);
+            for (ScoreDoc scoreDoc : top.scoreDocs) {
+                hits.add(toHit(storedFields.document(scoreDoc.doc), scoreDoc.score));
+            }
+            return FieldSearchResultDto.builder()
+                .totalHits(top.totalHits.value)
+                .totalHitsExact(top.totalHits.relation == TotalHits.Relation.EQUAL_TO)
+                .hits(hits)
+                .build();
+        } finally {
+            // Released to the manager it came from, which is not the field's after an abort
+            manager.release(searcher);
+        }
+    }
+
+    private List<String> analyze(String text) {
+        List<String> terms = new ArrayList<>();
+        try (TokenStream stream = analyzer.tokenStream(VALUE, text)) {
+            CharTermAttribute term = stream.addAttribute(CharTermAttribute.class);
+            stream.reset();
+            while (stream.incrementToken()) {
+                terms.add(term.toString());
+            }
+            stream.end();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return terms;
+    }
+
+    private static Document toDocument(SearchIndexRow row) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, row.fieldId().toString(), Field.Store.YES));
+        document.add(new StringField(DOCUMENT_ID, row.documentId().toString(), Field.Store.YES));
+        addKeyword(document, BATCH_ID, row.batchId());
+        addKeyword(document, PROJECT_ID, row.projectId());
+        addKeyword(document, DOCUMENT_TYPE, row.documentType());
+        addKeyword(document, QC_STATUS, row.qcStatus());
+        addKeyword(document, FIELD_NAME, row.fieldName());
+        if (row.fieldValue() != null) {
+            document.add(new TextField(VALUE, row.fieldValue(), Field.Store.YES));
+        }
+        return document;
+    }
+
+    private static void addKeyword(Document document, String name, Object value) {
+        if (value != null) {
+            document.add(new StringField(name, value.toString(), Field.Store.YES));
+        }
+    }
+
+    private static FieldSearchHitDto toHit(Document document, float score) {
+        String batchId = document.get(BATCH_ID);
+        String projectId = document.get(PROJECT_ID);
+        String documentType = document.get(DOCUMENT_TYPE);
+        String qcStatus = document.get(QC_STATUS);
+        return FieldSearchHitDto.builder()
+            .fieldId(UUID.fromString(document.get(FIELD_ID)))
+            .documentId(UUID.fromString(document.get(DOCUMENT_ID)))
+            .batchId(batchId != null ? UUID.fromString(batchId) : null)
+            .projectId(projectId != null ? UUID.fromString(projectId) : null)
+            .documentType(documentType != null ? DocumentType.valueOf(documentType) : null)
+            .qcStatus(qcStatus != null ? QCStatus.valueOf(qcStatus) : null)
+            .fieldName(document.get(FIELD_NAME))
+            .fieldValue(document.get(VALUE))
+            .score(score)
+            .build();
+    }
+
+    private void refreshQuietly() {
+        if (rebuilding.get()) {
+            return; // keep serving the pre-rebuild contents
+        }
+        try {
+            searcherManager.maybeRefresh();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Search index refresh failed: {}", e.getMessage());
+        }
+    }
+
+    private void commitQuietly() {
+        if (rebuilding.get() || !writer.hasUncommittedChanges()) {
+            return;
+        }
+        try {
+            writer.commit();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Search index commit failed: {}", e.getMessage());
+        }
+    }
+}
@@ -1,13 +1,19 @@
 package com.see.service;
 
 import com.see.domain.Role;
+import com.see.domain.User;
 import com.see.dto.RoleDto;
 import com.see.repository.RoleRepository;
 import com.see.util.RoleMapper;
+import jakarta.persistence.EntityManagerFactory;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.Optional;
@@ -21,6 +27,7 @@ public class AdminRoleService {
 
     private final RoleRepository roleRepository;
     private final RoleMapper roleMapper;
+    private final EntityManagerFactory entityManagerFactory;
 
     public RoleDto createRole(RoleDto roleDto){
         log.info("Creating new role: {}", roleDto.getName());
@@ -29,6 +36,7 @@ public class AdminRoleService {
         }
         Role role = roleMapper.toEntity(roleDto);
         Role savedRole = roleRepository.save(role);
+        evictRoleCachesAfterCommit(null);
 
         log.info("Role created with ID: {}", savedRole.getId());
         return roleMapper.toDto(savedRole);
@@ -68,6 +76,7 @@ public class AdminRoleService {
         }
         Role updatedRole = roleMapper.updateEntity(role, roleDto);
         Role savedRole = roleRepository.save(updatedRole);
+        evictRoleCachesAfterCommit(id);
 
         log.info("Role updated with ID: {}", savedRole.getId());
         return roleMapper.toDto(savedRole);
@@ -83,6 +92,27 @@ public class AdminRoleService {
             throw new RuntimeException("Cannot delete role assigned to users.");
         }
         roleRepository.delete(role);
+        evictRoleCachesAfterCommit(id);
         log.info("Role deleted successfully with ID: {}", id);
     }
+
+    /**
+     * Hibernate already invalidates the changed role and the role queries when the change is
+     * flushed; evicting the regions after commit as well means no cached lookup or user-role set
+     * can outlive a role change, whichever session cached it
+     */
+    private void evictRoleCachesAfterCommit(UUID roleId) {
+        Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                if (roleId != null) {
+                    cache.evictEntityData(Role.class, roleId);
+                    cache.evictCollectionData(User.class.getName() + ".roles");
+                }
+                cache.evictQueryRegion(Role.QUERY_CACHE_REGION);
+                log.debug("Evicted role caches after change to role {}", roleId);
+            }
+        });
+    }
 }
@@ -7,6 +7,7 @@ import com.see.dto.CreateUserRequest;
 import com.see.dto.UserDto;
 import com.see.repository.RoleRepository;
 import com.see.repository.UserRepository;
+import com.see.repository.UserRoleName;
 import com.see.util.UserMapper;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,8 +16,12 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -54,8 +59,17 @@ public class AdminUserService {
     public List<UserDto> getAllUsers(){
         log.info("Fetching all users");
 
-        return userRepository.findAll().stream()
-                .map(userMapper::toDto)
+        // Two flat queries instead of hydrating every user and walking its roles
+        Map<UUID, Set<String>> roleNames = new HashMap<>();
+        for (UserRoleName row : userRepository.findAllRoleNames()) {
+            roleNames.computeIfAbsent(row.userId(), id -> new HashSet<>()).add(row.roleName());
+        }
+
+        return userRepository.findAllSummaries().stream()
+                .map(summary -> userMapper.toDto(
+                        summary,
+                        roleNames.getOrDefault(summary.id(), new HashSet<>())
+                ))
                 .collect(Collectors.toList());
     }
 
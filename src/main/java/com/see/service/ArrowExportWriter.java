@@ -0,0 +1,202 @@
+package com.see.service;
+
+import com.see.repository.DocumentFieldExportRow;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.IntVector;
+import org.apache.arrow.vector.VarCharVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryProvider;
+import org.apache.arrow.vector.ipc.ArrowStreamWriter;
+import org.apache.arrow.vector.types.FloatingPointPrecision;
+import org.apache.arrow.vector.types.pojo.ArrowType;
+import org.apache.arrow.vector.types.pojo.DictionaryEncoding;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.apache.arrow.vector.types.pojo.FieldType;
+import org.springframework.util.StreamUtils;
+
+/**
+ * Writes export rows as an Arrow IPC stream, one record batch per {@code batchRows} rows.
+ *
+ * Batch id, document type and field name are dictionary-encoded (int32 indices). Their
+ * dictionaries grow as new values show up; the stream writer re-sends a dictionary before the
+ * first record batch that needs the new entries, and existing indices never change. Confidence
+ * is a float32 column. Vectors are reused between record batches, so memory is bounded by one
+ * batch plus the dictionaries.
+ */
+final class ArrowExportWriter implements AutoCloseable {
+
+    private final BufferAllocator allocator = new RootAllocator();
+    private final DictionaryProvider.MapDictionaryProvider dictionaries =
+        new DictionaryProvider.MapDictionaryProvider();
+    private final int batchRows;
+
+    private final DictionaryColumn batchIds;
+    private final VarCharVector documentIds;
+    private final VarCharVector originalPaths;
+    private final DictionaryColumn documentTypes;
+    private final DictionaryColumn fieldNames;
+    private final VarCharVector fieldValues;
+    private final Float4Vector confidences;
+    private final VectorSchemaRoot root;
+    private final ArrowStreamWriter writer;
+
+    private int rowCount;
+
+    /**
+     * Starts the stream on {@code out}, which is written to but never closed
+     */
+    ArrowExportWriter(OutputStream out, int batchRows) throws IOException {
+        this.batchRows = batchRows;
+        List<String> columns = BatchExportService.COLUMNS;
+        batchIds = new DictionaryColumn(columns.get(0), 0);
+        documentIds = new VarCharVector(columns.get(1), allocator);
+        originalPaths = new VarCharVector(columns.get(2), allocator);
+        documentTypes = new DictionaryColumn(columns.get(3), 1);
+        fieldNames = new DictionaryColumn(columns.get(4), 2);
+        fieldValues = new VarCharVector(columns.get(5), allocator);
+        confidences = new Float4Vector(
+            new Field(
+                columns.get(6),
+                FieldType.nullable(new ArrowType.FloatingPoint(FloatingPointPrecision.SINGLE)),
+                null
+            ),
+            allocator
+        );
+
+        List<FieldVector> vectors = List.of(
+            batchIds.indices,
+            documentIds,
+            originalPaths,
+            documentTypes.indices,
+            fieldNames.indices,
+            fieldValues,
+            confidences
+        );
+        root = new VectorSchemaRoot(vectors);
+        root.allocateNew();
+        writer = new ArrowStreamWriter(
+            root,
+            dictionaries,
+            Channels.newChannel(StreamUtils.nonClosing(out))
+        );
+        writer.start();
+    }
+
+    void write(DocumentFieldExportRow row) throws IOException {
+        int index = rowCount;
+        batchIds.set(index, row.batchId().toString());
+        setString(documentIds, index, row.documentId().toString());
+        setString(originalPaths, index, row.originalPath());
+        documentTypes.set(
+            index,
+            row.documentType() != null ? row.documentType().name() : null
+        );
+        fieldNames.set(index, row.fieldName());
+        setString(fieldValues, index, row.fieldValue());
+        if (row.confidenceScore() != null) {
+            confidences.setSafe(index, row.confidenceScore().floatValue());
+        } else {
+            confidences.setNull(index);
+        }
+
+        if (++rowCount == batchRows) {
+            flushBatch();
+        }
+    }
+
+    /**
+     * Writes the last partial record batch and the end-of-stream marker
+     */
+    void finish() throws IOException {
+        if (rowCount > 0) {
+            flushBatch();
+        }
+        writer.end();
+    }
+
+    @Override
+    public void close() {
+        writer.close();
+        root.close();
+        batchIds.values.close();
+        documentTypes.values.close();
+        fieldNames.values.close();
+        allocator.close();
+    }
+
+    private void flushBatch() throws IOException {
+        batchIds.syncValueCount();
+        documentTypes.syncValueCount();
+        fieldNames.syncValueCount();
+        root.setRowCount(rowCount);
+        writer.writeBatch();
+
+        for (FieldVector vector : root.getFieldVectors()) {
+            vector.reset();
+        }
+        rowCount = 0;
+    }
+
+    private static void setString(VarCharVector vector, int index, String value) {
+        if (value != null) {
+            vector.setSafe(index, value.getBytes(StandardCharsets.UTF_8));
+        } else {
+            vector.setNull(index);
+        }
+    }
+
+    /**
+     * A string column stored as int32 indices into an append-only dictionary
+     */
+    private final class DictionaryColumn {
+
+        private final Map<String, Integer> indexOf = new HashMap<>();
+        private final VarCharVector values;
+        private final IntVector indices;
+
+        DictionaryColumn(String name, long id) {
+            DictionaryEncoding encoding = new DictionaryEncoding(
+                id,
+                false,
+                new ArrowType.Int(32, true)
+            );
+            values = new VarCharVector(name + "_dictionary", allocator);
+            values.allocateNew();
+            values.setValueCount(0);
+            indices = new IntVector(
+                new Field(name, new FieldType(true, encoding.getIndexType(), encoding), null),
+                allocator
+            );
+            dictionaries.put(new Dictionary(values, encoding));
+        }
+
+        void set(int row, String value) {
+            if (value == null) {
+                indices.setNull(row);
+                return;
+            }
+            Integer index = indexOf.get(value);
+            if (index == null) {
+                index = indexOf.size();
+                indexOf.put(value, index);
+                values.setSafe(index, value.getBytes(StandardCharsets.UTF_8));
+            }
+            indices.setSafe(row, index);
+        }
+
+        void syncValueCount() {
+            values.setValueCount(indexOf.size());
+        }
+    }
+}
@@ -4,6 +4,7 @@ import com.see.config.JwtUtil;
 import com.see.domain.User;
 import com.see.dto.AuthResponse;
 import com.see.dto.LoginRequest;
+import io.micrometer.core.annotation.Timed;
 import java.util.List;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
@@ -28,6 +29,10 @@ public class AuthService {
     private final UserService userService;
     private final LoggingService loggingService;
 
+    @Timed(
+        value = "auth.authenticate",
+        description = "Credential check, user lookup and JWT issue for API logins"
+    )
     public AuthResponse authenticateUser(LoginRequest loginRequest) {
         log.info("Authenticating user: {}", loginRequest.getUsername());
 
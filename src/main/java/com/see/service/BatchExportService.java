@@ -0,0 +1,248 @@
+package com.see.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.see.constants.ExportFormat;
+import com.see.repository.DocumentFieldExportRow;
+import com.see.util.CursorFetchSize;
+import jakarta.persistence.EntityManager;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.Iterator;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Streams the extracted fields of a batch, or of every batch in a project, as CSV, NDJSON or
+ * an Arrow IPC stream.
+ *
+ * Rows come from a forward-only cursor with a bounded fetch size and are written as they are
+ * read; they are DTO projections, so nothing accumulates in the persistence context and memory
+ * use does not grow with the batch.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BatchExportService {
+
+    public static final List<String> COLUMNS = List.of(
+        "batch_id",
+        "document_id",
+        "original_path",
+        "document_type",
+        "field_name",
+        "field_value",
+        "confidence"
+    );
+
+    private static final String EXPORT_QUERY = """
+        select new com.see.repository.DocumentFieldExportRow(
+            d.batch.id, d.id, d.originalPath, d.type, f.fieldName, f.fieldValue, f.confidenceScore
+        )
+        from DocumentField f join f.document d
+        where %s = :id
+        """;
+
+    @Value("${app.export.fetch-size:1000}")
+    private int fetchSize;
+
+    @Value("${app.export.buffer-bytes:65536}")
+    private int bufferBytes;
+
+    // Rows per Arrow record batch; each batch is the unit readers can decode in parallel
+    @Value("${app.export.arrow.batch-rows:65536}")
+    private int arrowBatchRows;
+
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Write every field of the batch to the stream, gzip-compressed if asked. Returns the
+     * number of rows written. The stream is finished but not closed.
+     */
+    @Transactional(readOnly = true)
+    public long export(UUID batchId, ExportFormat format, boolean gzip, OutputStream out)
+        throws IOException {
+        return export("d.batch.id", "batch", batchId, format, gzip, out);
+    }
+
+    /**
+     * Same as {@link #export} for all batches of a project
+     */
+    @Transactional(readOnly = true)
+    public long exportProject(UUID projectId, ExportFormat format, boolean gzip, OutputStream out)
+        throws IOException {
+        return export("d.batch.project.id", "project", projectId, format, gzip, out);
+    }
+
+    private long export(
+        String scopePath,
+        String scope,
+        UUID id,
+        ExportFormat format,
+        boolean gzip,
+        OutputStream out
+    ) throws IOException {
+        long started = System.nanoTime();
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, bufferBytes) : null;
+        OutputStream target = compressed != null ? compressed : out;
+
+        long rows;
+        try (
+            Stream<DocumentFieldExportRow> stream = entityManager
+                .createQuery(EXPORT_QUERY.formatted(scopePath), DocumentFieldExportRow.class)
+                .setParameter("id", id)
+                .setHint(
+                    HibernateHints.HINT_FETCH_SIZE,
+                    CursorFetchSize.of(entityManager, fetchSize)
+                )
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+        ) {
+            rows = write(format, stream.iterator(), target);
+        }
+
+        if (compressed != null) {
+            compressed.finish();
+        }
+        log.info(
+            "Exported {} fields of {} {} as {}{} in {}ms",
+            rows,
+            scope,
+            id,
+            format,
+            gzip ? " (gzip)" : "",
+            (System.nanoTime() - started) / 1_000_000
+        );
+        return rows;
+    }
+
+    long write(ExportFormat format, Iterator<DocumentFieldExportRow> rows, OutputStream out)
+        throws IOException {
+        return switch (format) {
+            case CSV -> writeCsv(rows, out);
+            case NDJSON -> writeNdjson(rows, out);
+            case ARROW -> writeArrow(rows, out);
+        };
+    }
+
+    private Writer textWriter(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), bufferBytes);
+    }
+
+    private long writeCsv(Iterator<DocumentFieldExportRow> rows, OutputStream out)
+        throws IOException {
+        Writer writer = textWriter(out);
+        writer.write(String.join(",", COLUMNS));
+        writer.write("\r\n");
+
+        long count = 0;
+        while (rows.hasNext()) {
+            DocumentFieldExportRow row = rows.next();
+            writer.write(row.batchId().toString());
+            writer.write(',');
+            writer.write(row.documentId().toString());
+            writer.write(',');
+            writeCsvValue(writer, row.originalPath());
+            writer.write(',');
+            writer.write(row.documentType() != null ? row.documentType().name() : "");
+            writer.write(',');
+            writeCsvValue(writer, row.fieldName());
+            writer.write(',');
+            writeCsvValue(writer, row.fieldValue());
+            writer.write(',');
+            if (row.confidenceScore() != null) {
+                writer.write(row.confidenceScore().toString());
+            }
+            writer.write("\r\n");
+            count++;
+        }
+        writer.flush();
+        return count;
+    }
+
+    /**
+     * RFC 4180: quote values holding a delimiter, quote or line break, doubling inner quotes
+     */
+    private static void writeCsvValue(Writer writer, String value) throws IOException {
+        if (value == null) {
+            return;
+        }
+        boolean quote = false;
+        for (int i = 0; i < value.length() && !quote; i++) {
+            char c = value.charAt(i);
+            quote = c == ',' || c == '"' || c == '\r' || c == '\n';
+        }
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+
+    private long writeNdjson(Iterator<DocumentFieldExportRow> rows, OutputStream out)
+        throws IOException {
+        Writer writer = textWriter(out);
+        long count = 0;
+        JsonGenerator generator = objectMapper.getFactory().createGenerator(writer);
+        generator.setRootValueSeparator(new SerializedString("\n"));
+        while (rows.hasNext()) {
+            DocumentFieldExportRow row = rows.next();
+            generator.writeStartObject();
+            generator.writeStringField(COLUMNS.get(0), row.batchId().toString());
+            generator.writeStringField(COLUMNS.get(1), row.documentId().toString());
+            generator.writeStringField(COLUMNS.get(2), row.originalPath());
+            generator.writeStringField(
+                COLUMNS.get(3),
+                row.documentType() != null ? row.documentType().name() : null
+            );
+            generator.writeStringField(COLUMNS.get(4), row.fieldName());
+            generator.writeStringField(COLUMNS.get(5), row.fieldValue());
+            if (row.confidenceScore() != null) {
+                generator.writeNumberField(COLUMNS.get(6), row.confidenceScore());
+            } else {
+                generator.writeNullField(COLUMNS.get(6));
+            }
+            generator.writeEndObject();
+            count++;
+        }
+        if (count > 0) {
+            generator.writeRaw('\n');
+        }
+        // Flushes through the writer; the response stays open
+        generator.flush();
+        writer.flush();
+        return count;
+    }
+
+    private long writeArrow(Iterator<DocumentFieldExportRow> rows, OutputStream out)
+        throws IOException {
+        BufferedOutputStream buffered = new BufferedOutputStream(out, bufferBytes);
+        long count = 0;
+        try (ArrowExportWriter writer = new ArrowExportWriter(buffered, arrowBatchRows)) {
+            while (rows.hasNext()) {
+                writer.write(rows.next());
+                count++;
+            }
+            writer.finish();
+        }
+        buffered.flush();
+        return count;
+    }
+}
@@ -0,0 +1,221 @@
+package com.see.service;
+
+import com.see.domain.Blob;
+import com.see.repository.BlobRepository;
+import com.see.storage.BlobStore;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Reference-counted blobs, so identical content is stored once however many documents use it.
+ *
+ * {@link #store} writes the file and makes sure its blobs row exists, in a transaction of its
+ * own; the caller then {@link #retain}s it in the transaction that saves the referencing row. If
+ * that transaction rolls back, the blob is left with no references and is collected once it has
+ * stayed that way for gc-grace-ms. Storing a blob again refreshes its grace period, so a blob is
+ * never collected between {@link #store} and {@link #retain}.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BlobService {
+
+    @Value("${app.blobs.gc-interval-ms:3600000}")
+    private long gcIntervalMillis;
+
+    @Value("${app.blobs.gc-grace-ms:3600000}")
+    private long gcGraceMillis;
+
+    @Value("${app.blobs.gc-batch-size:1000}")
+    private int gcBatchSize;
+
+    private final BlobStore blobStore;
+    private final BlobRepository blobRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    private TransactionTemplate newTransaction;
+    private ScheduledExecutorService scheduler;
+    private Counter collectedCounter;
+
+    @PostConstruct
+    void init() {
+        newTransaction = new TransactionTemplate(transactionManager);
+        newTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        collectedCounter = Counter.builder("app.blobs.collected")
+            .description("Unreferenced blobs removed by the blob garbage collector")
+            .register(meterRegistry);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "blob-gc");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(
+            this::collectQuietly,
+            gcIntervalMillis,
+            gcIntervalMillis,
+            TimeUnit.MILLISECONDS
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Store content and return its hash; the caller must {@link #retain} it to keep it
+     */
+    public String store(byte[] data) {
+        String hash = BlobStore.sha256(data);
+        registerInNewTransaction(hash, data.length);
+        blobStore.write(hash, data);
+        return hash;
+    }
+
+    /**
+     * Store a file's content (a whole multi-page upload, say) without reading it into memory;
+     * as {@link #store(byte[])}, the caller must {@link #retain} it
+     */
+    public String store(Path file) {
+        String hash;
+        long size;
+        try {
+            hash = BlobStore.sha256(file);
+            size = Files.size(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read " + file, e);
+        }
+        registerInNewTransaction(hash, size);
+        blobStore.write(hash, file);
+        return hash;
+    }
+
+    /**
+     * Add a reference, in the transaction that saves the referencing row
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void retain(String hash) {
+        Blob blob = blobRepository.findForUpdate(hash)
+            .orElseThrow(() -> new IllegalStateException("Blob not stored: " + hash));
+        blob.setRefCount(blob.getRefCount() + 1);
+        blob.setUpdatedAt(new Date());
+    }
+
+    /**
+     * Lock the blob's row until the current transaction ends, so work keyed by the same content
+     * (checking for a duplicate before inserting a document, say) runs one transaction at a time
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void lock(String hash) {
+        blobRepository.findForUpdate(hash)
+            .orElseThrow(() -> new IllegalStateException("Blob not stored: " + hash));
+    }
+
+    /**
+     * Drop a reference, in the transaction that removes the referencing row
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void release(String hash) {
+        blobRepository.findForUpdate(hash).ifPresent(blob -> {
+            blob.setRefCount(Math.max(0, blob.getRefCount() - 1));
+            blob.setUpdatedAt(new Date());
+        });
+    }
+
+    /**
+     * Remove blobs that have had no references for the grace period. Returns how many went.
+     */
+    public long collect() {
+        Date before = new Date(System.currentTimeMillis() - gcGraceMillis);
+        long collected = 0;
+        List<String> candidates;
+        do {
+            candidates = newTransaction.execute(status ->
+                blobRepository.findUnreferenced(before, PageRequest.of(0, gcBatchSize))
+            );
+            for (String hash : candidates) {
+                if (Boolean.TRUE.equals(newTransaction.execute(status -> remove(hash, before)))) {
+                    collected++;
+                }
+            }
+        } while (candidates.size() == gcBatchSize);
+
+        collectedCounter.increment(collected);
+        if (collected > 0) {
+            log.info("Collected {} unreferenced blobs", collected);
+        }
+        return collected;
+    }
+
+    private void registerInNewTransaction(String hash, long size) {
+        try {
+            newTransaction.executeWithoutResult(status -> register(hash, size));
+        } catch (DataIntegrityViolationException | PessimisticLockingFailureException e) {
+            // Another upload of the same content inserted the row first. On H2 that is a
+            // duplicate key; on InnoDB both lookups of the missing row take a gap lock and the
+            // two inserts deadlock, and one of them is rolled back. The retry finds the row.
+            newTransaction.executeWithoutResult(status -> register(hash, size));
+        }
+    }
+
+    private void register(String hash, long size) {
+        blobRepository.findForUpdate(hash).ifPresentOrElse(
+            blob -> {
+                if (blob.getRefCount() == 0) {
+                    blob.setUpdatedAt(new Date());
+                }
+            },
+            () -> {
+                Blob blob = new Blob();
+                blob.setSha256(hash);
+                blob.setSizeBytes(size);
+                blobRepository.saveAndFlush(blob);
+            }
+        );
+    }
+
+    private boolean remove(String hash, Date before) {
+        Blob blob = blobRepository.findForUpdate(hash).orElse(null);
+        if (blob == null || blob.getRefCount() > 0 || blob.getUpdatedAt().after(before)) {
+            return false;
+        }
+        // Deleted while the row is locked: a concurrent store() of the same content waits on the
+        // lock, finds no row and writes the file again
+        blobStore.delete(hash);
+        blobRepository.delete(blob);
+        return true;
+    }
+
+    private void collectQuietly() {
+        try {
+            collect();
+        } catch (RuntimeException e) {
+            log.warn("Blob garbage collection failed: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,315 @@
+package com.see.service;
+
+import com.see.domain.ConfidenceHistogram;
+import com.see.dto.FieldConfidenceDto;
+import com.see.dto.ProjectConfidenceDto;
+import com.see.ocr.ExtractedField;
+import com.see.repository.ConfidenceHistogramRepository;
+import com.see.util.ConfidenceBuckets;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Per-project, per-field histograms of extraction confidence, kept without scanning
+ * document_fields.
+ *
+ * The pipeline records scores here once a document is committed. They accumulate in memory as
+ * pending deltas and every flush-interval-ms each delta is added to its confidence_histograms row
+ * under a row lock, so several instances can flush into the same histogram. Reads combine the
+ * stored rows with this instance's unflushed deltas.
+ *
+ * A rebuild recounts from document_fields, so a score must reach either the recount or a
+ * pending delta, never both. Each project has a guard: committing a document together with
+ * recording its scores ({@link #recordOnCommit}) and flushing hold it shared, a rebuild holds it
+ * exclusively from dropping the project's deltas until its new rows are committed.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ConfidenceHistogramService {
+
+    @Value("${app.confidence.flush-interval-ms:30000}")
+    private long flushIntervalMillis;
+
+    private final ConfidenceHistogramRepository confidenceHistogramRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Map<Key, ConfidenceBuckets> pending = new ConcurrentHashMap<>();
+    private final Map<UUID, ReadWriteLock> projectGuards = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+
+    private record Key(UUID projectId, String fieldName) {}
+
+    @PostConstruct
+    void init() {
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "confidence-histograms");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(
+            this::flush,
+            flushIntervalMillis,
+            flushIntervalMillis,
+            TimeUnit.MILLISECONDS
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+        flush();
+    }
+
+    /**
+     * Run the commit of a document and then count its fields' scores, with no rebuild of the
+     * project in between, and return what the commit returned. Nothing is counted if it throws.
+     */
+    public <T> T recordOnCommit(UUID projectId, List<ExtractedField> fields, Supplier<T> commit) {
+        if (projectId == null) {
+            return commit.get();
+        }
+        Lock guard = guard(projectId).readLock();
+        guard.lock();
+        try {
+            T committed = commit.get();
+            record(projectId, fields);
+            return committed;
+        } finally {
+            guard.unlock();
+        }
+    }
+
+    /**
+     * Count the scores of a committed document's fields against its project
+     */
+    public void record(UUID projectId, List<ExtractedField> fields) {
+        if (projectId == null) {
+            return;
+        }
+        Lock guard = guard(projectId).readLock();
+        guard.lock();
+        try {
+            for (ExtractedField field : fields) {
+                pending
+                    .computeIfAbsent(
+                        new Key(projectId, field.getName()),
+                        key -> new ConfidenceBuckets()
+                    )
+                    .record(field.getConfidence());
+            }
+        } finally {
+            guard.unlock();
+        }
+    }
+
+    /**
+     * Add every pending delta to its stored histogram. A delta that cannot be written is put
+     * back and retried on the next flush.
+     */
+    public void flush() {
+        pending.forEach((key, buckets) -> {
+            // A delta drained before a rebuild's recount would be counted by both
+            Lock guard = guard(key.projectId()).readLock();
+            guard.lock();
+            try {
+                long[] delta = buckets.drain();
+                if (ConfidenceBuckets.isEmpty(delta)) {
+                    return;
+                }
+                try {
+                    transactionTemplate.executeWithoutResult(status -> addToStored(key, delta));
+                } catch (RuntimeException e) {
+                    buckets.add(delta);
+                    log.warn(
+                        "Could not flush confidence histogram for {} in project {}: {}",
+                        key.fieldName(),
+                        key.projectId(),
+                        e.getMessage()
+                    );
+                }
+            } finally {
+                guard.unlock();
+            }
+        });
+    }
+
+    /**
+     * Histograms of every field in the project. With a threshold, also the share of scored
+     * fields at or above it (rounded down to a bucket edge), for tuning auto-accept.
+     */
+    @Transactional(readOnly = true)
+    public ProjectConfidenceDto getProjectConfidence(UUID projectId, Double threshold) {
+        Map<String, long[]> counts = new TreeMap<>();
+        for (ConfidenceHistogram histogram : confidenceHistogramRepository
+            .findByProjectIdOrderByFieldName(projectId)) {
+            counts.put(histogram.getFieldName(), ConfidenceBuckets.decode(histogram.getCounts()));
+        }
+        pending.forEach((key, buckets) -> {
+            if (key.projectId().equals(projectId)) {
+                long[] merged = counts.computeIfAbsent(
+                    key.fieldName(),
+                    name -> new long[ConfidenceBuckets.BUCKET_COUNT + 1]
+                );
+                long[] unflushed = buckets.snapshot();
+                for (int i = 0; i < merged.length; i++) {
+                    merged[i] += unflushed[i];
+                }
+            }
+        });
+
+        Integer thresholdBucket = threshold != null
+            ? ConfidenceBuckets.bucketIndex(threshold)
+            : null;
+        List<FieldConfidenceDto> fields = new ArrayList<>();
+        counts.forEach((fieldName, fieldCounts) ->
+            fields.add(toDto(fieldName, fieldCounts, thresholdBucket))
+        );
+        return ProjectConfidenceDto.builder()
+            .projectId(projectId)
+            .bucketWidth(ConfidenceBuckets.BUCKET_WIDTH)
+            .threshold(
+                thresholdBucket != null ? ConfidenceBuckets.lowerEdge(thresholdBucket) : null
+            )
+            .fields(fields)
+            .build();
+    }
+
+    /**
+     * Recount a project's histograms from document_fields, for data written before histograms
+     * were kept or changed outside the pipeline. This is the one full aggregate over the
+     * project's fields.
+     */
+    public void rebuild(UUID projectId) {
+        Lock guard = guard(projectId).writeLock();
+        guard.lock();
+        try {
+            // Committed inside the guard, so a flush after it finds the new rows
+            transactionTemplate.executeWithoutResult(status -> recount(projectId));
+        } finally {
+            guard.unlock();
+        }
+    }
+
+    private void recount(UUID projectId) {
+        // The recount includes everything committed so far, so drop what has not been flushed
+        pending.forEach((key, buckets) -> {
+            if (key.projectId().equals(projectId)) {
+                buckets.drain();
+            }
+        });
+
+        Map<String, long[]> counts = new TreeMap<>();
+        for (Object[] row : confidenceHistogramRepository.countByFieldAndBucket(projectId)) {
+            long[] fieldCounts = counts.computeIfAbsent(
+                (String) row[0],
+                name -> new long[ConfidenceBuckets.BUCKET_COUNT + 1]
+            );
+            int bucket = row[1] != null
+                ? ConfidenceBuckets.clamp(((Number) row[1]).intValue())
+                : ConfidenceBuckets.MISSING;
+            fieldCounts[bucket] += ((Number) row[2]).longValue();
+        }
+
+        confidenceHistogramRepository.deleteByProjectId(projectId);
+        confidenceHistogramRepository.flush();
+        counts.forEach((fieldName, fieldCounts) -> {
+            ConfidenceHistogram histogram = new ConfidenceHistogram();
+            histogram.setProjectId(projectId);
+            histogram.setFieldName(fieldName);
+            histogram.setCounts(ConfidenceBuckets.encode(fieldCounts));
+            confidenceHistogramRepository.save(histogram);
+        });
+        log.info(
+            "Rebuilt confidence histograms of {} fields in project {}",
+            counts.size(),
+            projectId
+        );
+    }
+
+    private ReadWriteLock guard(UUID projectId) {
+        return projectGuards.computeIfAbsent(projectId, id -> new ReentrantReadWriteLock());
+    }
+
+    private void addToStored(Key key, long[] delta) {
+        ConfidenceHistogram histogram = confidenceHistogramRepository
+            .findByProjectIdAndFieldName(key.projectId(), key.fieldName())
+            .orElseGet(() -> {
+                ConfidenceHistogram created = new ConfidenceHistogram();
+                created.setProjectId(key.projectId());
+                created.setFieldName(key.fieldName());
+                created.setCounts(new byte[0]);
+                return created;
+            });
+        long[] stored = ConfidenceBuckets.decode(histogram.getCounts());
+        for (int i = 0; i < stored.length; i++) {
+            stored[i] += delta[i];
+        }
+        histogram.setCounts(ConfidenceBuckets.encode(stored));
+        histogram.setUpdatedAt(new Date());
+        confidenceHistogramRepository.save(histogram);
+    }
+
+    private static FieldConfidenceDto toDto(
+        String fieldName,
+        long[] counts,
+        Integer thresholdBucket
+    ) {
+        long total = 0;
+        long atOrAbove = 0;
+        for (int i = 0; i < ConfidenceBuckets.BUCKET_COUNT; i++) {
+            total += counts[i];
+            if (thresholdBucket != null && i >= thresholdBucket) {
+                atOrAbove += counts[i];
+            }
+        }
+        return FieldConfidenceDto.builder()
+            .fieldName(fieldName)
+            .total(total)
+            .missing(counts[ConfidenceBuckets.MISSING])
+            .p10(percentile(counts, total, 0.10))
+            .p50(percentile(counts, total, 0.50))
+            .p90(percentile(counts, total, 0.90))
+            .atOrAboveThreshold(
+                thresholdBucket != null && total > 0 ? (double) atOrAbove / total : null
+            )
+            .counts(Arrays.copyOf(counts, ConfidenceBuckets.BUCKET_COUNT))
+            .build();
+    }
+
+    private static Double percentile(long[] counts, long total, double percentile) {
+        if (total == 0) {
+            return null;
+        }
+        long rank = (long) Math.ceil(percentile * total);
+        long seen = 0;
+        for (int i = 0; i < ConfidenceBuckets.BUCKET_COUNT; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return ConfidenceBuckets.lowerEdge(i);
+            }
+        }
+        return ConfidenceBuckets.lowerEdge(ConfidenceBuckets.BUCKET_COUNT - 1);
+    }
+}
@@ -0,0 +1,240 @@
+package com.see.service;
+
+import com.see.constants.DocumentType;
+import com.see.domain.Batch;
+import com.see.domain.Document;
+import com.see.domain.DocumentField;
+import com.see.ocr.ExtractedField;
+import com.see.ocr.FormTemplate;
+import com.see.ocr.ImagePreprocessor;
+import com.see.ocr.PipelineResult;
+import com.see.ocr.ZonalFieldExtractor;
+import com.see.repository.DocumentFieldRepository;
+import com.see.repository.DocumentRepository;
+import com.see.search.DocumentFieldsChangedEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bytedeco.opencv.opencv_core.Mat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Runs a scanned page through decode -> preprocess -> extract -> store -> persist and records
+ * the time of each stage as ocr.pipeline.stage{stage=...}. The scan and its thumbnail are stored
+ * as shared blobs ({@link BlobService}); persisting also triages the document for QC, see
+ * {@link QcTriageService}. Decoding scales the page to the 150 dpi template size, so 300 dpi PDF
+ * renders and 300/600 dpi TIFFs read the same zones.
+ *
+ * The image stages are CPU-bound and hold native buffers, so at most max-concurrency pages are
+ * in them at once; persist only waits on the database. With virtual threads enabled,
+ * {@link #submit} runs each page on its own virtual thread and the permits keep the CPU stages
+ * bounded.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class DocumentPipelineService {
+
+    public static final List<String> STAGES = List.of(
+        "decode",
+        "preprocess",
+        "extract",
+        "store",
+        "persist"
+    );
+
+    private final ImagePreprocessor imagePreprocessor;
+    private final ZonalFieldExtractor zonalFieldExtractor;
+    private final DocumentRepository documentRepository;
+    private final DocumentFieldRepository documentFieldRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final AsyncTaskExecutor applicationTaskExecutor;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConfidenceHistogramService confidenceHistogramService;
+    private final QcTriageService qcTriageService;
+    private final BlobService blobService;
+    private final TilePyramidService tilePyramidService;
+
+    // 0 = one per available processor
+    @Value("${app.ocr.pipeline.max-concurrency:0}")
+    private int maxConcurrency;
+
+    private Semaphore imagePermits;
+
+    @PostConstruct
+    void init() {
+        imagePermits = new Semaphore(
+            maxConcurrency > 0 ? maxConcurrency : Runtime.getRuntime().availableProcessors(),
+            true
+        );
+    }
+
+    /**
+     * Process a page on the application task executor (virtual threads when
+     * spring.threads.virtual.enabled is set)
+     */
+    public CompletableFuture<PipelineResult> submit(
+        Batch batch,
+        DocumentType type,
+        String originalPath,
+        byte[] image
+    ) {
+        return submit(batch, type, originalPath, 0, image);
+    }
+
+    /**
+     * Process one page of a multi-page upload, see {@link com.see.ocr.PageSplitter}
+     */
+    public CompletableFuture<PipelineResult> submit(
+        Batch batch,
+        DocumentType type,
+        String originalPath,
+        int pageIndex,
+        byte[] image
+    ) {
+        return CompletableFuture.supplyAsync(
+            () -> process(batch, type, originalPath, pageIndex, image),
+            applicationTaskExecutor
+        );
+    }
+
+    public PipelineResult process(
+        Batch batch,
+        DocumentType type,
+        String originalPath,
+        byte[] image
+    ) {
+        return process(batch, type, originalPath, 0, image);
+    }
+
+    public PipelineResult process(
+        Batch batch,
+        DocumentType type,
+        String originalPath,
+        int pageIndex,
+        byte[] image
+    ) {
+        Map<String, Long> stageNanos = new LinkedHashMap<>();
+        FormTemplate template = FormTemplate.forType(type);
+
+        List<ExtractedField> fields;
+        byte[] thumbnail;
+        imagePermits.acquireUninterruptibly();
+        long started = System.nanoTime();
+        try {
+            try (Mat gray = imagePreprocessor.decode(image)) {
+                imagePreprocessor.fitToTemplate(gray);
+                thumbnail = imagePreprocessor.thumbnail(gray);
+                started = stage(stageNanos, "decode", started);
+
+                try (Mat binary = imagePreprocessor.preprocess(gray)) {
+                    started = stage(stageNanos, "preprocess", started);
+                    fields = zonalFieldExtractor.extract(binary, template);
+                    started = stage(stageNanos, "extract", started);
+                }
+            }
+        } finally {
+            imagePermits.release();
+        }
+
+        String sha256 = blobService.store(image);
+        String thumbnailSha256 = blobService.store(thumbnail);
+        started = stage(stageNanos, "store", started);
+
+        // Counted in the histograms as one step with the commit, so a rebuild counts it once
+        Document document = confidenceHistogramService.recordOnCommit(
+            batch.getProject() != null ? batch.getProject().getId() : null,
+            fields,
+            () ->
+                transactionTemplate.execute(status ->
+                    persist(batch, type, originalPath, pageIndex, sha256, thumbnailSha256, fields)
+                )
+        );
+        stage(stageNanos, "persist", started);
+        tilePyramidService.buildAsync(document.getId());
+
+        log.debug(
+            "Processed {} document {} page {} in {}ms",
+            type,
+            originalPath,
+            pageIndex,
+            stageNanos.values().stream().mapToLong(Long::longValue).sum() / 1_000_000
+        );
+        return new PipelineResult(document, fields, stageNanos);
+    }
+
+    private Document persist(
+        Batch batch,
+        DocumentType type,
+        String originalPath,
+        int pageIndex,
+        String sha256,
+        String thumbnailSha256,
+        List<ExtractedField> fields
+    ) {
+        // Without a unique key on the hash, the check below is only safe one upload at a time
+        blobService.lock(sha256);
+        boolean duplicate = batch.getProject() != null
+            ? documentRepository.existsInProject(sha256, batch.getProject().getId())
+            : documentRepository.existsBySha256HashAndBatchId(sha256, batch.getId());
+        if (duplicate) {
+            throw new IllegalStateException("Document already ingested: " + sha256);
+        }
+
+        Document document = new Document();
+        document.setBatch(batch);
+        document.setType(type);
+        document.setOriginalPath(originalPath);
+        document.setPageIndex(pageIndex);
+        document.setSha256Hash(sha256);
+        document.setThumbnailSha256(thumbnailSha256);
+        QcTriageService.Decision decision = qcTriageService.evaluate(
+            batch.getProject() != null ? batch.getProject().getId() : null,
+            fields
+        );
+        qcTriageService.apply(document, decision);
+        document = documentRepository.save(document);
+        blobService.retain(sha256);
+        blobService.retain(thumbnailSha256);
+        qcTriageService.audit(document, decision);
+
+        // Saved through their own repository: Lombok's hashCode on Document walks the field set
+        List<DocumentField> documentFields = new ArrayList<>();
+        for (ExtractedField field : fields) {
+            DocumentField documentField = new DocumentField();
+            documentField.setDocument(document);
+            documentField.setFieldName(field.getName());
+            documentField.setFieldValue(field.getValue());
+            documentField.setConfidenceScore(field.getConfidence());
+            documentFields.add(documentField);
+        }
+        documentFieldRepository.saveAll(documentFields);
+        eventPublisher.publishEvent(new DocumentFieldsChangedEvent(List.of(document.getId())));
+        return document;
+    }
+
+    private long stage(Map<String, Long> stageNanos, String stage, long started) {
+        long now = System.nanoTime();
+        stageNanos.put(stage, now - started);
+        Timer.builder("ocr.pipeline.stage")
+            .description("Time spent in one OCR pipeline stage per document")
+            .tag("stage", stage)
+            .register(meterRegistry)
+            .record(now - started, TimeUnit.NANOSECONDS);
+        return now;
+    }
+}
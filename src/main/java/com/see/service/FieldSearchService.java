@@ -0,0 +1,221 @@
+package com.see.service;
+
+import com.see.constants.DocumentType;
+import com.see.constants.QCStatus;
+import com.see.dto.FieldSearchResultDto;
+import com.see.repository.DocumentFieldRepository;
+import com.see.repository.SearchIndexRow;
+import com.see.search.DocumentFieldsChangedEvent;
+import com.see.search.FieldSearchIndex;
+import com.see.util.CursorFetchSize;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Keeps the field search index in step with the database and answers searches from it.
+ *
+ * Documents are re-indexed after the transaction that changed them commits. A failure there only
+ * leaves the index stale; {@link #rebuild} restores it from the database.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class FieldSearchService {
+
+    private static final String ALL_ROWS = DocumentFieldRepository.SEARCH_INDEX_ROWS;
+    private static final long PROGRESS_EVERY_ROWS = 1_000_000;
+
+    @Value("${app.search.max-results:100}")
+    private int maxResults;
+
+    @Value("${app.search.rebuild-on-startup:false}")
+    private boolean rebuildOnStartup;
+
+    @Value("${app.search.rebuild-fetch-size:1000}")
+    private int fetchSize;
+
+    private final FieldSearchIndex fieldSearchIndex;
+    private final DocumentFieldRepository documentFieldRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final AsyncTaskExecutor applicationTaskExecutor;
+
+    public FieldSearchResultDto search(
+        String text,
+        UUID projectId,
+        UUID batchId,
+        DocumentType documentType,
+        QCStatus qcStatus,
+        String fieldName,
+        int limit
+    ) {
+        Map<String, String> filters = new LinkedHashMap<>();
+        filters.put(FieldSearchIndex.PROJECT_ID, Objects.toString(projectId, null));
+        filters.put(FieldSearchIndex.BATCH_ID, Objects.toString(batchId, null));
+        filters.put(FieldSearchIndex.DOCUMENT_TYPE, Objects.toString(documentType, null));
+        filters.put(FieldSearchIndex.QC_STATUS, Objects.toString(qcStatus, null));
+        filters.put(FieldSearchIndex.FIELD_NAME, fieldName);
+        return fieldSearchIndex.search(text, filters, Math.max(1, Math.min(limit, maxResults)));
+    }
+
+    /**
+     * Runs in a new read-write transaction so the rows come from the primary: a replica may not
+     * have the commit that fired the event yet
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onDocumentFieldsChanged(DocumentFieldsChangedEvent event) {
+        index(event.documentIds());
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    void rebuildOnStartup() {
+        if (rebuildOnStartup) {
+            rebuildAsync();
+        }
+    }
+
+    /**
+     * Start a rebuild on the application task executor. Returns false when one is already running.
+     */
+    public boolean rebuildAsync() {
+        try {
+            if (!fieldSearchIndex.startRebuild()) {
+                return false;
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not clear the search index", e);
+        }
+        try {
+            applicationTaskExecutor.execute(this::rebuildStarted);
+        } catch (TaskRejectedException e) {
+            // The index is already cleared; left like this it would never refresh or commit again
+            try {
+                Set<UUID> changed = fieldSearchIndex.abortRebuild();
+                if (!changed.isEmpty()) {
+                    transactionTemplate.executeWithoutResult(status -> index(changed));
+                }
+            } catch (IOException | RuntimeException rollbackFailed) {
+                e.addSuppressed(rollbackFailed);
+            }
+            throw e;
+        }
+        return true;
+    }
+
+    /**
+     * Re-index every field from the database, blocking until done. Returns the number of
+     * fields indexed, or -1 when a rebuild is already running.
+     */
+    public long rebuild() throws IOException {
+        if (!fieldSearchIndex.startRebuild()) {
+            return -1;
+        }
+        return rebuildStarted();
+    }
+
+    private long rebuildStarted() {
+        long started = System.nanoTime();
+        // Read-only, so it may run on the replica; whatever it has not caught up with yet is
+        // re-indexed from the primary below as a changed document
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        long rows;
+        try {
+            rows = readOnly.execute(status -> addAllRows());
+        } catch (RuntimeException e) {
+            Set<UUID> changed;
+            try {
+                changed = fieldSearchIndex.abortRebuild();
+            } catch (IOException | RuntimeException rollbackFailed) {
+                e.addSuppressed(rollbackFailed);
+                log.error("Search index rebuild failed and could not be rolled back", e);
+                throw e;
+            }
+            if (!changed.isEmpty()) {
+                transactionTemplate.executeWithoutResult(status -> index(changed));
+            }
+            log.error("Search index rebuild failed, search keeps the index from before it", e);
+            throw e;
+        }
+
+        Set<UUID> changed = fieldSearchIndex.finishRebuild();
+        if (!changed.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> index(changed));
+        }
+        try {
+            fieldSearchIndex.commit();
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not commit the rebuilt search index", e);
+        }
+        log.info(
+            "Rebuilt search index with {} fields in {}s ({} documents changed during the rebuild)",
+            rows,
+            (System.nanoTime() - started) / 1_000_000_000,
+            changed.size()
+        );
+        return rows;
+    }
+
+    private long addAllRows() {
+        long count = 0;
+        try (
+            Stream<SearchIndexRow> rows = entityManager
+                .createQuery(ALL_ROWS, SearchIndexRow.class)
+                .setHint(
+                    HibernateHints.HINT_FETCH_SIZE,
+                    CursorFetchSize.of(entityManager, fetchSize)
+                )
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream()
+        ) {
+            for (SearchIndexRow row : (Iterable<SearchIndexRow>) rows::iterator) {
+                fieldSearchIndex.add(row);
+                if (++count % PROGRESS_EVERY_ROWS == 0) {
+                    log.info("Search index rebuild: {} fields indexed", count);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Search index write failed", e);
+        }
+        return count;
+    }
+
+    private void index(Collection<UUID> documentIds) {
+        try {
+            fieldSearchIndex.replace(
+                documentIds,
+                documentFieldRepository.findSearchIndexRows(documentIds)
+            );
+        } catch (IOException | RuntimeException e) {
+            log.error(
+                "Could not index documents {}, search results stay stale until a rebuild",
+                documentIds,
+                e
+            );
+        }
+    }
+}
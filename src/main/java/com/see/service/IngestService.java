@@ -0,0 +1,241 @@
+package com.see.service;
+
+import com.see.constants.DocumentType;
+import com.see.domain.Batch;
+import com.see.dto.IngestResultDto;
+import com.see.ocr.PageSplitter;
+import com.see.ocr.PipelineResult;
+import com.see.repository.BatchRepository;
+import com.see.repository.DocumentRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Ingests an uploaded scan file into a batch, one document per page.
+ *
+ * The upload is split page by page as it is read ({@link PageSplitter}) and each page is
+ * submitted to the pipeline as soon as it is split off, so OCR of the first pages overlaps with
+ * reading the rest. At most max-pages-in-flight pages, across all uploads, are queued or running
+ * in the pipeline (by default one per processor, the pipeline's own CPU limit, so every core has
+ * a page); splitting waits for one to finish before handing on the next. Ingest memory is
+ * therefore bounded by max-pages-in-flight encoded pages in the pipeline plus, per upload being
+ * split, the one page decoded and waiting for a permit, however many pages the files have.
+ *
+ * A TIFF or PDF is spooled to disk as it is split and, once every page is in, stored as a blob
+ * that each page's document references as its upload, so the original stays available as sent.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class IngestService {
+
+    // Shared by every upload, so concurrent uploads do not multiply it; 0 = one per processor
+    @Value("${app.ingest.max-pages-in-flight:0}")
+    private int maxPagesInFlight;
+
+    private final PageSplitter pageSplitter;
+    private final DocumentPipelineService documentPipelineService;
+    private final BatchRepository batchRepository;
+    private final DocumentRepository documentRepository;
+    private final BlobService blobService;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+
+    private Semaphore pagePermits;
+
+    private record PageOutcome(UUID documentId, String failure) {}
+
+    /** The pipeline would not take a page, as opposed to the upload not being readable. */
+    private static final class SubmitFailedException extends RuntimeException {
+
+        private final int pageIndex;
+
+        SubmitFailedException(int pageIndex, RuntimeException cause) {
+            super(cause.getMessage(), cause);
+            this.pageIndex = pageIndex;
+        }
+    }
+
+    @PostConstruct
+    void init() {
+        pagePermits = new Semaphore(
+            maxPagesInFlight > 0 ? maxPagesInFlight : Runtime.getRuntime().availableProcessors(),
+            true
+        );
+    }
+
+    /**
+     * Split the upload into the batch and wait for every page to be processed; empty when there
+     * is no such batch. Throws IllegalArgumentException when no page could be read.
+     */
+    public Optional<IngestResultDto> ingest(
+        UUID batchId,
+        DocumentType type,
+        String originalPath,
+        InputStream upload
+    ) {
+        Optional<Batch> found = batchRepository.findById(batchId);
+        if (found.isEmpty()) {
+            return Optional.empty();
+        }
+        Batch batch = found.get();
+        Path spool;
+        try {
+            spool = Files.createTempFile("ingest-", ".upload");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not spool the upload", e);
+        }
+        try {
+            return Optional.of(ingest(batch, type, originalPath, upload, spool));
+        } finally {
+            try {
+                Files.deleteIfExists(spool);
+            } catch (IOException e) {
+                log.warn("Could not delete upload spool {}: {}", spool, e.getMessage());
+            }
+        }
+    }
+
+    private IngestResultDto ingest(
+        Batch batch,
+        DocumentType type,
+        String originalPath,
+        InputStream upload,
+        Path spool
+    ) {
+        Counter pagesCounter = Counter.builder("app.ingest.pages")
+            .description("Pages split from uploads and submitted to the pipeline")
+            .register(meterRegistry);
+
+        List<CompletableFuture<PageOutcome>> outcomes = new ArrayList<>();
+        String splitFailure = null;
+        long started = System.nanoTime();
+        try {
+            pageSplitter.split(upload, spool, (pageIndex, image) -> {
+                pagePermits.acquireUninterruptibly();
+                CompletableFuture<PipelineResult> submitted;
+                try {
+                    submitted = documentPipelineService.submit(
+                        batch,
+                        type,
+                        originalPath,
+                        pageIndex,
+                        image
+                    );
+                } catch (RuntimeException e) {
+                    // Rejected by the executor (at shutdown, say): the permit is never released
+                    // by a completion, so give it back here
+                    pagePermits.release();
+                    throw new SubmitFailedException(pageIndex, e);
+                }
+                pagesCounter.increment();
+                outcomes.add(
+                    submitted.handle((result, error) -> {
+                        pagePermits.release();
+                        return error == null
+                            ? new PageOutcome(result.getDocument().getId(), null)
+                            : new PageOutcome(null, failure(pageIndex, error));
+                    })
+                );
+            });
+        } catch (SubmitFailedException e) {
+            if (outcomes.isEmpty()) {
+                throw (RuntimeException) e.getCause();
+            }
+            splitFailure = "Could not submit page " + e.pageIndex + ": " + e.getMessage();
+        } catch (IOException | RuntimeException e) {
+            if (outcomes.isEmpty()) {
+                throw new IllegalArgumentException(
+                    "Not a readable TIFF, PDF or image: " + e.getMessage(),
+                    e
+                );
+            }
+            splitFailure = "Could not read past page " + (outcomes.size() - 1) + ": "
+                + e.getMessage();
+        }
+
+        List<UUID> documentIds = new ArrayList<>(outcomes.size());
+        List<String> failures = new ArrayList<>();
+        for (CompletableFuture<PageOutcome> outcome : outcomes) {
+            PageOutcome page = outcome.join();
+            documentIds.add(page.documentId());
+            if (page.failure() != null) {
+                failures.add(page.failure());
+            }
+        }
+        if (splitFailure != null) {
+            failures.add(splitFailure);
+        } else {
+            String uploadFailure = attachUpload(spool, documentIds);
+            if (uploadFailure != null) {
+                failures.add(uploadFailure);
+            }
+        }
+        log.info(
+            "Ingested {} pages of {} into batch {} in {}ms ({} failed)",
+            outcomes.size(),
+            originalPath,
+            batch.getId(),
+            (System.nanoTime() - started) / 1_000_000,
+            failures.size()
+        );
+        return IngestResultDto.builder()
+            .batchId(batch.getId())
+            .originalPath(originalPath)
+            .pages(outcomes.size())
+            .documentIds(documentIds)
+            .failures(failures)
+            .build();
+    }
+
+    /**
+     * Store the spooled TIFF or PDF as a blob and reference it from every page's document.
+     * Returns a failure message, or null. A truncated upload is not kept: its pages fall back to
+     * their own PNG as the original.
+     */
+    private String attachUpload(Path spool, List<UUID> documentIds) {
+        List<UUID> ingested = documentIds.stream().filter(Objects::nonNull).toList();
+        try {
+            if (ingested.isEmpty() || Files.size(spool) == 0) {
+                return null; // nothing to reference it, or a single image that is its own page
+            }
+            String uploadSha256 = blobService.store(spool);
+            transactionTemplate.executeWithoutResult(status -> {
+                documentRepository.attachUpload(ingested, uploadSha256);
+                for (int i = 0; i < ingested.size(); i++) {
+                    blobService.retain(uploadSha256);
+                }
+            });
+            return null;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not store the original upload: {}", e.getMessage());
+            return "Could not store the original upload: " + e.getMessage();
+        }
+    }
+
+    private static String failure(int pageIndex, Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null
+            ? error.getCause()
+            : error;
+        return "Page " + pageIndex + ": " + cause.getMessage();
+    }
+}
@@ -0,0 +1,392 @@
+package com.see.service;
+
+import com.see.config.CountingAsyncAppender;
+import com.see.dto.LogGovernorStatusDto;
+import com.see.dto.LogLevelOverrideDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggerConfiguration;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.stereotype.Service;
+
+/**
+ * Timed log level overrides, and automatic demotion of verbose loggers under load.
+ *
+ * Levels are set through Spring Boot's LoggingSystem, the one behind /actuator/loggers, so
+ * overrides show up there. Unlike a POST to that endpoint an override expires: the logger's
+ * previously configured level comes back after the given time. Every check-interval-ms the
+ * governor measures the log write rate (events appended to the async file appenders) and how
+ * fast the log files in log-dir grow. Process-wide disk writes are not used: blob, index and
+ * spool writes during an ingest burst would trip it though logging was not the cause. When
+ * either passes its threshold, the verbose loggers and any overrides more verbose than
+ * demote-to are held at demote-to for trip-duration-ms, and a security event is written. A
+ * demotion replaces an admin override of the same logger; the level configured before both is
+ * the one restored.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class LogLevelGovernor {
+
+    /** setBy of the overrides made when a threshold trips */
+    public static final String GOVERNOR = "governor";
+
+    @Value("${app.logging.governor.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.logging.governor.check-interval-ms:5000}")
+    private long checkIntervalMillis;
+
+    // 0 = no limit
+    @Value("${app.logging.governor.max-lines-per-second:2000}")
+    private long maxLinesPerSecond;
+
+    // 0 = no limit
+    @Value("${app.logging.governor.max-log-bytes-per-second:52428800}")
+    private long maxLogBytesPerSecond;
+
+    // Where the file appenders write, LOG_DIR in logback-spring.xml
+    @Value("${app.logging.governor.log-dir:logs}")
+    private String logDir;
+
+    @Value("${app.logging.governor.trip-duration-ms:600000}")
+    private long tripDurationMillis;
+
+    @Value("${app.logging.governor.demote-to:INFO}")
+    private LogLevel demoteTo;
+
+    @Value(
+        "${app.logging.governor.verbose-loggers:org.hibernate.SQL,org.hibernate.type,"
+            + "org.hibernate.orm.jdbc.bind,org.springframework.web.servlet.DispatcherServlet,"
+            + "org.springframework.security.web.authentication,com.see.config.ApiLoggingFilter,"
+            + "com.see.config.JwtAuthenticationFilter}"
+    )
+    private String[] verboseLoggers;
+
+    @Value("${app.logging.governor.max-override-minutes:240}")
+    private long maxOverrideMinutes;
+
+    private final LoggingSystem loggingSystem;
+    private final LoggingService loggingService;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, ActiveOverride> overrides = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+    private Counter tripCounter;
+
+    // Totals at the previous check, -1 before the first one
+    private long lastAppended = -1;
+    private long lastLogBytes = -1;
+    private long lastCheckNanos;
+    private volatile long linesPerSecond = -1;
+    private volatile long logBytesPerSecond = -1;
+
+    @RequiredArgsConstructor
+    private static final class ActiveOverride {
+
+        private final String logger;
+        private final LogLevel level;
+        private final LogLevel previous;
+        private final Date expiresAt;
+        private final String setBy;
+        private final String reason;
+        private ScheduledFuture<?> expiry;
+    }
+
+    @PostConstruct
+    void init() {
+        tripCounter = Counter.builder("app.logging.governor.trips")
+            .description("Times the log governor demoted verbose loggers")
+            .register(meterRegistry);
+        Gauge.builder("app.logging.governor.tripped", this, g -> g.isTripped() ? 1 : 0)
+            .description("1 while verbose loggers are held demoted by the log governor")
+            .register(meterRegistry);
+
+        scheduler = Executors.newSingleThreadScheduledExecutor(task -> {
+            Thread thread = new Thread(task, "log-governor");
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (enabled) {
+            scheduler.scheduleWithFixedDelay(
+                this::checkQuietly,
+                checkIntervalMillis,
+                checkIntervalMillis,
+                TimeUnit.MILLISECONDS
+            );
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    /**
+     * Set a logger's level until the duration has passed. Throws IllegalArgumentException for a
+     * duration outside 1 minute to max-override-minutes.
+     */
+    public LogLevelOverrideDto override(
+        String logger,
+        LogLevel level,
+        Duration duration,
+        String setBy,
+        String reason
+    ) {
+        if (duration.toMinutes() < 1 || duration.toMinutes() > maxOverrideMinutes) {
+            throw new IllegalArgumentException(
+                "Overrides last from 1 to " + maxOverrideMinutes + " minutes"
+            );
+        }
+        synchronized (this) {
+            String old = describe(configuredLevel(logger));
+            ActiveOverride override = set(logger, level, duration, setBy, reason);
+            loggingService.logConfigChange(setBy, settingName(logger), old, level.name());
+            log.info(
+                "{} set {} to {} until {} ({})",
+                setBy,
+                logger,
+                level,
+                override.expiresAt,
+                reason
+            );
+            return toDto(override);
+        }
+    }
+
+    /**
+     * Restore the level a logger had before its override now; false when it has none
+     */
+    public synchronized boolean revert(String logger, String by) {
+        ActiveOverride override = overrides.get(logger);
+        if (override == null) {
+            return false;
+        }
+        restore(override, by);
+        return true;
+    }
+
+    public List<LogLevelOverrideDto> getOverrides() {
+        List<LogLevelOverrideDto> active = new ArrayList<>();
+        overrides.values().forEach(override -> active.add(toDto(override)));
+        active.sort(Comparator.comparing(LogLevelOverrideDto::getLogger));
+        return active;
+    }
+
+    public LogGovernorStatusDto getStatus() {
+        return LogGovernorStatusDto.builder()
+            .tripped(isTripped())
+            .linesPerSecond(linesPerSecond)
+            .logBytesPerSecond(logBytesPerSecond)
+            .maxLinesPerSecond(maxLinesPerSecond)
+            .maxLogBytesPerSecond(maxLogBytesPerSecond)
+            .overrides(getOverrides())
+            .build();
+    }
+
+    public boolean isTripped() {
+        return overrides.values().stream().anyMatch(override -> GOVERNOR.equals(override.setBy));
+    }
+
+    private void checkQuietly() {
+        try {
+            Map<String, CountingAsyncAppender.DropCounters> appenders =
+                CountingAsyncAppender.dropCounters();
+            long appended = appenders.isEmpty()
+                ? -1
+                : appenders
+                    .values()
+                    .stream()
+                    .mapToLong(CountingAsyncAppender.DropCounters::getAppended)
+                    .sum();
+            check(appended, logBytes(), System.nanoTime());
+        } catch (RuntimeException e) {
+            log.warn("Log governor check failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Update the rates from the running totals (-1 = not available) and demote verbose loggers
+     * if either is over its threshold
+     */
+    synchronized void check(long appended, long logBytes, long nowNanos) {
+        double seconds = (nowNanos - lastCheckNanos) / 1e9;
+        boolean first = lastCheckNanos == 0;
+        linesPerSecond = rate(lastAppended, appended, seconds, first);
+        logBytesPerSecond = rate(lastLogBytes, logBytes, seconds, first);
+        lastAppended = appended;
+        lastLogBytes = logBytes;
+        lastCheckNanos = nowNanos;
+
+        List<String> over = new ArrayList<>();
+        if (maxLinesPerSecond > 0 && linesPerSecond > maxLinesPerSecond) {
+            over.add(linesPerSecond + " log lines/s (limit " + maxLinesPerSecond + ")");
+        }
+        if (maxLogBytesPerSecond > 0 && logBytesPerSecond > maxLogBytesPerSecond) {
+            over.add(
+                logBytesPerSecond + " log file bytes/s (limit " + maxLogBytesPerSecond + ")"
+            );
+        }
+        if (!over.isEmpty()) {
+            trip(String.join(", ", over));
+        }
+    }
+
+    private static long rate(long last, long now, double seconds, boolean first) {
+        if (first || last < 0 || now < 0 || seconds <= 0) {
+            return -1;
+        }
+        return Math.round(Math.max(0, now - last) / seconds);
+    }
+
+    private void trip(String reason) {
+        Set<String> candidates = new LinkedHashSet<>(List.of(verboseLoggers));
+        candidates.addAll(overrides.keySet());
+        List<String> demoted = new ArrayList<>();
+        for (String logger : candidates) {
+            LoggerConfiguration configuration = loggingSystem.getLoggerConfiguration(logger);
+            LogLevel effective = configuration != null ? configuration.getEffectiveLevel() : null;
+            if (effective != null && effective.ordinal() < demoteTo.ordinal()) {
+                set(logger, demoteTo, Duration.ofMillis(tripDurationMillis), GOVERNOR, reason);
+                demoted.add(logger + " " + effective + "->" + demoteTo);
+            }
+        }
+        if (demoted.isEmpty()) {
+            return;
+        }
+        tripCounter.increment();
+        loggingService.logSecurityEventWithRisk(
+            "LOG_GOVERNOR_TRIPPED",
+            "system",
+            reason + "; demoted for " + tripDurationMillis / 1000 + "s: "
+                + String.join(", ", demoted),
+            "MEDIUM"
+        );
+        log.warn("Log governor tripped on {}: demoted {}", reason, demoted);
+    }
+
+    /** Apply an override; the caller holds the lock */
+    private ActiveOverride set(
+        String logger,
+        LogLevel level,
+        Duration duration,
+        String setBy,
+        String reason
+    ) {
+        ActiveOverride existing = overrides.get(logger);
+        LogLevel previous = existing != null ? existing.previous : configuredLevel(logger);
+        if (existing != null) {
+            existing.expiry.cancel(false);
+        }
+        ActiveOverride override = new ActiveOverride(
+            logger,
+            level,
+            previous,
+            new Date(System.currentTimeMillis() + duration.toMillis()),
+            setBy,
+            reason
+        );
+        loggingSystem.setLogLevel(logger, level);
+        overrides.put(logger, override);
+        override.expiry = scheduler.schedule(
+            () -> expire(override),
+            duration.toMillis(),
+            TimeUnit.MILLISECONDS
+        );
+        return override;
+    }
+
+    private synchronized void expire(ActiveOverride override) {
+        // A later override of the same logger has taken its place
+        if (overrides.get(override.logger) == override) {
+            restore(override, "system");
+        }
+    }
+
+    private void restore(ActiveOverride override, String by) {
+        overrides.remove(override.logger);
+        override.expiry.cancel(false);
+        loggingSystem.setLogLevel(override.logger, override.previous);
+        loggingService.logConfigChange(
+            by,
+            settingName(override.logger),
+            override.level.name(),
+            describe(override.previous)
+        );
+        log.info("{} restored {} to {}", by, override.logger, describe(override.previous));
+    }
+
+    private LogLevel configuredLevel(String logger) {
+        LoggerConfiguration configuration = loggingSystem.getLoggerConfiguration(logger);
+        return configuration != null ? configuration.getConfiguredLevel() : null;
+    }
+
+    private static String settingName(String logger) {
+        return "logging.level." + logger;
+    }
+
+    private static String describe(LogLevel level) {
+        return level != null ? level.name() : "inherited";
+    }
+
+    /**
+     * Total size of the log files, rolled ones included so that a rollover does not read as a
+     * drop; -1 when the directory cannot be listed. Rolled files removed by maxHistory make the
+     * total fall, which counts as no growth for that interval.
+     */
+    private long logBytes() {
+        try (Stream<Path> files = Files.list(Path.of(logDir))) {
+            return files
+                .filter(file -> file.getFileName().toString().endsWith(".log"))
+                .mapToLong(LogLevelGovernor::sizeOrZero)
+                .sum();
+        } catch (IOException | UncheckedIOException e) {
+            // no file logging here (tests, console only): the log file rate is not measured
+            return -1;
+        }
+    }
+
+    private static long sizeOrZero(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            return 0; // rolled away between listing and reading
+        }
+    }
+
+    private static LogLevelOverrideDto toDto(ActiveOverride override) {
+        return LogLevelOverrideDto.builder()
+            .logger(override.logger)
+            .level(override.level.name())
+            .previousLevel(override.previous != null ? override.previous.name() : null)
+            .expiresAt(override.expiresAt)
+            .setBy(override.setBy)
+            .reason(override.reason)
+            .build();
+    }
+}
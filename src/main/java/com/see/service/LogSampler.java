@@ -0,0 +1,95 @@
+package com.see.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * Load-aware sampler for routine request logging.
+ *
+ * Counts the log lines routine requests would write in one-second windows. At each window
+ * boundary the observed rate is compared with the configured budget and the sampler keeps
+ * one request out of every N for the next window. Errors, slow requests and security
+ * failures never go through the sampler, so they are always logged.
+ */
+@Slf4j
+@Service
+public class LogSampler {
+
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    @Value("${app.logging.sampling.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.logging.sampling.target-lines-per-second:200}")
+    private long targetLinesPerSecond;
+
+    private final AtomicLong currentWindow = new AtomicLong();
+    private final LongAdder offeredLines = new LongAdder();
+    private final AtomicLong sequence = new AtomicLong();
+    private volatile long keepEvery = 1;
+
+    public LogSampler(MeterRegistry meterRegistry) {
+        Gauge.builder("logging.sampling.rate", this, LogSampler::getCurrentSampleRate)
+            .description("Routine requests represented by each logged request (1 = no sampling)")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Decide whether a routine request should be logged.
+     *
+     * @param lines number of log lines the request would write
+     * @return the sample rate N the logged lines stand for, or 0 if the request should be skipped
+     */
+    public long sample(int lines) {
+        if (!enabled) {
+            return 1;
+        }
+
+        rollWindow();
+        offeredLines.add(lines);
+
+        long rate = keepEvery;
+        if (rate <= 1) {
+            return 1;
+        }
+        return sequence.incrementAndGet() % rate == 0 ? rate : 0;
+    }
+
+    /**
+     * Current sample rate, 1 when every routine request is being logged
+     */
+    public long getCurrentSampleRate() {
+        return enabled ? keepEvery : 1;
+    }
+
+    private void rollWindow() {
+        long now = System.nanoTime() / NANOS_PER_SECOND;
+        long window = currentWindow.get();
+        if (now == window || !currentWindow.compareAndSet(window, now)) {
+            return;
+        }
+
+        // Only one thread wins the boundary; lines added concurrently land in either window
+        long offered = offeredLines.sumThenReset();
+        long elapsedSeconds = Math.max(1, now - window);
+        long linesPerSecond = offered / elapsedSeconds;
+        long budget = Math.max(1, targetLinesPerSecond);
+        long next = Math.max(1, (linesPerSecond + budget - 1) / budget);
+
+        if (next != keepEvery) {
+            log.debug(
+                "Log sample rate changed from 1/{} to 1/{} ({} lines/s offered, budget {})",
+                keepEvery,
+                next,
+                linesPerSecond,
+                budget
+            );
+        }
+        keepEvery = next;
+    }
+}
@@ -70,6 +70,18 @@ public class LoggingService {
         HttpServletRequest request,
         String username,
         String action
+    ) {
+        logApiCall(request, username, action, 1);
+    }
+
+    /**
+     * Log API calls that were kept by the log sampler, annotated with their sample rate
+     */
+    public void logApiCall(
+        HttpServletRequest request,
+        String username,
+        String action,
+        long sampleRate
     ) {
         String clientIP = getClientIP(request);
         String method = request.getMethod();
@@ -83,7 +95,7 @@ public class LoggingService {
         }
 
         API_LOGGER.info(
-            "API_CALL | {} | {} | {} | {} | {} | UA: {} | Ref: {}",
+            "API_CALL | {} | {} | {} | {} | {} | UA: {} | Ref: {}{}",
             method,
             uri,
             username != null ? username : "anonymous",
@@ -92,7 +104,8 @@ public class LoggingService {
             userAgent != null
                 ? userAgent.substring(0, Math.min(userAgent.length(), 100))
                 : "unknown",
-            referer != null ? referer : "direct"
+            referer != null ? referer : "direct",
+            sampleSuffix(sampleRate)
         );
     }
 
@@ -147,6 +160,18 @@ public class LoggingService {
         );
     }
 
+    /**
+     * Log routine security events kept by the log sampler, annotated with their sample rate
+     */
+    public void logSecurityEvent(
+        String event,
+        String username,
+        String details,
+        long sampleRate
+    ) {
+        logSecurityEvent(event, username, details + sampleSuffix(sampleRate));
+    }
+
     /**
      * Log security events with risk level
      */
@@ -286,14 +311,28 @@ public class LoggingService {
         long durationMs,
         String username,
         String additionalInfo
+    ) {
+        logPerformance(operation, durationMs, username, additionalInfo, 1);
+    }
+
+    /**
+     * Log performance metrics kept by the log sampler, annotated with their sample rate
+     */
+    public void logPerformance(
+        String operation,
+        long durationMs,
+        String username,
+        String additionalInfo,
+        long sampleRate
     ) {
         MDC.put(USER_ID_KEY, username != null ? username : "system");
         PERFORMANCE_LOGGER.info(
-            "PERFORMANCE | {} | {}ms | {} | {}",
+            "PERFORMANCE | {} | {}ms | {} | {}{}",
             operation,
             durationMs,
             username,
-            additionalInfo
+            additionalInfo,
+            sampleSuffix(sampleRate)
         );
     }
 
@@ -376,10 +415,17 @@ public class LoggingService {
         );
     }
 
+    /**
+     * Suffix appended to sampled lines so offline counts can weight each line by its rate
+     */
+    private String sampleSuffix(long sampleRate) {
+        return sampleRate > 1 ? " | sampled: 1/" + sampleRate : "";
+    }
+
     /**
      * Enhanced client IP detection with multiple header support
      */
-    private String getClientIP(HttpServletRequest request) {
+    String getClientIP(HttpServletRequest request) {
         // Check multiple headers in order of preference
         String[] headers = {
             "X-Forwarded-For",
@@ -0,0 +1,325 @@
+package com.see.service;
+
+import com.see.dto.EndpointPerfDto;
+import com.see.dto.EndpointResourceDto;
+import com.see.dto.LatencyStatsDto;
+import com.see.util.LatencyHistogram;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToLongFunction;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+/**
+ * In-process latency distributions per endpoint over sliding 1, 5 and 15 minute windows.
+ *
+ * Each endpoint keeps a ring of 30-second slots, each holding a lock-free
+ * {@link LatencyHistogram}. A window is the current partial slot plus enough full slots
+ * before it to cover the window length. A slot is rotated by swapping in a fresh one, so
+ * samples recorded into the new period are never cleared by a late reset. Slow-request
+ * thresholds are derived from the same distributions and cached per endpoint.
+ *
+ * Thread CPU time and allocated bytes are accumulated in the same slots and published
+ * as http.server.resources.cpu / http.server.resources.allocated meters, named outside
+ * http.server.requests so its histogram and SLO settings do not carry over to them.
+ */
+@Service
+@RequiredArgsConstructor
+public class PerformanceStatsService {
+
+    private static final long SLOT_MILLIS = 30_000;
+    private static final int SLOT_COUNT = 31; // 15 minutes of full slots + the current one
+    private static final long THRESHOLD_REFRESH_MILLIS = 10_000;
+    private static final String OVERFLOW_METHOD = "ANY";
+    private static final String OVERFLOW_URI = "OTHER";
+
+    // Window name -> number of full slots before the current one
+    private static final Map<String, Integer> WINDOWS = new LinkedHashMap<>();
+
+    static {
+        WINDOWS.put("1m", 2);
+        WINDOWS.put("5m", 10);
+        WINDOWS.put("15m", 30);
+    }
+
+    // Each tracked endpoint holds ~170KB of histogram slots
+    @Value("${app.perf.max-endpoints:200}")
+    private int maxEndpoints;
+
+    @Value("${app.perf.slow.min-samples:200}")
+    private long minSamples;
+
+    @Value("${app.perf.slow.floor-ms:250}")
+    private long slowFloorMs;
+
+    @Value("${app.perf.slow.default-ms:2000}")
+    private long defaultSlowMs;
+
+    @Value("${app.perf.very-slow.default-ms:5000}")
+    private long defaultVerySlowMs;
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<String, EndpointStats> endpoints =
+        new ConcurrentHashMap<>();
+
+    /**
+     * Record one request against its endpoint (method + URI template).
+     * Pass -1 for CPU time or allocated bytes when they could not be measured.
+     */
+    public void record(
+        String method,
+        String uri,
+        long durationNanos,
+        long cpuNanos,
+        long allocatedBytes
+    ) {
+        stats(method, uri).record(
+            System.currentTimeMillis(),
+            durationNanos / 1_000,
+            cpuNanos,
+            allocatedBytes
+        );
+    }
+
+    /**
+     * Duration above which a request to this endpoint counts as slow: the endpoint's 5-minute p99,
+     * or the fixed default while there are too few samples
+     */
+    public long getSlowThresholdMillis(String method, String uri) {
+        return stats(method, uri).thresholds(System.currentTimeMillis())[0];
+    }
+
+    /**
+     * Duration above which a request to this endpoint counts as very slow: the endpoint's
+     * 15-minute p99.9, or the fixed default while there are too few samples
+     */
+    public long getVerySlowThresholdMillis(String method, String uri) {
+        return stats(method, uri).thresholds(System.currentTimeMillis())[1];
+    }
+
+    /**
+     * Endpoints with the highest total CPU time (by = "cpu") or allocated bytes (by = "alloc")
+     * over the last 15 minutes
+     */
+    public List<EndpointResourceDto> getHeaviestEndpoints(String by, int limit) {
+        long now = System.currentTimeMillis();
+        List<EndpointResourceDto> result = new ArrayList<>();
+
+        endpoints.forEach((endpoint, stats) -> {
+            long[] totals = stats.resourceTotals(now, WINDOWS.get("15m"));
+            long count = totals[0];
+            if (count > 0) {
+                result.add(
+                    EndpointResourceDto.builder()
+                        .endpoint(endpoint)
+                        .count(count)
+                        .totalCpuMs(toMillis(totals[1] / 1_000))
+                        .avgCpuMs(toMillis(totals[1] / 1_000 / count))
+                        .totalAllocatedBytes(totals[2])
+                        .avgAllocatedBytes(totals[2] / count)
+                        .build()
+                );
+            }
+        });
+
+        ToLongFunction<EndpointResourceDto> key = "alloc".equalsIgnoreCase(by)
+            ? EndpointResourceDto::getTotalAllocatedBytes
+            : dto -> Math.round(dto.getTotalCpuMs() * 1_000);
+        result.sort(Comparator.comparingLong(key).reversed());
+        return result.subList(0, Math.min(Math.max(limit, 0), result.size()));
+    }
+
+    /**
+     * Percentiles for every endpoint seen in the last 15 minutes, busiest first
+     */
+    public List<EndpointPerfDto> getEndpointStats() {
+        long now = System.currentTimeMillis();
+        List<EndpointPerfDto> result = new ArrayList<>();
+
+        endpoints.forEach((endpoint, stats) -> {
+            Map<String, LatencyStatsDto> windows = new LinkedHashMap<>();
+            WINDOWS.forEach((name, fullSlots) ->
+                windows.put(name, toDto(stats.snapshot(now, fullSlots)))
+            );
+            if (windows.get("15m").getCount() > 0) {
+                result.add(
+                    EndpointPerfDto.builder()
+                        .endpoint(endpoint)
+                        .windows(windows)
+                        .build()
+                );
+            }
+        });
+
+        result.sort(
+            Comparator.comparingLong(
+                (EndpointPerfDto dto) -> dto.getWindows().get("15m").getCount()
+            ).reversed()
+        );
+        return result;
+    }
+
+    private EndpointStats stats(String method, String uri) {
+        String endpoint = method + " " + uri;
+        EndpointStats stats = endpoints.get(endpoint);
+        if (stats != null) {
+            return stats;
+        }
+        if (endpoints.size() >= maxEndpoints) {
+            // Guard against unbounded keys; everything past the cap shares one bucket
+            return endpoints.computeIfAbsent(
+                OVERFLOW_METHOD + " " + OVERFLOW_URI,
+                key -> new EndpointStats(OVERFLOW_METHOD, OVERFLOW_URI)
+            );
+        }
+        return endpoints.computeIfAbsent(endpoint, key ->
+            new EndpointStats(method, uri)
+        );
+    }
+
+    private LatencyStatsDto toDto(LatencyHistogram.Snapshot snapshot) {
+        return LatencyStatsDto.builder()
+            .count(snapshot.getTotalCount())
+            .p50Ms(toMillis(snapshot.valueAtPercentile(0.50)))
+            .p90Ms(toMillis(snapshot.valueAtPercentile(0.90)))
+            .p99Ms(toMillis(snapshot.valueAtPercentile(0.99)))
+            .p999Ms(toMillis(snapshot.valueAtPercentile(0.999)))
+            .maxMs(toMillis(snapshot.getMaxMicros()))
+            .build();
+    }
+
+    private static double toMillis(long micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+
+    private final class EndpointStats {
+
+        private final AtomicReferenceArray<Slot> slots = new AtomicReferenceArray<>(SLOT_COUNT);
+        private final Timer cpuTimer;
+        private final DistributionSummary allocationSummary;
+        private volatile long[] thresholds = { defaultSlowMs, defaultVerySlowMs };
+        private volatile long thresholdsComputedAt;
+
+        EndpointStats(String method, String uri) {
+            for (int i = 0; i < SLOT_COUNT; i++) {
+                slots.set(i, new Slot(-1));
+            }
+            cpuTimer = Timer.builder("http.server.resources.cpu")
+                .description("Thread CPU time spent serving the request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry);
+            allocationSummary = DistributionSummary.builder(
+                "http.server.resources.allocated"
+            )
+                .description("Heap bytes allocated by the request thread")
+                .baseUnit("bytes")
+                .tag("method", method)
+                .tag("uri", uri)
+                .register(meterRegistry);
+        }
+
+        void record(
+            long nowMillis,
+            long micros,
+            long cpuNanos,
+            long allocatedBytes
+        ) {
+            long epoch = nowMillis / SLOT_MILLIS;
+            int index = (int) (epoch % SLOT_COUNT);
+            Slot slot = slots.get(index);
+
+            while (slot.epoch != epoch) {
+                if (slot.epoch > epoch) {
+                    return; // clock went backwards, drop the sample
+                }
+                // One thread's fresh slot wins the rotation; the others record into it
+                Slot fresh = new Slot(epoch);
+                slot = slots.compareAndSet(index, slot, fresh) ? fresh : slots.get(index);
+            }
+            slot.histogram.record(micros);
+
+            if (cpuNanos >= 0) {
+                slot.cpuNanos.add(cpuNanos);
+                cpuTimer.record(cpuNanos, TimeUnit.NANOSECONDS);
+            }
+            if (allocatedBytes >= 0) {
+                slot.allocatedBytes.add(allocatedBytes);
+                allocationSummary.record(allocatedBytes);
+            }
+        }
+
+        /**
+         * Request count, CPU nanoseconds and allocated bytes summed over a window
+         */
+        long[] resourceTotals(long nowMillis, int fullSlots) {
+            long current = nowMillis / SLOT_MILLIS;
+            long[] totals = new long[3];
+            for (int i = 0; i < SLOT_COUNT; i++) {
+                Slot slot = slots.get(i);
+                if (slot.epoch <= current && slot.epoch >= current - fullSlots) {
+                    totals[0] += slot.histogram.getTotalCount();
+                    totals[1] += slot.cpuNanos.sum();
+                    totals[2] += slot.allocatedBytes.sum();
+                }
+            }
+            return totals;
+        }
+
+        LatencyHistogram.Snapshot snapshot(long nowMillis, int fullSlots) {
+            long current = nowMillis / SLOT_MILLIS;
+            LatencyHistogram.Snapshot snapshot = new LatencyHistogram.Snapshot();
+            for (int i = 0; i < SLOT_COUNT; i++) {
+                Slot slot = slots.get(i);
+                if (slot.epoch <= current && slot.epoch >= current - fullSlots) {
+                    slot.histogram.addTo(snapshot);
+                }
+            }
+            return snapshot;
+        }
+
+        long[] thresholds(long nowMillis) {
+            if (nowMillis - thresholdsComputedAt < THRESHOLD_REFRESH_MILLIS) {
+                return thresholds;
+            }
+            thresholdsComputedAt = nowMillis;
+
+            LatencyHistogram.Snapshot fiveMinutes = snapshot(nowMillis, WINDOWS.get("5m"));
+            LatencyHistogram.Snapshot fifteenMinutes = snapshot(nowMillis, WINDOWS.get("15m"));
+
+            long slow = fiveMinutes.getTotalCount() >= minSamples
+                ? Math.max(slowFloorMs, fiveMinutes.valueAtPercentile(0.99) / 1_000)
+                : defaultSlowMs;
+            long verySlow = fifteenMinutes.getTotalCount() >= minSamples
+                ? Math.max(slow, fifteenMinutes.valueAtPercentile(0.999) / 1_000)
+                : Math.max(slow, defaultVerySlowMs);
+
+            thresholds = new long[] { slow, verySlow };
+            return thresholds;
+        }
+    }
+
+    private static final class Slot {
+
+        private final long epoch;
+        private final LatencyHistogram histogram = new LatencyHistogram();
+        private final LongAdder cpuNanos = new LongAdder();
+        private final LongAdder allocatedBytes = new LongAdder();
+
+        Slot(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+}
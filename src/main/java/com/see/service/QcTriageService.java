@@ -0,0 +1,188 @@
+package com.see.service;
+
+import com.see.constants.QCStatus;
+import com.see.domain.AuditLog;
+import com.see.domain.Document;
+import com.see.domain.QcThreshold;
+import com.see.dto.QcTriageReportDto;
+import com.see.dto.ReviewQueueItemDto;
+import com.see.ocr.ExtractedField;
+import com.see.repository.AuditLogRepository;
+import com.see.repository.DocumentRepository;
+import com.see.repository.QcThresholdRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Decides right after extraction whether a document can skip manual QC.
+ *
+ * A document passes when every extracted field has a score at or above its project threshold
+ * (the field's own, else the project's {@link QcThreshold#ANY_FIELD} default); fields without
+ * either do not hold it back. Anything else, including a document without fields or a project
+ * without thresholds, goes to the review queue, ordered by its lowest field score.
+ * Every decision is written to the audit log.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QcTriageService {
+
+    public static final String AUTO_PASSED = "QC_AUTO_PASSED";
+    public static final String SENT_TO_REVIEW = "QC_SENT_TO_REVIEW";
+
+    private final QcThresholdRepository qcThresholdRepository;
+    private final AuditLogRepository auditLogRepository;
+    private final DocumentRepository documentRepository;
+    private final MeterRegistry meterRegistry;
+
+    private Counter autoPassedCounter;
+    private Counter sentToReviewCounter;
+
+    public record Decision(QCStatus status, Double minConfidence, String reason) {}
+
+    @PostConstruct
+    void init() {
+        autoPassedCounter = decisionCounter("auto_passed");
+        sentToReviewCounter = decisionCounter("review");
+    }
+
+    /**
+     * Evaluate a document's extracted fields against the project's thresholds
+     */
+    public Decision evaluate(UUID projectId, List<ExtractedField> fields) {
+        double min = Double.POSITIVE_INFINITY;
+        for (ExtractedField field : fields) {
+            min = Math.min(min, field.getConfidence());
+        }
+        Double minConfidence = fields.isEmpty() ? null : min;
+
+        Map<String, Double> thresholds = projectId != null ? getThresholds(projectId) : Map.of();
+        if (thresholds.isEmpty()) {
+            return new Decision(QCStatus.PENDING, minConfidence, "no QC thresholds for project");
+        }
+        if (fields.isEmpty()) {
+            return new Decision(QCStatus.PENDING, null, "no fields extracted");
+        }
+        Double defaultThreshold = thresholds.get(QcThreshold.ANY_FIELD);
+        for (ExtractedField field : fields) {
+            Double threshold = thresholds.getOrDefault(field.getName(), defaultThreshold);
+            if (threshold != null && field.getConfidence() < threshold) {
+                return new Decision(
+                    QCStatus.PENDING,
+                    minConfidence,
+                    String.format(
+                        "%s at %.3f is below %.3f",
+                        field.getName(),
+                        field.getConfidence(),
+                        threshold
+                    )
+                );
+            }
+        }
+        return new Decision(
+            QCStatus.PASSED,
+            minConfidence,
+            "all " + fields.size() + " fields at or above threshold"
+        );
+    }
+
+    /**
+     * Apply a decision to a document about to be saved
+     */
+    public void apply(Document document, Decision decision) {
+        document.setQcStatus(decision.status());
+        document.setMinConfidence(decision.minConfidence());
+    }
+
+    /**
+     * Record the decision for a saved document, in the caller's transaction
+     */
+    public void audit(Document document, Decision decision) {
+        boolean passed = decision.status() == QCStatus.PASSED;
+        AuditLog entry = new AuditLog();
+        entry.setEntityType("Document");
+        entry.setEntityId(document.getId());
+        entry.setAction(passed ? AUTO_PASSED : SENT_TO_REVIEW);
+        entry.setDetails(decision.reason());
+        auditLogRepository.save(entry);
+        (passed ? autoPassedCounter : sentToReviewCounter).increment();
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Double> getThresholds(UUID projectId) {
+        Map<String, Double> thresholds = new LinkedHashMap<>();
+        List<QcThreshold> rows = qcThresholdRepository.findByProjectIdOrderByFieldName(projectId);
+        for (QcThreshold threshold : rows) {
+            thresholds.put(threshold.getFieldName(), threshold.getMinConfidence());
+        }
+        return thresholds;
+    }
+
+    /**
+     * Replace the project's thresholds. Documents already processed keep their decision.
+     */
+    @Transactional
+    public Map<String, Double> replaceThresholds(UUID projectId, Map<String, Double> thresholds) {
+        qcThresholdRepository.deleteByProjectId(projectId);
+        qcThresholdRepository.flush();
+        thresholds.forEach((fieldName, minConfidence) -> {
+            QcThreshold threshold = new QcThreshold();
+            threshold.setProjectId(projectId);
+            threshold.setFieldName(fieldName);
+            threshold.setMinConfidence(minConfidence);
+            qcThresholdRepository.save(threshold);
+        });
+        log.info("Replaced QC thresholds of project {}: {}", projectId, thresholds);
+        return getThresholds(projectId);
+    }
+
+    @Transactional(readOnly = true)
+    public List<ReviewQueueItemDto> getReviewQueue(UUID projectId, int page, int size) {
+        return documentRepository.findReviewQueue(projectId, PageRequest.of(page, size));
+    }
+
+    @Transactional(readOnly = true)
+    public QcTriageReportDto getReport(UUID projectId) {
+        Map<String, Long> counts = new HashMap<>();
+        List<Object[]> rows = auditLogRepository.countDocumentActions(
+            projectId,
+            List.of(AUTO_PASSED, SENT_TO_REVIEW)
+        );
+        for (Object[] row : rows) {
+            counts.put((String) row[0], ((Number) row[1]).longValue());
+        }
+        long autoPassed = counts.getOrDefault(AUTO_PASSED, 0L);
+        long sentToReview = counts.getOrDefault(SENT_TO_REVIEW, 0L);
+        long queueLength = documentRepository.countByProjectIdAndQcStatus(
+            projectId,
+            QCStatus.PENDING
+        );
+        long triaged = autoPassed + sentToReview;
+        return QcTriageReportDto.builder()
+            .projectId(projectId)
+            .autoPassed(autoPassed)
+            .sentToReview(sentToReview)
+            .reviewQueueLength(queueLength)
+            .reviewQueueLengthWithoutTriage(queueLength + autoPassed)
+            .autoPassRate(triaged > 0 ? (double) autoPassed / triaged : null)
+            .build();
+    }
+
+    private Counter decisionCounter(String decision) {
+        return Counter.builder("app.qc.triage")
+            .description("Documents triaged after extraction, by decision")
+            .tag("decision", decision)
+            .register(meterRegistry);
+    }
+}
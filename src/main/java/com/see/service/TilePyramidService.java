@@ -0,0 +1,215 @@
+package com.see.service;
+
+import com.see.dto.TilePyramidDto;
+import com.see.ocr.ImagePreprocessor;
+import com.see.ocr.TilePyramidBuilder;
+import com.see.repository.DocumentRepository;
+import com.see.storage.BlobHttpSender;
+import com.see.storage.BlobStore;
+import com.see.storage.TilePyramidFile;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bytedeco.opencv.opencv_core.Mat;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Tile pyramids of document scans for the QC viewer.
+ *
+ * With pregenerate on, the pipeline hands each new document over once it is committed and the
+ * pyramid is built in the background. Documents without one (older ones, or a failed build) get
+ * it built on the first viewer request. At most max-concurrency pyramids are built at once, and
+ * concurrent requests for the same document share one build.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TilePyramidService {
+
+    @Value("${app.viewer.pregenerate:true}")
+    private boolean pregenerate;
+
+    // 0 = half the available processors, leaving the rest to the OCR pipeline
+    @Value("${app.viewer.max-concurrency:0}")
+    private int maxConcurrency;
+
+    private final DocumentRepository documentRepository;
+    private final BlobStore blobStore;
+    private final BlobService blobService;
+    private final BlobHttpSender blobHttpSender;
+    private final ImagePreprocessor imagePreprocessor;
+    private final TilePyramidBuilder tilePyramidBuilder;
+    private final TransactionTemplate transactionTemplate;
+    private final AsyncTaskExecutor applicationTaskExecutor;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<UUID, CompletableFuture<String>> building = new ConcurrentHashMap<>();
+    private Semaphore buildPermits;
+    private Timer buildTimer;
+
+    @PostConstruct
+    void init() {
+        buildPermits = new Semaphore(
+            maxConcurrency > 0
+                ? maxConcurrency
+                : Math.max(1, Runtime.getRuntime().availableProcessors() / 2),
+            true
+        );
+        buildTimer = Timer.builder("app.viewer.pyramid.build")
+            .description("Time to decode a scan and encode its tile pyramid")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Dimensions of the document's pyramid, building it first if needed; empty when there is
+     * no such document
+     */
+    public Optional<TilePyramidDto> getPyramid(UUID documentId) throws IOException {
+        if (documentRepository.findSha256HashById(documentId).isEmpty()) {
+            return Optional.empty();
+        }
+        String hash = documentRepository
+            .findPyramidSha256ById(documentId)
+            .orElseGet(() -> build(documentId));
+        TilePyramidFile.Layout layout = TilePyramidFile.readLayout(blobStore.path(hash));
+        return Optional.of(
+            TilePyramidDto.builder()
+                .documentId(documentId)
+                .width(layout.width())
+                .height(layout.height())
+                .tileSize(layout.tileSize())
+                .levels(layout.levels())
+                .tileUrl("/api/documents/" + documentId + "/tiles/{level}/{x}/{y}")
+                .build()
+        );
+    }
+
+    /**
+     * Send one tile, or 404 when the document has no pyramid yet or no such tile
+     */
+    public void sendTile(
+        UUID documentId,
+        int level,
+        int x,
+        int y,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        Optional<String> hash = documentRepository.findPyramidSha256ById(documentId);
+        TilePyramidFile.Tile tile = hash.isPresent()
+            ? TilePyramidFile.locate(blobStore.path(hash.get()), level, x, y)
+            : null;
+        if (tile == null) {
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+        blobHttpSender.sendPart(
+            hash.get(),
+            level + "/" + x + "/" + y,
+            tile.offset(),
+            tile.length(),
+            MediaType.IMAGE_JPEG,
+            request,
+            response
+        );
+    }
+
+    /**
+     * Build the pyramid of a newly committed document in the background
+     */
+    public void buildAsync(UUID documentId) {
+        if (!pregenerate) {
+            return;
+        }
+        applicationTaskExecutor.execute(() -> {
+            try {
+                build(documentId);
+            } catch (RuntimeException e) {
+                log.warn(
+                    "Could not build tile pyramid of document {}, retried on first view: {}",
+                    documentId,
+                    e.getMessage()
+                );
+            }
+        });
+    }
+
+    /**
+     * Build and attach the document's pyramid unless it has one, returning its blob hash
+     */
+    public String build(UUID documentId) {
+        CompletableFuture<String> mine = new CompletableFuture<>();
+        CompletableFuture<String> running = building.putIfAbsent(documentId, mine);
+        if (running != null) {
+            return running.join();
+        }
+        try {
+            String hash = buildAndAttach(documentId);
+            mine.complete(hash);
+            return hash;
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            building.remove(documentId);
+        }
+    }
+
+    private String buildAndAttach(UUID documentId) {
+        Optional<String> existing = documentRepository.findPyramidSha256ById(documentId);
+        if (existing.isPresent()) {
+            return existing.get();
+        }
+        String original = documentRepository
+            .findSha256HashById(documentId)
+            .orElseThrow(() -> new IllegalArgumentException("No document " + documentId));
+
+        byte[] pyramid;
+        buildPermits.acquireUninterruptibly();
+        long started = System.nanoTime();
+        try (Mat page = imagePreprocessor.decode(Files.readAllBytes(blobStore.path(original)))) {
+            pyramid = tilePyramidBuilder.build(page);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not read scan " + original, e);
+        } finally {
+            buildPermits.release();
+        }
+        long elapsed = System.nanoTime() - started;
+        buildTimer.record(elapsed, TimeUnit.NANOSECONDS);
+
+        String hash = blobService.store(pyramid);
+        String attached = transactionTemplate.execute(status -> {
+            if (documentRepository.attachPyramid(documentId, hash) == 1) {
+                blobService.retain(hash);
+                return hash;
+            }
+            return documentRepository.findPyramidSha256ById(documentId).orElseThrow();
+        });
+        log.debug(
+            "Built tile pyramid of document {} ({} bytes) in {}ms",
+            documentId,
+            pyramid.length,
+            elapsed / 1_000_000
+        );
+        return attached;
+    }
+}
@@ -0,0 +1,230 @@
+package com.see.storage;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+
+/**
+ * Writes a stored blob as an HTTP response, with ETags and single byte ranges.
+ *
+ * Blobs never change, so the content hash is a strong ETag and responses are cacheable for a
+ * year; a matching If-None-Match gets 304. A single byte range gets 206, anything else the whole
+ * blob. Bodies of at least sendfile-min-bytes are handed to Tomcat's sendfile, which is
+ * zero-copy: the request thread returns and the connector streams the file from the page cache.
+ * Smaller ones, or containers without sendfile, go through {@link FileChannel#transferTo} into
+ * the servlet output stream, which copies through a heap buffer.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class BlobHttpSender {
+
+    static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String CACHE_CONTROL = "private, max-age=31536000, immutable";
+
+    @Value("${app.blobs.sendfile-min-bytes:49152}")
+    private long sendfileMinBytes;
+
+    private final BlobStore blobStore;
+
+    /**
+     * Send the blob, detecting its type from the leading bytes when contentType is null
+     */
+    public void send(
+        String hash,
+        MediaType contentType,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        Path path = blobStore.path(hash);
+        long size;
+        try {
+            size = Files.size(path);
+        } catch (NoSuchFileException e) {
+            log.warn("Blob {} is referenced but missing from the store", hash);
+            response.sendError(HttpStatus.NOT_FOUND.value());
+            return;
+        }
+
+        String etag = "\"" + hash + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, "bytes");
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+        response.setContentType((contentType != null ? contentType : sniff(path)).toString());
+
+        long start = 0;
+        long length = size;
+        HttpRange range = size > 0 ? range(request, etag) : null;
+        if (range != null) {
+            start = range.getRangeStart(size);
+            long end = range.getRangeEnd(size);
+            if (start >= size || end < start) {
+                response.setHeader(HttpHeaders.CONTENT_RANGE, "bytes */" + size);
+                response.sendError(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                return;
+            }
+            length = end - start + 1;
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(
+                HttpHeaders.CONTENT_RANGE,
+                "bytes " + start + "-" + end + "/" + size
+            );
+        }
+        transfer(path, start, length, request, response);
+    }
+
+    /**
+     * Send length bytes at offset of a blob that packs several files, such as one tile of a
+     * {@link TilePyramidFile}. The part name makes the ETag distinct from the blob's own.
+     */
+    public void sendPart(
+        String hash,
+        String part,
+        long offset,
+        long length,
+        MediaType contentType,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        String etag = "\"" + hash + "/" + part + "\"";
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        if (matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) {
+            response.setStatus(HttpStatus.NOT_MODIFIED.value());
+            return;
+        }
+        response.setContentType(contentType.toString());
+        transfer(blobStore.path(hash), offset, length, request, response);
+    }
+
+    private void transfer(
+        Path path,
+        long start,
+        long length,
+        HttpServletRequest request,
+        HttpServletResponse response
+    ) throws IOException {
+        response.setContentLengthLong(length);
+        if ("HEAD".equals(request.getMethod())) {
+            return;
+        }
+
+        boolean sendfile = Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT));
+        if (sendfile && length >= sendfileMinBytes) {
+            request.setAttribute(SENDFILE_FILENAME, path.toString());
+            request.setAttribute(SENDFILE_START, start);
+            request.setAttribute(SENDFILE_END, start + length);
+            return;
+        }
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            WritableByteChannel out = Channels.newChannel(response.getOutputStream());
+            long sent = 0;
+            while (sent < length) {
+                long n = file.transferTo(start + sent, length - sent, out);
+                if (n <= 0) {
+                    // The file is shorter than the range: a truncated blob or a bad tile offset
+                    throw new EOFException(
+                        "Blob " + path.getFileName() + " ended " + (length - sent)
+                            + " bytes short of the response"
+                    );
+                }
+                sent += n;
+            }
+        }
+    }
+
+    /**
+     * The single range to send, or null for the whole blob: no Range header, an If-Range that
+     * no longer matches, several ranges, or one that does not parse
+     */
+    private static HttpRange range(HttpServletRequest request, String etag) {
+        String header = request.getHeader(HttpHeaders.RANGE);
+        if (header == null) {
+            return null;
+        }
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+        if (ifRange != null && !ifRange.equals(etag)) {
+            return null;
+        }
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(header);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(etag) || tag.equals("W/" + etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Scans arrive as TIFF, JPEG, PNG or PDF; the store does not keep their type
+     */
+    static MediaType sniff(Path path) throws IOException {
+        byte[] head;
+        try (InputStream in = Files.newInputStream(path)) {
+            head = in.readNBytes(4);
+        }
+        if (startsWith(head, 0x49, 0x49, 0x2A, 0x00) || startsWith(head, 0x4D, 0x4D, 0x00, 0x2A)) {
+            return MediaType.parseMediaType("image/tiff");
+        }
+        if (startsWith(head, 0xFF, 0xD8, 0xFF)) {
+            return MediaType.IMAGE_JPEG;
+        }
+        if (startsWith(head, 0x89, 'P', 'N', 'G')) {
+            return MediaType.IMAGE_PNG;
+        }
+        if (startsWith(head, '%', 'P', 'D', 'F')) {
+            return MediaType.APPLICATION_PDF;
+        }
+        return MediaType.APPLICATION_OCTET_STREAM;
+    }
+
+    private static boolean startsWith(byte[] data, int... prefix) {
+        if (data.length < prefix.length) {
+            return false;
+        }
+        for (int i = 0; i < prefix.length; i++) {
+            if ((data[i] & 0xFF) != prefix[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,185 @@
+package com.see.storage;
+
+import jakarta.annotation.PostConstruct;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.regex.Pattern;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Files stored under the hex SHA-256 of their content at {@code ab/cd/abcd...}.
+ *
+ * Two levels of 256 directories keep any one directory at a few thousand entries even with
+ * hundreds of millions of blobs. A blob is written to tmp/ and renamed into place, so readers
+ * never see a partial file; since the name is the content hash, writing one that already
+ * exists is a no-op. Which blobs are still in use is tracked by
+ * {@link com.see.service.BlobService}.
+ */
+@Slf4j
+@Component
+public class BlobStore {
+
+    private static final Pattern HASH = Pattern.compile("[0-9a-f]{64}");
+
+    @Value("${app.blobs.dir:data/blobs}")
+    private String blobsDir;
+
+    private Path root;
+    private Path tmp;
+
+    @PostConstruct
+    void init() throws IOException {
+        root = Path.of(blobsDir).toAbsolutePath();
+        tmp = Files.createDirectories(root.resolve("tmp"));
+        log.info("Blob store at {}", root);
+    }
+
+    public static String sha256(byte[] data) {
+        return HexFormat.of().formatHex(digest().digest(data));
+    }
+
+    /**
+     * Hash of a file's content, read in chunks
+     */
+    public static String sha256(Path file) throws IOException {
+        MessageDigest digest = digest();
+        try (InputStream in = Files.newInputStream(file)) {
+            byte[] buffer = new byte[64 * 1024];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, n);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Where the blob with this hash is (or would be) stored
+     */
+    public Path path(String hash) {
+        if (!HASH.matcher(hash).matches()) {
+            throw new IllegalArgumentException("Not a SHA-256 hex digest: " + hash);
+        }
+        return root.resolve(hash.substring(0, 2)).resolve(hash.substring(2, 4)).resolve(hash);
+    }
+
+    public boolean exists(String hash) {
+        return Files.exists(path(hash));
+    }
+
+    /**
+     * Store data under its hash unless it is already there, and return the hash
+     */
+    public String write(byte[] data) {
+        return write(sha256(data), data);
+    }
+
+    /**
+     * As {@link #write(byte[])}, for a caller that has already hashed the data
+     */
+    public String write(String hash, byte[] data) {
+        Path target = path(hash);
+        if (Files.exists(target)) {
+            return hash;
+        }
+        try {
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(tmp, hash.substring(0, 8), ".tmp");
+            try {
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                    ByteBuffer buffer = ByteBuffer.wrap(data);
+                    while (buffer.hasRemaining()) {
+                        channel.write(buffer);
+                    }
+                    channel.force(true);
+                }
+                // A concurrent writer of the same content may win the rename; either file will do
+                Files.move(
+                    temp,
+                    target,
+                    StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING
+                );
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store blob " + hash, e);
+        }
+        return hash;
+    }
+
+    /**
+     * Store a file's content under its hash, already computed by the caller, unless it is already
+     * there. The file is copied rather than read into memory, so it may be as large as an upload.
+     */
+    public String write(String hash, Path source) {
+        try {
+            Path target = path(hash);
+            if (Files.exists(target)) {
+                return hash;
+            }
+            Files.createDirectories(target.getParent());
+            Path temp = Files.createTempFile(tmp, hash.substring(0, 8), ".tmp");
+            try {
+                Files.copy(source, temp, StandardCopyOption.REPLACE_EXISTING);
+                try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                    channel.force(true);
+                }
+                Files.move(
+                    temp,
+                    target,
+                    StandardCopyOption.ATOMIC_MOVE,
+                    StandardCopyOption.REPLACE_EXISTING
+                );
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+            return hash;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not store blob from " + source, e);
+        }
+    }
+
+    public InputStream open(String hash) throws IOException {
+        return Files.newInputStream(path(hash));
+    }
+
+    public long size(String hash) throws IOException {
+        return Files.size(path(hash));
+    }
+
+    /**
+     * Remove a blob; returns false when it was not there
+     */
+    public boolean delete(String hash) {
+        try {
+            return Files.deleteIfExists(path(hash));
+        } catch (NoSuchFileException e) {
+            return false;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not delete blob " + hash, e);
+        }
+    }
+}
@@ -0,0 +1,191 @@
+package com.see.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * All tiles of one page's image pyramid packed into a single blob, so a page costs one stored
+ * file and one blobs row however many tiles it has.
+ *
+ * Level 0 fits the whole page in one tile and each level doubles the resolution of the one
+ * before, up to the full-size page. Layout, big-endian:
+ * <pre>
+ *   "SEEPYR01" | tileSize | width | height | levels       (int each, full-size page dimensions)
+ *   per tile, level by level, row by row: offset (long) | length (int)
+ *   tile images
+ * </pre>
+ * A tile is located with two small positional reads and sent straight from the file.
+ */
+public final class TilePyramidFile {
+
+    private static final byte[] MAGIC = "SEEPYR01".getBytes(StandardCharsets.US_ASCII);
+    private static final int HEADER_BYTES = MAGIC.length + 4 * Integer.BYTES;
+    private static final int ENTRY_BYTES = Long.BYTES + Integer.BYTES;
+
+    private TilePyramidFile() {}
+
+    /**
+     * Page and tile dimensions of a pyramid
+     */
+    public record Layout(int tileSize, int width, int height, int levels) {
+
+        /**
+         * Number of levels for a page, so that level 0 fits in a single tile
+         */
+        public static int levelsFor(int width, int height, int tileSize) {
+            int levels = 1;
+            long side = Math.max(width, height);
+            while (side > tileSize) {
+                side = (side + 1) / 2;
+                levels++;
+            }
+            return levels;
+        }
+
+        public int levelWidth(int level) {
+            return scaled(width, level);
+        }
+
+        public int levelHeight(int level) {
+            return scaled(height, level);
+        }
+
+        public int columns(int level) {
+            return (levelWidth(level) + tileSize - 1) / tileSize;
+        }
+
+        public int rows(int level) {
+            return (levelHeight(level) + tileSize - 1) / tileSize;
+        }
+
+        int tileCount() {
+            int count = 0;
+            for (int level = 0; level < levels; level++) {
+                count += columns(level) * rows(level);
+            }
+            return count;
+        }
+
+        /**
+         * Position of the tile in the entry table, or -1 when it is outside the pyramid
+         */
+        int entryIndex(int level, int column, int row) {
+            if (level < 0 || level >= levels) {
+                return -1;
+            }
+            if (column < 0 || row < 0 || column >= columns(level) || row >= rows(level)) {
+                return -1;
+            }
+            int index = 0;
+            for (int l = 0; l < level; l++) {
+                index += columns(l) * rows(l);
+            }
+            return index + row * columns(level) + column;
+        }
+
+        private int scaled(int size, int level) {
+            int shift = levels - 1 - level;
+            return Math.max(1, (int) ((size + (1L << shift) - 1) >> shift));
+        }
+    }
+
+    /**
+     * Byte range of one tile within the pyramid blob
+     */
+    public record Tile(long offset, int length) {}
+
+    /**
+     * Collects encoded tiles in pyramid order: level 0 first, rows top to bottom
+     */
+    public static final class Writer {
+
+        private final Layout layout;
+        private final List<byte[]> tiles = new ArrayList<>();
+
+        public Writer(Layout layout) {
+            this.layout = layout;
+        }
+
+        public void add(byte[] tile) {
+            tiles.add(tile);
+        }
+
+        public byte[] toByteArray() {
+            if (tiles.size() != layout.tileCount()) {
+                throw new IllegalStateException(
+                    "Pyramid has " + tiles.size() + " tiles, expected " + layout.tileCount()
+                );
+            }
+            long offset = HEADER_BYTES + (long) ENTRY_BYTES * tiles.size();
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.write(MAGIC);
+                out.writeInt(layout.tileSize());
+                out.writeInt(layout.width());
+                out.writeInt(layout.height());
+                out.writeInt(layout.levels());
+                for (byte[] tile : tiles) {
+                    out.writeLong(offset);
+                    out.writeInt(tile.length);
+                    offset += tile.length;
+                }
+                for (byte[] tile : tiles) {
+                    out.write(tile);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return bytes.toByteArray();
+        }
+    }
+
+    public static Layout readLayout(Path path) throws IOException {
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            return readLayout(file);
+        }
+    }
+
+    /**
+     * Where a tile is stored, or null when the pyramid has no such tile
+     */
+    public static Tile locate(Path path, int level, int column, int row) throws IOException {
+        try (FileChannel file = FileChannel.open(path, StandardOpenOption.READ)) {
+            int index = readLayout(file).entryIndex(level, column, row);
+            if (index < 0) {
+                return null;
+            }
+            ByteBuffer entry = read(file, HEADER_BYTES + (long) ENTRY_BYTES * index, ENTRY_BYTES);
+            return new Tile(entry.getLong(), entry.getInt());
+        }
+    }
+
+    private static Layout readLayout(FileChannel file) throws IOException {
+        ByteBuffer header = read(file, 0, HEADER_BYTES);
+        byte[] magic = new byte[MAGIC.length];
+        header.get(magic);
+        if (!Arrays.equals(magic, MAGIC)) {
+            throw new IOException("Not a tile pyramid");
+        }
+        return new Layout(header.getInt(), header.getInt(), header.getInt(), header.getInt());
+    }
+
+    private static ByteBuffer read(FileChannel file, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (file.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Truncated tile pyramid");
+            }
+        }
+        return buffer.flip();
+    }
+}
@@ -0,0 +1,104 @@
+package com.see.util;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free fixed-bucket histogram of confidence scores in [0, 1].
+ *
+ * There are BUCKET_COUNT buckets of equal width; 1.0 lands in the last one and out-of-range
+ * scores are clamped. Fields without a score are counted in one extra slot at index
+ * BUCKET_COUNT, so every count array here has BUCKET_COUNT + 1 entries.
+ */
+public class ConfidenceBuckets {
+
+    public static final int BUCKET_COUNT = 100;
+    public static final int MISSING = BUCKET_COUNT;
+    public static final double BUCKET_WIDTH = 1.0 / BUCKET_COUNT;
+
+    /**
+     * Scores are rounded to this many steps per bucket before flooring, so a score stored just
+     * under an edge (0.29 is 0.28999...) still lands in the bucket it names
+     */
+    public static final long STEPS_PER_BUCKET = 10_000;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT + 1);
+
+    public void record(Double confidence) {
+        counts.incrementAndGet(confidence != null ? bucketIndex(confidence) : MISSING);
+    }
+
+    /**
+     * Add counts taken from another histogram (e.g. a failed {@link #drain} being put back)
+     */
+    public void add(long[] delta) {
+        for (int i = 0; i < delta.length; i++) {
+            if (delta[i] != 0) {
+                counts.addAndGet(i, delta[i]);
+            }
+        }
+    }
+
+    /**
+     * Current counts, left in place
+     */
+    public long[] snapshot() {
+        long[] result = new long[BUCKET_COUNT + 1];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = counts.get(i);
+        }
+        return result;
+    }
+
+    /**
+     * Current counts, zeroing each bucket as it is read so nothing recorded concurrently is lost
+     */
+    public long[] drain() {
+        long[] result = new long[BUCKET_COUNT + 1];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = counts.getAndSet(i, 0);
+        }
+        return result;
+    }
+
+    public static int bucketIndex(double confidence) {
+        long steps = Math.round(confidence * BUCKET_COUNT * STEPS_PER_BUCKET);
+        return clamp((int) Math.floorDiv(steps, STEPS_PER_BUCKET));
+    }
+
+    public static int clamp(int bucket) {
+        return Math.max(0, Math.min(BUCKET_COUNT - 1, bucket));
+    }
+
+    /**
+     * Lowest confidence that falls in the bucket
+     */
+    public static double lowerEdge(int bucket) {
+        return bucket / (double) BUCKET_COUNT;
+    }
+
+    public static boolean isEmpty(long[] counts) {
+        for (long count : counts) {
+            if (count != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Big-endian longs, as stored in confidence_histograms.counts
+     */
+    public static byte[] encode(long[] counts) {
+        ByteBuffer buffer = ByteBuffer.allocate(counts.length * Long.BYTES);
+        buffer.asLongBuffer().put(counts);
+        return buffer.array();
+    }
+
+    public static long[] decode(byte[] bytes) {
+        long[] counts = new long[BUCKET_COUNT + 1];
+        int stored = Math.min(counts.length, bytes.length / Long.BYTES);
+        ByteBuffer.wrap(bytes).asLongBuffer().get(counts, 0, stored);
+        return counts;
+    }
+}
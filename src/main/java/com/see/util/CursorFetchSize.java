@@ -0,0 +1,27 @@
+package com.see.util;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.dialect.MySQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+/**
+ * JDBC fetch size for forward-only cursors over results too large to hold in memory
+ */
+public final class CursorFetchSize {
+
+    private CursorFetchSize() {}
+
+    /**
+     * Connector/J reads the whole result into memory unless the fetch size is Integer.MIN_VALUE
+     * (row-by-row streaming) or the URL sets useCursorFetch=true; other drivers honour the
+     * given fetch size
+     */
+    public static int of(EntityManager entityManager, int fetchSize) {
+        SessionFactoryImplementor sessionFactory = entityManager
+            .getEntityManagerFactory()
+            .unwrap(SessionFactoryImplementor.class);
+        return sessionFactory.getJdbcServices().getDialect() instanceof MySQLDialect
+            ? Integer.MIN_VALUE
+            : fetchSize;
+    }
+}
@@ -0,0 +1,125 @@
+package com.see.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with HDR-style log-linear buckets.
+ *
+ * Values are recorded in microseconds. Below 64µs every value has its own bucket; above that
+ * each power of two is split into 32 sub-buckets, so any recorded value is reported within
+ * about 3% of its real value. Values above one minute land in the last bucket, the exact
+ * maximum is tracked separately.
+ */
+public class LatencyHistogram {
+
+    private static final int SUB_BUCKET_BITS = 6;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int SUB_BUCKET_HALF = SUB_BUCKET_COUNT >> 1;
+    private static final long MAX_TRACKABLE_MICROS = 60_000_000L;
+
+    public static final int BUCKET_COUNT = bucketIndex(MAX_TRACKABLE_MICROS) + 1;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BUCKET_COUNT);
+    private final LongAdder totalCount = new LongAdder();
+    private final AtomicLong maxMicros = new AtomicLong();
+
+    /**
+     * Record a single latency value
+     */
+    public void record(long micros) {
+        long value = Math.max(0, micros);
+        counts.incrementAndGet(bucketIndex(Math.min(value, MAX_TRACKABLE_MICROS)));
+        totalCount.increment();
+
+        long currentMax = maxMicros.get();
+        while (value > currentMax && !maxMicros.compareAndSet(currentMax, value)) {
+            currentMax = maxMicros.get();
+        }
+    }
+
+    /**
+     * Clear all recorded values. Values recorded concurrently with a reset may be lost.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts.set(i, 0);
+        }
+        totalCount.reset();
+        maxMicros.set(0);
+    }
+
+    /**
+     * Add this histogram's counts into a snapshot
+     */
+    public void addTo(Snapshot snapshot) {
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            long count = counts.get(i);
+            if (count > 0) {
+                snapshot.counts[i] += count;
+                snapshot.totalCount += count;
+            }
+        }
+        snapshot.maxMicros = Math.max(snapshot.maxMicros, maxMicros.get());
+    }
+
+    public long getTotalCount() {
+        return totalCount.sum();
+    }
+
+    static int bucketIndex(long micros) {
+        if (micros < SUB_BUCKET_COUNT) {
+            return (int) micros;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(micros)) - (SUB_BUCKET_BITS - 1);
+        return shift * SUB_BUCKET_HALF + (int) (micros >>> shift);
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_HALF - 1;
+        long subBucket = index - (long) shift * SUB_BUCKET_HALF;
+        return ((subBucket + 1) << shift) - 1;
+    }
+
+    /**
+     * Merged, immutable-by-convention view of one or more histograms
+     */
+    public static class Snapshot {
+
+        private final long[] counts = new long[BUCKET_COUNT];
+        private long totalCount;
+        private long maxMicros;
+
+        public long getTotalCount() {
+            return totalCount;
+        }
+
+        public long getMaxMicros() {
+            return maxMicros;
+        }
+
+        /**
+         * Highest value at or below which the given fraction (0..1) of values fall
+         */
+        public long valueAtPercentile(double percentile) {
+            if (totalCount == 0) {
+                return 0;
+            }
+            long rank = (long) Math.ceil(percentile * totalCount);
+            rank = Math.max(1, Math.min(rank, totalCount));
+
+            long seen = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(bucketUpperBound(i), maxMicros);
+                }
+            }
+            return maxMicros;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.see.util;
+
+import java.lang.management.ManagementFactory;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Reads CPU time and allocated bytes of the current thread from the JVM's ThreadMXBean.
+ *
+ * Both counters are cumulative per thread, so callers take a reading before and after a unit
+ * of work and subtract. Readings are -1 when the JVM does not support the measurement.
+ */
+@Slf4j
+public final class ThreadResourceMeter {
+
+    private static final com.sun.management.ThreadMXBean THREAD_MX_BEAN;
+    private static final boolean CPU_TIME_SUPPORTED;
+    private static final boolean ALLOCATION_SUPPORTED;
+
+    static {
+        com.sun.management.ThreadMXBean bean = null;
+        boolean cpu = false;
+        boolean allocation = false;
+
+        if (
+            ManagementFactory.getThreadMXBean() instanceof
+            com.sun.management.ThreadMXBean sunBean
+        ) {
+            bean = sunBean;
+            try {
+                cpu = bean.isCurrentThreadCpuTimeSupported();
+                if (cpu && !bean.isThreadCpuTimeEnabled()) {
+                    bean.setThreadCpuTimeEnabled(true);
+                }
+                allocation = bean.isThreadAllocatedMemorySupported();
+                if (allocation && !bean.isThreadAllocatedMemoryEnabled()) {
+                    bean.setThreadAllocatedMemoryEnabled(true);
+                }
+            } catch (UnsupportedOperationException | SecurityException e) {
+                log.warn("Per-thread resource accounting unavailable: {}", e.getMessage());
+                cpu = false;
+                allocation = false;
+            }
+        }
+
+        THREAD_MX_BEAN = bean;
+        CPU_TIME_SUPPORTED = cpu;
+        ALLOCATION_SUPPORTED = allocation;
+    }
+
+    private ThreadResourceMeter() {}
+
+    /**
+     * CPU time consumed by the current thread so far, in nanoseconds
+     */
+    public static long currentThreadCpuNanos() {
+        return CPU_TIME_SUPPORTED ? THREAD_MX_BEAN.getCurrentThreadCpuTime() : -1;
+    }
+
+    /**
+     * Bytes allocated on the heap by the current thread so far
+     */
+    public static long currentThreadAllocatedBytes() {
+        return ALLOCATION_SUPPORTED
+            ? THREAD_MX_BEAN.getCurrentThreadAllocatedBytes()
+            : -1;
+    }
+
+    /**
+     * Difference between two readings, or -1 if either reading was unavailable
+     */
+    public static long delta(long before, long after) {
+        return before < 0 || after < 0 ? -1 : Math.max(0, after - before);
+    }
+}
@@ -4,8 +4,10 @@ import com.see.domain.Role;
 import com.see.domain.User;
 import com.see.dto.CreateUserRequest;
 import com.see.dto.UserDto;
+import com.see.repository.UserSummary;
 import org.springframework.stereotype.Component;
 
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @Component
@@ -35,6 +37,23 @@ public class UserMapper {
         return unto;
     }
 
+    public UserDto toDto(UserSummary summary, Set<String> roleNames){
+        if(summary == null){
+            return null;
+        }
+
+        UserDto unto = new UserDto();
+        unto.setId(summary.id());
+        unto.setUsername(summary.username());
+        unto.setEmail(summary.email());
+        unto.setActive(summary.active());
+        unto.setCreatedAt(summary.createdAt());
+        unto.setUpdatedAt(summary.updatedAt());
+        unto.setRoleNames(roleNames);
+
+        return unto;
+    }
+
     public User toEntity(CreateUserRequest request){
         if(request == null){
             return null;
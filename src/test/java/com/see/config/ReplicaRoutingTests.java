@@ -0,0 +1,107 @@
+package com.see.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Read-replica routing with two in-memory H2 databases standing in for primary and replica.
+ * The replica's lag is read from a one-row table the test controls.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=password",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "app.datasource.replica.jdbc-url=" + ReplicaRoutingTests.REPLICA_URL,
+        "app.datasource.replica.username=sa",
+        "app.datasource.replica.password=password",
+        "app.datasource.replica.maximum-pool-size=4",
+        "app.datasource.replica.lag.query=SELECT seconds FROM replica_lag",
+        "app.datasource.replica.lag.max-seconds=5",
+        // Checks are driven by the test
+        "app.datasource.replica.lag.check-interval-ms=3600000",
+        "logging.config=classpath:logback-test.xml",
+        "logging.level.com.see=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type=WARN",
+        "jwt.secret=testSecretKeyForJWTTokenGenerationInTestEnvironment12345",
+        "jwt.expiration=3600000",
+    }
+)
+class ReplicaRoutingTests {
+
+    static final String REPLICA_URL = "jdbc:h2:mem:routing_replica;DB_CLOSE_DELAY=-1";
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void readOnlyTransactionsUseReplicaAndFallBackWhenItLags() throws Exception {
+        setReplicaLag(0);
+        assertEquals("ROUTING_REPLICA", databaseName(true));
+        assertEquals("ROUTING_PRIMARY", databaseName(false));
+
+        setReplicaLag(60);
+        assertEquals("ROUTING_PRIMARY", databaseName(true));
+
+        setReplicaLag(1);
+        assertEquals("ROUTING_REPLICA", databaseName(true));
+    }
+
+    @Test
+    void eachPoolPublishesItsOwnMetrics() {
+        assertEquals(1, poolGauges("SeeOCR-HikariCP"));
+        assertEquals(1, poolGauges("SeeOCR-Replica-HikariCP"));
+    }
+
+    private int poolGauges(String pool) {
+        return meterRegistry.find("hikaricp.connections").tag("pool", pool).gauges().size();
+    }
+
+    private String databaseName(boolean readOnly) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        transaction.setReadOnly(readOnly);
+        return transaction.execute(status ->
+            new JdbcTemplate(dataSource).queryForObject("SELECT DATABASE()", String.class)
+        );
+    }
+
+    private void setReplicaLag(int seconds) throws Exception {
+        try (
+            Connection connection = DriverManager.getConnection(REPLICA_URL, "sa", "password");
+            Statement statement = connection.createStatement()
+        ) {
+            statement.execute("CREATE TABLE IF NOT EXISTS replica_lag (seconds INT)");
+            statement.execute("DELETE FROM replica_lag");
+            statement.execute("INSERT INTO replica_lag VALUES (" + seconds + ")");
+        }
+        replicaLagMonitor.check();
+    }
+}
@@ -0,0 +1,62 @@
+package com.see.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.availability.ApplicationAvailability;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Warm-up against a real server port, so every step including the login page runs.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestPropertySource(
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:warmup;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=password",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "app.warmup.enabled=true",
+        "app.warmup.ocr.enabled=true",
+        "app.warmup.iterations=5",
+        "app.warmup.bcrypt-iterations=1",
+        "app.warmup.ocr-iterations=3",
+        "logging.config=classpath:logback-test.xml",
+        "logging.level.com.see=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type=WARN",
+        "jwt.secret=testSecretKeyForJWTTokenGenerationInTestEnvironment12345",
+        "jwt.expiration=3600000",
+    }
+)
+class WarmupRunnerTests {
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private ApplicationAvailability availability;
+
+    @Test
+    void everyStepRunsBeforeTheApplicationIsReady() {
+        assertEquals(5, runs("jwt"));
+        assertEquals(1, runs("bcrypt"));
+        assertEquals(5, runs("database"));
+        assertEquals(1, runs("ocr-natives"));
+        assertEquals(3, runs("ocr"));
+        assertEquals(5, runs("login-page"));
+        assertEquals(ReadinessState.ACCEPTING_TRAFFIC, availability.getReadinessState());
+    }
+
+    private long runs(String step) {
+        return meterRegistry.get("app.warmup").tag("step", step).timer().count();
+    }
+}
@@ -0,0 +1,125 @@
+package com.see.load;
+
+import com.see.util.LatencyHistogram;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import org.hibernate.stat.Statistics;
+
+/**
+ * Drives one operation from a fixed number of threads for a fixed time and collects
+ * throughput, latency and the number of JDBC statements it caused.
+ */
+class LoadScenarioRunner {
+
+    /**
+     * One request of a scenario; returns false (or throws) when the request failed
+     */
+    @FunctionalInterface
+    interface Operation {
+        boolean run() throws Exception;
+    }
+
+    record Result(
+        String scenario,
+        long operations,
+        long errors,
+        double seconds,
+        LatencyHistogram.Snapshot latency,
+        long statements
+    ) {
+        double throughput() {
+            return operations / seconds;
+        }
+
+        double statementsPerOperation() {
+            return operations == 0 ? 0 : (double) statements / operations;
+        }
+    }
+
+    private final int threads;
+    private final int warmupSeconds;
+    private final int durationSeconds;
+    private final Statistics statistics;
+
+    LoadScenarioRunner(
+        int threads,
+        int warmupSeconds,
+        int durationSeconds,
+        Statistics statistics
+    ) {
+        this.threads = threads;
+        this.warmupSeconds = warmupSeconds;
+        this.durationSeconds = durationSeconds;
+        this.statistics = statistics;
+    }
+
+    Result run(String scenario, Operation operation) throws Exception {
+        drive(operation, warmupSeconds, new LatencyHistogram(), new LongAdder());
+
+        LatencyHistogram histogram = new LatencyHistogram();
+        LongAdder errors = new LongAdder();
+        long statementsBefore = statistics.getPrepareStatementCount();
+        long start = System.nanoTime();
+
+        drive(operation, durationSeconds, histogram, errors);
+
+        double seconds = (System.nanoTime() - start) / 1e9;
+        long statements = statistics.getPrepareStatementCount() - statementsBefore;
+        LatencyHistogram.Snapshot latency = new LatencyHistogram.Snapshot();
+        histogram.addTo(latency);
+
+        return new Result(
+            scenario,
+            histogram.getTotalCount() - errors.sum(),
+            errors.sum(),
+            seconds,
+            latency,
+            statements
+        );
+    }
+
+    private void drive(
+        Operation operation,
+        int seconds,
+        LatencyHistogram histogram,
+        LongAdder errors
+    ) throws Exception {
+        if (seconds <= 0) {
+            return;
+        }
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                workers.add(
+                    pool.submit(() -> {
+                        while (System.nanoTime() < deadline) {
+                            long started = System.nanoTime();
+                            boolean ok;
+                            try {
+                                ok = operation.run();
+                            } catch (Exception e) {
+                                ok = false;
+                            }
+                            histogram.record((System.nanoTime() - started) / 1_000);
+                            if (!ok) {
+                                errors.increment();
+                            }
+                        }
+                    })
+                );
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
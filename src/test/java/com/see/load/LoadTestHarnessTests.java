@@ -0,0 +1,642 @@
+package com.see.load;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.see.constants.DocumentType;
+import com.see.domain.Batch;
+import com.see.domain.Document;
+import com.see.domain.DocumentField;
+import com.see.domain.Project;
+import com.see.domain.Role;
+import com.see.domain.User;
+import com.see.ocr.FormTemplate;
+import com.see.repository.BatchRepository;
+import com.see.repository.DocumentFieldRepository;
+import com.see.repository.DocumentRepository;
+import com.see.repository.ProjectRepository;
+import com.see.repository.RoleRepository;
+import com.see.repository.UserRepository;
+import com.see.service.BlobService;
+import com.see.storage.BlobStore;
+import jakarta.persistence.EntityManagerFactory;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.CookieManager;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * End-to-end capacity run against H2: boots the full application, seeds users, roles, projects,
+ * batches and documents, then drives each workload through the real filter chain from
+ * concurrent clients and reports throughput, latency percentiles and JDBC statements per request.
+ *
+ * Excluded from the normal build. Run with {@code ./mvnw -Pload-test test}, sizes and
+ * durations can be changed with -Dload.* properties (see the fields below).
+ * The report is also written to target/load-test-report-{platform|virtual}.json; add
+ * -Dspring.threads.virtual.enabled=true (Java 21+) to compare against virtual-thread mode.
+ */
+@Tag("load")
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles("test")
+@TestPropertySource(
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:loadtest;DB_CLOSE_DELAY=-1;DB_CLOSE_ON_EXIT=FALSE",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=password",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        // Keep log I/O out of the numbers; the async file tier is covered by the JMH benchmarks
+        "logging.config=classpath:logback-test.xml",
+        "logging.level.com.see=WARN",
+        "logging.level.com.see.config=WARN",
+        "logging.level.org.springframework.web=WARN",
+        "logging.level.org.springframework.security=WARN",
+        "logging.level.org.springframework.security.web.authentication=WARN",
+        "logging.level.org.springframework.web.servlet.DispatcherServlet=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type=WARN",
+        "jwt.secret=loadTestSecretKeyForJWTTokenGenerationInTestEnvironment12345",
+        "jwt.expiration=3600000",
+        "app.blobs.dir=target/load-test-blobs",
+    }
+)
+@Import(LoadTestHarnessTests.NaiveDownloadController.class)
+class LoadTestHarnessTests {
+
+    private static final String PASSWORD = "LoadTest123!";
+    private static final String ADMIN_USERNAME = "load.admin";
+    private static final Pattern CSRF_INPUT = Pattern.compile(
+        "name=\"_csrf\"[^>]*value=\"([^\"]+)\""
+    );
+
+    @Value("${load.users:200}")
+    private int userCount;
+
+    @Value("${load.projects:5}")
+    private int projectCount;
+
+    @Value("${load.batches:20}")
+    private int batchCount;
+
+    @Value("${load.documents-per-batch:25}")
+    private int documentsPerBatch;
+
+    @Value("${load.fields-per-document:8}")
+    private int fieldsPerDocument;
+
+    @Value("${load.scans:20}")
+    private int scanCount;
+
+    @Value("${load.scan-bytes:4194304}")
+    private int scanBytes;
+
+    @Value("${load.ingest-pages:4}")
+    private int ingestPages;
+
+    @Value("${load.threads:16}")
+    private int threads;
+
+    @Value("${load.warmup-seconds:5}")
+    private int warmupSeconds;
+
+    @Value("${load.duration-seconds:20}")
+    private int durationSeconds;
+
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private BatchRepository batchRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private DocumentFieldRepository documentFieldRepository;
+
+    @Autowired
+    private BlobService blobService;
+
+    @Autowired
+    private PasswordEncoder passwordEncoder;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final HttpClient apiClient = HttpClient.newHttpClient();
+
+    private User admin;
+    private List<Project> projects;
+    private List<UUID> scans;
+    private List<String> scanHashes;
+    private Batch uploadBatch;
+
+    @Test
+    void measureCapacity() throws Exception {
+        seed();
+
+        Statistics statistics = entityManagerFactory
+            .unwrap(SessionFactory.class)
+            .getStatistics();
+        LoadScenarioRunner runner = new LoadScenarioRunner(
+            threads,
+            warmupSeconds,
+            durationSeconds,
+            statistics
+        );
+
+        String adminToken = apiLogin(ADMIN_USERNAME);
+        assertNotNull(adminToken, "admin API login failed");
+
+        List<LoadScenarioRunner.Result> results = new ArrayList<>();
+        results.add(
+            runner.run("login", () -> {
+                int user = ThreadLocalRandom.current().nextInt(userCount);
+                return apiLogin("load.user" + user) != null;
+            })
+        );
+        results.add(
+            runner.run("admin-users", () ->
+                send(
+                    apiClient,
+                    HttpRequest.newBuilder(uri("/api/admin/users"))
+                        .header("Authorization", "Bearer " + adminToken)
+                        .GET()
+                        .build()
+                ) == 200
+            )
+        );
+        // maximumSessions(1): the JWT requests above register sessions for the same admin and
+        // expire older ones, so the browser session is opened right before it is used
+        HttpClient browser = formLogin(ADMIN_USERNAME);
+        results.add(
+            runner.run("dashboard", () ->
+                send(browser, HttpRequest.newBuilder(uri("/dashboard")).GET().build()) == 200
+            )
+        );
+        // Scan downloads through the blob sender against the whole file read onto the heap
+        results.add(
+            runner.run("original sendfile", () ->
+                send(apiClient, scanRequest("/api/documents/%s/original", adminToken).build())
+                    == 200
+            )
+        );
+        results.add(
+            runner.run("original readAllBytes", () ->
+                send(apiClient, scanRequest("/api/load/naive/%s/original", adminToken).build())
+                    == 200
+            )
+        );
+        results.add(
+            runner.run("original range 256K", () ->
+                send(
+                    apiClient,
+                    scanRequest("/api/documents/%s/original", adminToken)
+                        .header("Range", "bytes=0-262143")
+                        .build()
+                ) == 206
+            )
+        );
+        results.add(
+            runner.run("original revalidate", () -> {
+                int scan = ThreadLocalRandom.current().nextInt(scans.size());
+                return send(
+                    apiClient,
+                    HttpRequest.newBuilder(uri("/api/documents/" + scans.get(scan) + "/original"))
+                        .header("Authorization", "Bearer " + adminToken)
+                        .header("If-None-Match", "\"" + scanHashes.get(scan) + "\"")
+                        .build()
+                ) == 304;
+            })
+        );
+        // Multi-page TIFF uploads, split and run through OCR page by page. The upload is encoded
+        // in the request (a few ms against the OCR of every page) so no two pages repeat
+        String uploadPath = "/api/batches/" + uploadBatch.getId()
+            + "/documents?type=LEGAL&filename=load.tif";
+        results.add(
+            runner.run("ingest tiff", () -> {
+                HttpResponse<String> response = apiClient.send(
+                    HttpRequest.newBuilder(uri(uploadPath))
+                        .header("Authorization", "Bearer " + adminToken)
+                        .header("Content-Type", "image/tiff")
+                        .POST(HttpRequest.BodyPublishers.ofByteArray(uploadTiff(ingestPages)))
+                        .build(),
+                    HttpResponse.BodyHandlers.ofString()
+                );
+                return response.statusCode() == 200
+                    && objectMapper.readTree(response.body()).get("failures").isEmpty();
+            })
+        );
+
+        report(results);
+
+        for (LoadScenarioRunner.Result result : results) {
+            assertTrue(result.operations() > 0, result.scenario() + " made no progress");
+            assertEquals(0, result.errors(), result.scenario() + " had failed requests");
+        }
+    }
+
+    private void seed() {
+        String passwordHash = passwordEncoder.encode(PASSWORD);
+
+        Role adminRole = roleRepository.save(role("ADMIN"));
+        Role userRole = roleRepository.save(role("USER"));
+
+        admin = userRepository.save(user(ADMIN_USERNAME, passwordHash, adminRole));
+        List<User> users = new ArrayList<>();
+        for (int i = 0; i < userCount; i++) {
+            users.add(user("load.user" + i, passwordHash, userRole));
+        }
+        userRepository.saveAll(users);
+
+        projects = new ArrayList<>();
+        for (int i = 0; i < projectCount; i++) {
+            Project project = new Project();
+            project.setName("Load project " + i);
+            projects.add(project);
+        }
+        projects = projectRepository.saveAll(projects);
+
+        for (int i = 0; i < batchCount; i++) {
+            seedBatch(documentsPerBatch);
+        }
+        seedScans();
+
+        uploadBatch = new Batch();
+        uploadBatch.setName("Load uploads");
+        uploadBatch.setProject(projects.get(0));
+        uploadBatch.setUploadedBy(admin);
+        batchRepository.save(uploadBatch);
+    }
+
+    /**
+     * Documents backed by stored scans of load.scan-bytes each, for the download scenarios
+     */
+    private void seedScans() {
+        Batch batch = new Batch();
+        batch.setName("Load scans");
+        batch.setProject(projects.get(0));
+        batchRepository.save(batch);
+
+        scans = new ArrayList<>();
+        scanHashes = new ArrayList<>();
+        for (int i = 0; i < scanCount; i++) {
+            byte[] scan = new byte[scanBytes];
+            ThreadLocalRandom.current().nextBytes(scan);
+            String hash = blobService.store(scan);
+            scanHashes.add(hash);
+            Document document = new Document();
+            document.setBatch(batch);
+            document.setType(DocumentType.LEGAL);
+            document.setOriginalPath("load/scan-" + i + ".tif");
+            document.setSha256Hash(hash);
+            scans.add(
+                transactionTemplate.execute(status -> {
+                    blobService.retain(hash);
+                    return documentRepository.save(document).getId();
+                })
+            );
+        }
+    }
+
+    private HttpRequest.Builder scanRequest(String path, String token) {
+        UUID scan = scans.get(ThreadLocalRandom.current().nextInt(scans.size()));
+        return HttpRequest.newBuilder(uri(String.format(path, scan)))
+            .header("Authorization", "Bearer " + token);
+    }
+
+    /**
+     * Persists one batch with its documents and extracted fields. The child collections are
+     * saved through their own repositories instead of the parent's cascade, since the entities'
+     * generated hashCode walks both sides of the association.
+     */
+    private void seedBatch(int documents) {
+        transactionTemplate.executeWithoutResult(status -> {
+            Batch batch = new Batch();
+            batch.setName("Load batch " + UUID.randomUUID());
+            batch.setProject(
+                projects.get(ThreadLocalRandom.current().nextInt(projects.size()))
+            );
+            batch.setUploadedBy(admin);
+            batchRepository.save(batch);
+
+            List<Document> batchDocuments = new ArrayList<>();
+            List<DocumentField> fields = new ArrayList<>();
+            for (int d = 0; d < documents; d++) {
+                Document document = new Document();
+                document.setBatch(batch);
+                document.setType(DocumentType.values()[d % DocumentType.values().length]);
+                document.setOriginalPath("load/" + UUID.randomUUID() + ".jpg");
+                document.setSha256Hash(
+                    UUID.randomUUID().toString().replace("-", "") +
+                    UUID.randomUUID().toString().replace("-", "")
+                );
+                batchDocuments.add(document);
+
+                for (int f = 0; f < fieldsPerDocument; f++) {
+                    DocumentField field = new DocumentField();
+                    field.setDocument(document);
+                    field.setFieldName("field_" + f);
+                    field.setFieldValue("value " + f);
+                    field.setConfidenceScore(ThreadLocalRandom.current().nextDouble(0.5, 1.0));
+                    fields.add(field);
+                }
+            }
+            documentRepository.saveAll(batchDocuments);
+            documentFieldRepository.saveAll(fields);
+        });
+    }
+
+    /**
+     * Uncompressed multi-page TIFF of blank form pages, each with its own random marks
+     */
+    private static byte[] uploadTiff(int pages) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("tiff").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(out);
+            writer.prepareWriteSequence(null);
+            for (int page = 0; page < pages; page++) {
+                BufferedImage image = new BufferedImage(
+                    FormTemplate.PAGE_WIDTH,
+                    FormTemplate.PAGE_HEIGHT,
+                    BufferedImage.TYPE_BYTE_GRAY
+                );
+                byte[] pixels = new byte[FormTemplate.PAGE_WIDTH * FormTemplate.PAGE_HEIGHT];
+                Arrays.fill(pixels, (byte) 255);
+                for (int mark = 0; mark < 500; mark++) {
+                    pixels[ThreadLocalRandom.current().nextInt(pixels.length)] = 0;
+                }
+                image
+                    .getRaster()
+                    .setDataElements(
+                        0,
+                        0,
+                        FormTemplate.PAGE_WIDTH,
+                        FormTemplate.PAGE_HEIGHT,
+                        pixels
+                    );
+                writer.writeToSequence(new IIOImage(image, null, null), null);
+            }
+            writer.endWriteSequence();
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * JWT login through /api/auth/login, returns the token or null on failure
+     */
+    private String apiLogin(String username) throws Exception {
+        String body = objectMapper.writeValueAsString(
+            Map.of("username", username, "password", PASSWORD)
+        );
+        HttpResponse<String> response = apiClient.send(
+            HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build(),
+            HttpResponse.BodyHandlers.ofString()
+        );
+        if (response.statusCode() != 200) {
+            return null;
+        }
+        JsonNode token = objectMapper.readTree(response.body()).get("token");
+        return token != null ? token.asText() : null;
+    }
+
+    /**
+     * Session login through the login form, returns a client holding the session cookie
+     */
+    private HttpClient formLogin(String username) throws Exception {
+        HttpClient browser = HttpClient.newBuilder()
+            .cookieHandler(new CookieManager())
+            .followRedirects(HttpClient.Redirect.NEVER)
+            .build();
+
+        String loginPage = browser
+            .send(
+                HttpRequest.newBuilder(uri("/login")).GET().build(),
+                HttpResponse.BodyHandlers.ofString()
+            )
+            .body();
+        Matcher csrf = CSRF_INPUT.matcher(loginPage);
+        assertTrue(csrf.find(), "no CSRF token on the login page");
+
+        String form =
+            "username=" + encode(username) +
+            "&password=" + encode(PASSWORD) +
+            "&_csrf=" + encode(csrf.group(1));
+        HttpResponse<Void> response = browser.send(
+            HttpRequest.newBuilder(uri("/login"))
+                .header("Content-Type", "application/x-www-form-urlencoded")
+                .POST(HttpRequest.BodyPublishers.ofString(form))
+                .build(),
+            HttpResponse.BodyHandlers.discarding()
+        );
+        assertTrue(
+            response.headers().firstValue("Location").orElse("").endsWith("/dashboard"),
+            "form login failed"
+        );
+        return browser;
+    }
+
+    private int send(HttpClient client, HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private void report(List<LoadScenarioRunner.Result> results) throws Exception {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("users", userCount);
+        settings.put("projects", projectCount);
+        settings.put("batches", batchCount);
+        settings.put("documentsPerBatch", documentsPerBatch);
+        settings.put("fieldsPerDocument", fieldsPerDocument);
+        settings.put("scans", scanCount);
+        settings.put("scanBytes", scanBytes);
+        settings.put("ingestPages", ingestPages);
+        settings.put("threads", threads);
+        settings.put("warmupSeconds", warmupSeconds);
+        settings.put("durationSeconds", durationSeconds);
+        settings.put("serverThreads", virtualThreads ? "virtual" : "platform");
+
+        List<Map<String, Object>> scenarios = new ArrayList<>();
+        StringBuilder table = new StringBuilder(
+            String.format(
+                "%n%-22s %10s %8s %10s %9s %9s %9s %9s %9s %12s%n",
+                "Scenario",
+                "Requests",
+                "Errors",
+                "Req/s",
+                "p50 ms",
+                "p90 ms",
+                "p99 ms",
+                "p99.9 ms",
+                "max ms",
+                "Queries/req"
+            )
+        );
+
+        for (LoadScenarioRunner.Result result : results) {
+            Map<String, Object> scenario = new LinkedHashMap<>();
+            scenario.put("scenario", result.scenario());
+            scenario.put("requests", result.operations());
+            scenario.put("errors", result.errors());
+            scenario.put("throughput", round(result.throughput()));
+            scenario.put("p50Ms", millis(result.latency().valueAtPercentile(0.50)));
+            scenario.put("p90Ms", millis(result.latency().valueAtPercentile(0.90)));
+            scenario.put("p99Ms", millis(result.latency().valueAtPercentile(0.99)));
+            scenario.put("p999Ms", millis(result.latency().valueAtPercentile(0.999)));
+            scenario.put("maxMs", millis(result.latency().getMaxMicros()));
+            scenario.put("queriesPerRequest", round(result.statementsPerOperation()));
+            scenarios.add(scenario);
+
+            table.append(
+                String.format(
+                    "%-22s %10d %8d %10.1f %9.2f %9.2f %9.2f %9.2f %9.2f %12.2f%n",
+                    result.scenario(),
+                    result.operations(),
+                    result.errors(),
+                    result.throughput(),
+                    scenario.get("p50Ms"),
+                    scenario.get("p90Ms"),
+                    scenario.get("p99Ms"),
+                    scenario.get("p999Ms"),
+                    scenario.get("maxMs"),
+                    result.statementsPerOperation()
+                )
+            );
+        }
+        System.out.println(table);
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("settings", settings);
+        report.put("scenarios", scenarios);
+        File output = new File(
+            "target/load-test-report-" + (virtualThreads ? "virtual" : "platform") + ".json"
+        );
+        output.getParentFile().mkdirs();
+        objectMapper.writerWithDefaultPrettyPrinter().writeValue(output, report);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private static Role role(String name) {
+        Role role = new Role();
+        role.setName(name);
+        role.setDescription("Load test " + name.toLowerCase() + " role");
+        return role;
+    }
+
+    private static User user(String username, String passwordHash, Role role) {
+        User user = new User();
+        user.setUsername(username);
+        user.setEmail(username + "@example.com");
+        user.setPassword(passwordHash);
+        Set<Role> roles = new HashSet<>();
+        roles.add(role);
+        user.setRoles(roles);
+        return user;
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static double millis(long micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+
+    /**
+     * The straightforward download the blob sender is measured against: the whole file read
+     * into a byte array per request
+     */
+    @TestConfiguration
+    @RestController
+    static class NaiveDownloadController {
+
+        @Autowired
+        private DocumentRepository documentRepository;
+
+        @Autowired
+        private BlobStore blobStore;
+
+        @GetMapping("/api/load/naive/{id}/original")
+        ResponseEntity<byte[]> original(@PathVariable UUID id) throws Exception {
+            String hash = documentRepository.findSha256HashById(id).orElseThrow();
+            return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_OCTET_STREAM)
+                .body(Files.readAllBytes(blobStore.path(hash)));
+        }
+    }
+}
@@ -0,0 +1,176 @@
+package com.see.ocr;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.pdmodel.PDPage;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class PageSplitterTests {
+
+    private PageSplitter splitter;
+
+    @TempDir
+    private Path tempDir;
+
+    private Path spool;
+
+    @BeforeEach
+    void setUp() {
+        splitter = new PageSplitter();
+        ReflectionTestUtils.setField(splitter, "pdfDpi", 144f);
+        spool = tempDir.resolve("upload");
+    }
+
+    @Test
+    void tiffPagesAreHandedOnBeforeTheRestOfTheFileIsRead() throws IOException {
+        byte[] tiff = tiff(400, 300, 3);
+        CountingInputStream upload = new CountingInputStream(new ByteArrayInputStream(tiff));
+        List<BufferedImage> pages = new ArrayList<>();
+        List<Long> readWhenHandedOn = new ArrayList<>();
+
+        int count = splitter.split(upload, spool, (pageIndex, image) -> {
+            assertEquals(pages.size(), pageIndex);
+            pages.add(decode(image));
+            readWhenHandedOn.add(upload.read);
+        });
+
+        assertEquals(3, count);
+        for (BufferedImage page : pages) {
+            assertEquals(400, page.getWidth());
+            assertEquals(300, page.getHeight());
+        }
+        assertTrue(
+            readWhenHandedOn.get(0) < tiff.length / 2,
+            "first page handed on after reading " + readWhenHandedOn.get(0) + " bytes"
+        );
+        assertArrayEquals(tiff, Files.readAllBytes(spool));
+    }
+
+    @Test
+    void pdfPagesAreRenderedAtTheConfiguredResolution() throws IOException {
+        List<BufferedImage> pages = new ArrayList<>();
+
+        byte[] pdf = pdf(2);
+        int count = splitter.split(
+            new ByteArrayInputStream(pdf),
+            spool,
+            (pageIndex, image) -> pages.add(decode(image))
+        );
+
+        assertEquals(2, count);
+        // A6 is 297.6 x 419.5 points, rendered at twice 72 dpi
+        assertEquals(595, pages.get(1).getWidth());
+        assertEquals(839, pages.get(1).getHeight());
+        assertArrayEquals(pdf, Files.readAllBytes(spool));
+    }
+
+    @Test
+    void otherImagesPassThroughAsOnePage() throws IOException {
+        byte[] jpeg = {(byte) 0xFF, (byte) 0xD8, (byte) 0xFF, (byte) 0xE0, 1, 2, 3};
+        List<byte[]> pages = new ArrayList<>();
+
+        int count = splitter.split(
+            new ByteArrayInputStream(jpeg),
+            spool,
+            (pageIndex, image) -> pages.add(image)
+        );
+
+        assertEquals(1, count);
+        assertEquals(jpeg.length, pages.get(0).length);
+        assertFalse(Files.exists(spool));
+    }
+
+    private static byte[] tiff(int width, int height, int pages) throws IOException {
+        Random random = new Random(1);
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("tiff").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(out);
+            writer.prepareWriteSequence(null);
+            for (int page = 0; page < pages; page++) {
+                BufferedImage image = new BufferedImage(
+                    width,
+                    height,
+                    BufferedImage.TYPE_BYTE_GRAY
+                );
+                byte[] pixels = new byte[width * height];
+                random.nextBytes(pixels);
+                image.getRaster().setDataElements(0, 0, width, height, pixels);
+                writer.writeToSequence(new IIOImage(image, null, null), null);
+            }
+            writer.endWriteSequence();
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+
+    private static byte[] pdf(int pages) throws IOException {
+        try (PDDocument document = new PDDocument()) {
+            for (int page = 0; page < pages; page++) {
+                document.addPage(new PDPage(PDRectangle.A6));
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            document.save(bytes);
+            return bytes.toByteArray();
+        }
+    }
+
+    private static BufferedImage decode(byte[] image) {
+        try {
+            return ImageIO.read(new ByteArrayInputStream(image));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        long read;
+
+        CountingInputStream(InputStream in) {
+            super(in);
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                read++;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int n = super.read(buffer, offset, length);
+            if (n > 0) {
+                read += n;
+            }
+            return n;
+        }
+    }
+}
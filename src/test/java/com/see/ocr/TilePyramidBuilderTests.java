@@ -0,0 +1,84 @@
+package com.see.ocr;
+
+import static org.bytedeco.opencv.global.opencv_core.CV_8UC1;
+import static org.bytedeco.opencv.global.opencv_imgcodecs.IMREAD_GRAYSCALE;
+import static org.bytedeco.opencv.global.opencv_imgcodecs.imdecode;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.see.storage.TilePyramidFile;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.bytedeco.opencv.opencv_core.Mat;
+import org.bytedeco.opencv.opencv_core.Scalar;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class TilePyramidBuilderTests {
+
+    private static final int WIDTH = 1000;
+    private static final int HEIGHT = 700;
+
+    @TempDir
+    static Path dir;
+
+    private static Path pyramid;
+
+    @BeforeAll
+    static void build() throws IOException {
+        TilePyramidBuilder builder = new TilePyramidBuilder();
+        ReflectionTestUtils.setField(builder, "tileSize", 256);
+        ReflectionTestUtils.setField(builder, "jpegQuality", 80);
+        try (Mat page = new Mat(HEIGHT, WIDTH, CV_8UC1, new Scalar(200.0))) {
+            pyramid = Files.write(dir.resolve("pyramid"), builder.build(page));
+        }
+    }
+
+    @Test
+    void levelsHalveDownToOneTile() throws IOException {
+        TilePyramidFile.Layout layout = TilePyramidFile.readLayout(pyramid);
+
+        assertEquals(new TilePyramidFile.Layout(256, WIDTH, HEIGHT, 3), layout);
+        assertEquals(250, layout.levelWidth(0));
+        assertEquals(175, layout.levelHeight(0));
+        assertEquals(1, layout.columns(0));
+        assertEquals(2, layout.columns(1));
+        assertEquals(4, layout.columns(2));
+        assertEquals(3, layout.rows(2));
+    }
+
+    @Test
+    void tilesDecodeCroppedAtThePageEdge() throws IOException {
+        assertTileSize(0, 0, 0, 250, 175);
+        assertTileSize(2, 0, 0, 256, 256);
+        assertTileSize(2, 3, 2, WIDTH - 3 * 256, HEIGHT - 2 * 256);
+        assertTileSize(1, 1, 1, 500 - 256, 350 - 256);
+    }
+
+    @Test
+    void tilesOutsideThePyramidAreMissing() throws IOException {
+        assertNull(TilePyramidFile.locate(pyramid, 3, 0, 0));
+        assertNull(TilePyramidFile.locate(pyramid, 0, 1, 0));
+        assertNull(TilePyramidFile.locate(pyramid, 2, 4, 0));
+        assertNull(TilePyramidFile.locate(pyramid, 2, 0, -1));
+    }
+
+    private static void assertTileSize(int level, int column, int row, int width, int height)
+        throws IOException {
+        TilePyramidFile.Tile tile = TilePyramidFile.locate(pyramid, level, column, row);
+        byte[] bytes = Files.readAllBytes(pyramid);
+        byte[] jpeg = Arrays.copyOfRange(
+            bytes,
+            (int) tile.offset(),
+            (int) tile.offset() + tile.length()
+        );
+        try (Mat encoded = new Mat(jpeg); Mat decoded = imdecode(encoded, IMREAD_GRAYSCALE)) {
+            assertEquals(width, decoded.cols());
+            assertEquals(height, decoded.rows());
+        }
+    }
+}
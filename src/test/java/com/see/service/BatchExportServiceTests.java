@@ -0,0 +1,215 @@
+package com.see.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.see.constants.DocumentType;
+import com.see.constants.ExportFormat;
+import com.see.domain.Batch;
+import com.see.domain.Document;
+import com.see.domain.DocumentField;
+import com.see.domain.Project;
+import com.see.repository.BatchRepository;
+import com.see.repository.DocumentFieldRepository;
+import com.see.repository.DocumentRepository;
+import com.see.repository.ProjectRepository;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPInputStream;
+import org.apache.arrow.memory.BufferAllocator;
+import org.apache.arrow.memory.RootAllocator;
+import org.apache.arrow.vector.FieldVector;
+import org.apache.arrow.vector.Float4Vector;
+import org.apache.arrow.vector.ValueVector;
+import org.apache.arrow.vector.VectorSchemaRoot;
+import org.apache.arrow.vector.dictionary.Dictionary;
+import org.apache.arrow.vector.dictionary.DictionaryEncoder;
+import org.apache.arrow.vector.ipc.ArrowStreamReader;
+import org.apache.arrow.vector.types.pojo.Field;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:export;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=password",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "app.export.fetch-size=2",
+        "app.export.arrow.batch-rows=2",
+        "logging.config=classpath:logback-test.xml",
+        "logging.level.com.see=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type=WARN",
+        "jwt.secret=testSecretKeyForJWTTokenGenerationInTestEnvironment12345",
+        "jwt.expiration=3600000",
+    }
+)
+class BatchExportServiceTests {
+
+    @Autowired
+    private BatchExportService batchExportService;
+
+    @Autowired
+    private BatchRepository batchRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private DocumentFieldRepository documentFieldRepository;
+
+    private Project project;
+
+    private Batch batch;
+
+    @BeforeEach
+    void seed() {
+        project = new Project();
+        project.setName("Export project " + UUID.randomUUID());
+        projectRepository.save(project);
+
+        batch = new Batch();
+        batch.setProject(project);
+        batch.setName("Export batch " + UUID.randomUUID());
+        batchRepository.save(batch);
+
+        Document document = new Document();
+        document.setBatch(batch);
+        document.setType(DocumentType.LEGAL);
+        document.setOriginalPath("scans/0001.jpg");
+        document.setSha256Hash(UUID.randomUUID().toString());
+        documentRepository.save(document);
+
+        documentFieldRepository.saveAll(
+            List.of(
+                field(document, "case_no", "CS/123/2024", 0.97),
+                field(document, "court", "CIVIL COURT, \"THANE\"", 0.91),
+                field(document, "stamp_value", null, null)
+            )
+        );
+    }
+
+    @Test
+    void csvQuotesValuesThatNeedIt() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = batchExportService.export(batch.getId(), ExportFormat.CSV, false, out);
+
+        String csv = out.toString(StandardCharsets.UTF_8);
+        List<String> lines = csv.lines().toList();
+        assertEquals(3, rows);
+        assertEquals(4, lines.size());
+        assertEquals(String.join(",", BatchExportService.COLUMNS), lines.get(0));
+        assertTrue(csv.contains(",court,\"CIVIL COURT, \"\"THANE\"\"\",0.91\r\n"));
+        assertTrue(csv.contains(",LEGAL,stamp_value,,\r\n"));
+    }
+
+    @Test
+    void ndjsonIsOneObjectPerLineAndGzips() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = batchExportService.export(batch.getId(), ExportFormat.NDJSON, true, out);
+
+        byte[] body = new GZIPInputStream(new ByteArrayInputStream(out.toByteArray()))
+            .readAllBytes();
+        String ndjson = new String(body, StandardCharsets.UTF_8);
+        List<String> lines = ndjson.lines().toList();
+        assertEquals(3, rows);
+        assertEquals(3, lines.size());
+        assertTrue(ndjson.endsWith("\n"));
+
+        ObjectMapper objectMapper = new ObjectMapper();
+        for (String line : lines) {
+            JsonNode row = objectMapper.readTree(line);
+            assertEquals("scans/0001.jpg", row.get("original_path").asText());
+            assertEquals("LEGAL", row.get("document_type").asText());
+        }
+    }
+
+    @Test
+    void arrowStreamDictionaryEncodesAcrossRecordBatches() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = batchExportService.export(batch.getId(), ExportFormat.ARROW, false, out);
+
+        List<String> fieldNames = new ArrayList<>();
+        List<Float> confidences = new ArrayList<>();
+        int recordBatches = 0;
+        try (
+            BufferAllocator allocator = new RootAllocator();
+            ArrowStreamReader reader = new ArrowStreamReader(
+                new ByteArrayInputStream(out.toByteArray()),
+                allocator
+            )
+        ) {
+            VectorSchemaRoot root = reader.getVectorSchemaRoot();
+                assertEquals(
+                BatchExportService.COLUMNS,
+                root.getSchema().getFields().stream().map(Field::getName).toList()
+            );
+            while (reader.loadNextBatch()) {
+                recordBatches++;
+                FieldVector encoded = root.getVector("field_name");
+                Dictionary dictionary = reader
+                    .getDictionaryVectors()
+                    .get(encoded.getField().getDictionary().getId());
+                try (ValueVector decoded = DictionaryEncoder.decode(encoded, dictionary)) {
+                    for (int i = 0; i < root.getRowCount(); i++) {
+                        fieldNames.add(decoded.getObject(i).toString());
+                    }
+                }
+                Float4Vector confidence = (Float4Vector) root.getVector("confidence");
+                for (int i = 0; i < root.getRowCount(); i++) {
+                    confidences.add(confidence.getObject(i));
+                }
+            }
+        }
+
+        assertEquals(3, rows);
+        assertEquals(2, recordBatches);
+        assertEquals(
+            List.of("case_no", "court", "stamp_value"),
+            fieldNames.stream().sorted().toList()
+        );
+        assertTrue(confidences.contains(0.97f));
+        assertTrue(confidences.contains(null));
+    }
+
+    @Test
+    void projectExportCoversItsBatches() throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long rows = batchExportService.exportProject(project.getId(), ExportFormat.CSV, false, out);
+
+        assertEquals(3, rows);
+        assertTrue(out.toString(StandardCharsets.UTF_8).contains(batch.getId().toString()));
+    }
+
+    private static DocumentField field(
+        Document document,
+        String name,
+        String value,
+        Double confidence
+    ) {
+        DocumentField field = new DocumentField();
+        field.setDocument(document);
+        field.setFieldName(name);
+        field.setFieldValue(value);
+        field.setConfidenceScore(confidence);
+        return field;
+    }
+}
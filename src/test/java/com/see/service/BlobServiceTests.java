@@ -0,0 +1,116 @@
+package com.see.service;
+
+import static com.see.support.SpyAnswers.callRealMethod;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doThrow;
+
+import com.see.repository.BlobRepository;
+import com.see.storage.BlobStore;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:blobs;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=password",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "app.blobs.gc-grace-ms=0",
+        "logging.config=classpath:logback-test.xml",
+        "logging.level.com.see=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type=WARN",
+        "jwt.secret=testSecretKeyForJWTTokenGenerationInTestEnvironment12345",
+        "jwt.expiration=3600000",
+    }
+)
+class BlobServiceTests {
+
+    @Autowired
+    private BlobService blobService;
+
+    @Autowired
+    private BlobStore blobStore;
+
+    @MockitoSpyBean
+    private BlobRepository blobRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Test
+    void identicalContentIsStoredOnceAndCollectedWhenUnreferenced() throws IOException {
+        byte[] scan = ("scan " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+
+        String first = blobService.store(scan);
+        String second = blobService.store(scan.clone());
+        assertEquals(first, second);
+        assertEquals(
+            blobStore.path(first).getParent().getParent().getFileName().toString(),
+            first.substring(0, 2)
+        );
+        try (InputStream in = blobStore.open(first)) {
+            assertArrayEquals(scan, in.readAllBytes());
+        }
+
+        transactionTemplate.executeWithoutResult(status -> {
+            blobService.retain(first);
+            blobService.retain(first);
+        });
+        assertEquals(2, blobRepository.findById(first).orElseThrow().getRefCount());
+        blobService.collect();
+        assertTrue(blobStore.exists(first));
+
+        transactionTemplate.executeWithoutResult(status -> blobService.release(first));
+        blobService.collect();
+        assertTrue(blobStore.exists(first));
+
+        transactionTemplate.executeWithoutResult(status -> blobService.release(first));
+        blobService.collect();
+        assertFalse(blobStore.exists(first));
+        assertFalse(blobRepository.existsById(first));
+    }
+
+    @Test
+    void aDeadlockedFirstStoreIsRetried() {
+        // What InnoDB does to the loser of two concurrent first stores of the same content
+        doThrow(new CannotAcquireLockException("Deadlock found when trying to get lock"))
+            .doAnswer(callRealMethod(blobRepository))
+            .when(blobRepository)
+            .saveAndFlush(any());
+        byte[] scan = ("deadlocked " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8);
+
+        String hash = blobService.store(scan);
+
+        assertTrue(blobRepository.existsById(hash));
+        assertTrue(blobStore.exists(hash));
+    }
+
+    @Test
+    void blobsNeverRetainedAreCollected() {
+        String hash = blobService.store(
+            ("rolled back " + UUID.randomUUID()).getBytes(StandardCharsets.UTF_8)
+        );
+
+        assertTrue(blobService.collect() >= 1);
+        assertFalse(blobStore.exists(hash));
+    }
+}
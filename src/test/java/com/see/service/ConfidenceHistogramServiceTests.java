@@ -0,0 +1,198 @@
+package com.see.service;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.see.constants.DocumentType;
+import com.see.domain.Batch;
+import com.see.domain.Document;
+import com.see.domain.DocumentField;
+import com.see.domain.Project;
+import com.see.dto.FieldConfidenceDto;
+import com.see.dto.ProjectConfidenceDto;
+import com.see.ocr.ExtractedField;
+import com.see.repository.BatchRepository;
+import com.see.repository.ConfidenceHistogramRepository;
+import com.see.repository.DocumentFieldRepository;
+import com.see.repository.DocumentRepository;
+import com.see.repository.ProjectRepository;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:confidence;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=password",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "app.confidence.flush-interval-ms=3600000",
+        "logging.config=classpath:logback-test.xml",
+        "logging.level.com.see=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type=WARN",
+        "jwt.secret=testSecretKeyForJWTTokenGenerationInTestEnvironment12345",
+        "jwt.expiration=3600000",
+    }
+)
+class ConfidenceHistogramServiceTests {
+
+    @Autowired
+    private ConfidenceHistogramService confidenceHistogramService;
+
+    @Autowired
+    private ConfidenceHistogramRepository confidenceHistogramRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private BatchRepository batchRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private DocumentFieldRepository documentFieldRepository;
+
+    private Project project;
+
+    @BeforeEach
+    void createProject() {
+        project = new Project();
+        project.setName("Confidence project " + UUID.randomUUID());
+        projectRepository.save(project);
+    }
+
+    @Test
+    void recordedScoresAreServedBeforeAndAfterFlush() {
+        confidenceHistogramService.record(
+            project.getId(),
+            List.of(
+                new ExtractedField("case_no", "CS/1/2024", 0.95),
+                new ExtractedField("court", "CIVIL", 0.42),
+                new ExtractedField("case_no", "CS/2/2024", 1.0),
+                new ExtractedField("case_no", "CS/3/2024", 0.60)
+            )
+        );
+
+        FieldConfidenceDto pending = caseNo(
+            confidenceHistogramService.getProjectConfidence(project.getId(), 0.9)
+        );
+        assertEquals(3, pending.getTotal());
+        assertEquals(2.0 / 3, pending.getAtOrAboveThreshold(), 1e-9);
+
+        confidenceHistogramService.flush();
+        assertEquals(
+            2,
+            confidenceHistogramRepository.findByProjectIdOrderByFieldName(project.getId()).size()
+        );
+
+        // Flushed deltas add to the stored row rather than replacing it
+        confidenceHistogramService.record(
+            project.getId(),
+            List.of(new ExtractedField("case_no", "CS/4/2024", 0.95))
+        );
+        confidenceHistogramService.flush();
+
+        ProjectConfidenceDto stored = confidenceHistogramService.getProjectConfidence(
+            project.getId(),
+            null
+        );
+        FieldConfidenceDto caseNo = caseNo(stored);
+        assertEquals(4, caseNo.getTotal());
+        assertEquals(2, caseNo.getCounts()[95]);
+        assertEquals(1, caseNo.getCounts()[99]);
+        assertEquals(0.95, caseNo.getP50());
+        assertNull(caseNo.getAtOrAboveThreshold());
+    }
+
+    @Test
+    void rebuildRecountsFromStoredFields() {
+        Batch batch = new Batch();
+        batch.setProject(project);
+        batch.setName("Confidence batch " + UUID.randomUUID());
+        batchRepository.save(batch);
+
+        Document document = new Document();
+        document.setBatch(batch);
+        document.setType(DocumentType.LEGAL);
+        document.setOriginalPath("scans/confidence.jpg");
+        document.setSha256Hash(UUID.randomUUID().toString());
+        documentRepository.save(document);
+        documentFieldRepository.saveAll(
+            List.of(
+                field(document, 0.955),
+                field(document, 0.05),
+                field(document, 0.29),
+                field(document, 0.57),
+                field(document, null)
+            )
+        );
+        confidenceHistogramService.record(
+            project.getId(),
+            List.of(new ExtractedField("case_no", "counted twice otherwise", 0.5))
+        );
+
+        confidenceHistogramService.rebuild(project.getId());
+
+        FieldConfidenceDto caseNo = caseNo(
+            confidenceHistogramService.getProjectConfidence(project.getId(), null)
+        );
+        assertEquals(4, caseNo.getTotal());
+        assertEquals(1, caseNo.getMissing());
+        long[] expected = new long[100];
+        expected[5] = 1;
+        expected[29] = 1;
+        expected[57] = 1;
+        expected[95] = 1;
+        assertArrayEquals(expected, caseNo.getCounts());
+    }
+
+    @Test
+    void failedCommitRecordsNothing() {
+        assertThrows(IllegalStateException.class, () ->
+            confidenceHistogramService.recordOnCommit(
+                project.getId(),
+                List.of(new ExtractedField("case_no", "rolled back", 0.5)),
+                () -> {
+                    throw new IllegalStateException("rolled back");
+                }
+            )
+        );
+
+        assertTrue(
+            confidenceHistogramService.getProjectConfidence(project.getId(), null)
+                .getFields()
+                .isEmpty()
+        );
+    }
+
+    private static FieldConfidenceDto caseNo(ProjectConfidenceDto confidence) {
+        return confidence.getFields().stream()
+            .filter(field -> field.getFieldName().equals("case_no"))
+            .findFirst()
+            .orElseThrow();
+    }
+
+    private static DocumentField field(Document document, Double confidence) {
+        DocumentField field = new DocumentField();
+        field.setDocument(document);
+        field.setFieldName("case_no");
+        field.setFieldValue("CS/9/2024");
+        field.setConfidenceScore(confidence);
+        return field;
+    }
+}
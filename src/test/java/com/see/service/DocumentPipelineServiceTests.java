@@ -0,0 +1,143 @@
+package com.see.service;
+
+import static com.see.support.SpyAnswers.callRealMethod;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+import com.see.constants.DocumentType;
+import com.see.domain.Batch;
+import com.see.domain.Project;
+import com.see.ocr.FormTemplate;
+import com.see.ocr.PipelineResult;
+import com.see.repository.BatchRepository;
+import com.see.repository.DocumentRepository;
+import com.see.repository.ProjectRepository;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import javax.imageio.ImageIO;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:pipeline;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=10000",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=password",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.config=classpath:logback-test.xml",
+        "logging.level.com.see=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type=WARN",
+        "jwt.secret=testSecretKeyForJWTTokenGenerationInTestEnvironment12345",
+        "jwt.expiration=3600000",
+    }
+)
+class DocumentPipelineServiceTests {
+
+    @Autowired
+    private DocumentPipelineService documentPipelineService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private BatchRepository batchRepository;
+
+    @MockitoSpyBean
+    private DocumentRepository documentRepository;
+
+    @Test
+    void concurrentUploadsOfTheSameScanInsertOneDocument() throws Exception {
+        Project project = new Project();
+        project.setName("Pipeline project " + UUID.randomUUID());
+        projectRepository.save(project);
+        List<Batch> batches = new ArrayList<>();
+        for (int i = 0; i < 2; i++) {
+            Batch batch = new Batch();
+            batch.setProject(project);
+            batch.setName("Pipeline batch " + i);
+            batches.add(batchRepository.save(batch));
+        }
+        byte[] scan = page(new Random().nextLong());
+
+        // Hold each upload after its duplicate check until the other has made its own, which
+        // both do unless the second one is kept from checking before the first commits
+        CyclicBarrier bothChecked = new CyclicBarrier(2);
+        doAnswer(invocation -> {
+            Object exists = callRealMethod(documentRepository).answer(invocation);
+            try {
+                bothChecked.await(1, TimeUnit.SECONDS);
+            } catch (TimeoutException | BrokenBarrierException expected) {
+                // the other upload is waiting for this one to commit
+            }
+            return exists;
+        })
+            .when(documentRepository)
+            .existsInProject(any(), any());
+
+        List<CompletableFuture<PipelineResult>> uploads = new ArrayList<>();
+        for (Batch batch : batches) {
+            uploads.add(
+                CompletableFuture.supplyAsync(() ->
+                    documentPipelineService.process(batch, DocumentType.MASTER, "scan.png", scan)
+                )
+            );
+        }
+
+        int inserted = 0;
+        int rejected = 0;
+        for (CompletableFuture<PipelineResult> upload : uploads) {
+            try {
+                upload.join();
+                inserted++;
+            } catch (CompletionException e) {
+                assertInstanceOf(IllegalStateException.class, e.getCause());
+                rejected++;
+            }
+        }
+        assertEquals(1, inserted);
+        assertEquals(1, rejected);
+    }
+
+    private static byte[] page(long seed) throws IOException {
+        BufferedImage image = new BufferedImage(
+            FormTemplate.PAGE_WIDTH,
+            FormTemplate.PAGE_HEIGHT,
+            BufferedImage.TYPE_BYTE_GRAY
+        );
+        byte[] pixels = new byte[FormTemplate.PAGE_WIDTH * FormTemplate.PAGE_HEIGHT];
+        Arrays.fill(pixels, (byte) 255);
+        Random random = new Random(seed);
+        for (int i = 0; i < 500; i++) {
+            pixels[random.nextInt(pixels.length)] = 0;
+        }
+        image
+            .getRaster()
+            .setDataElements(0, 0, FormTemplate.PAGE_WIDTH, FormTemplate.PAGE_HEIGHT, pixels);
+        ByteArrayOutputStream png = new ByteArrayOutputStream();
+        ImageIO.write(image, "png", png);
+        return png.toByteArray();
+    }
+}
@@ -0,0 +1,173 @@
+package com.see.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+
+import com.see.constants.DocumentType;
+import com.see.constants.QCStatus;
+import com.see.domain.Batch;
+import com.see.domain.Document;
+import com.see.domain.DocumentField;
+import com.see.dto.FieldSearchHitDto;
+import com.see.dto.FieldSearchResultDto;
+import com.see.repository.BatchRepository;
+import com.see.repository.DocumentFieldRepository;
+import com.see.repository.DocumentRepository;
+import com.see.search.DocumentFieldsChangedEvent;
+import com.see.search.FieldSearchIndex;
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:search;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=password",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.config=classpath:logback-test.xml",
+        "logging.level.com.see=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type=WARN",
+        "jwt.secret=testSecretKeyForJWTTokenGenerationInTestEnvironment12345",
+        "jwt.expiration=3600000",
+    }
+)
+class FieldSearchServiceTests {
+
+    @Autowired
+    private FieldSearchService fieldSearchService;
+
+    @MockitoSpyBean
+    private FieldSearchIndex fieldSearchIndex;
+
+    @Autowired
+    private BatchRepository batchRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private DocumentFieldRepository documentFieldRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    private Batch batch;
+
+    @BeforeEach
+    void createBatch() {
+        batch = new Batch();
+        batch.setName("Search batch " + UUID.randomUUID());
+        batchRepository.save(batch);
+    }
+
+    @Test
+    void committedFieldsBecomeSearchableWithFilters() throws Exception {
+        Document legal = saveDocument(DocumentType.LEGAL, QCStatus.PASSED, "Ramesh Kumar Patil");
+        saveDocument(DocumentType.PARTY, QCStatus.PENDING, "Suresh Patil");
+        fieldSearchIndex.commit();
+
+        FieldSearchResultDto all = search("patil", null, null);
+        assertEquals(2, all.getTotalHits());
+
+        FieldSearchResultDto passed = search("PATIL", null, QCStatus.PASSED);
+        assertEquals(1, passed.getTotalHits());
+        FieldSearchHitDto hit = passed.getHits().get(0);
+        assertEquals(legal.getId(), hit.getDocumentId());
+        assertEquals(batch.getId(), hit.getBatchId());
+        assertEquals("Ramesh Kumar Patil", hit.getFieldValue());
+
+        assertEquals(1, search("ramesh patil", DocumentType.LEGAL, null).getTotalHits());
+        assertEquals(0, search("ramesh patil", DocumentType.PARTY, null).getTotalHits());
+    }
+
+    @Test
+    void failedRebuildKeepsServingTheOldIndex() throws Exception {
+        saveDocument(DocumentType.LEGAL, QCStatus.PASSED, "Anil Rollback Shinde");
+        saveDocument(DocumentType.PARTY, QCStatus.PENDING, "Sunita Rollback Shinde");
+        fieldSearchIndex.commit();
+        assertEquals(2, search("rollback", null, null).getTotalHits());
+
+        AtomicInteger adds = new AtomicInteger();
+        doAnswer(invocation -> {
+            if (adds.incrementAndGet() == 2) {
+                throw new IOException("disk full");
+            }
+            return invocation.callRealMethod();
+        })
+            .when(fieldSearchIndex)
+            .add(any());
+
+        assertThrows(IllegalStateException.class, () -> fieldSearchService.rebuild());
+        assertEquals(2, search("rollback", null, null).getTotalHits());
+
+        // Nothing of the half-built index is committed or refreshed afterwards
+        fieldSearchIndex.commit();
+        assertEquals(2, search("rollback", null, null).getTotalHits());
+        assertEquals(2, search("shinde", null, null).getTotalHits());
+    }
+
+    @Test
+    void rebuildRestoresFieldsMissingFromTheIndex() throws Exception {
+        Document document = new Document();
+        document.setBatch(batch);
+        document.setType(DocumentType.LEGAL);
+        document.setOriginalPath("scans/unindexed.jpg");
+        document.setSha256Hash(UUID.randomUUID().toString());
+        documentRepository.save(document);
+        documentFieldRepository.save(field(document, "Unindexed Reference 77/2024"));
+
+        assertEquals(0, search("unindexed", null, null).getTotalHits());
+        assertTrue(fieldSearchService.rebuild() >= 1);
+        assertEquals(1, search("unindexed 77", null, null).getTotalHits());
+    }
+
+    private FieldSearchResultDto search(String text, DocumentType type, QCStatus qcStatus) {
+        return fieldSearchService.search(text, null, batch.getId(), type, qcStatus, null, 10);
+    }
+
+    private Document saveDocument(DocumentType type, QCStatus qcStatus, String partyName) {
+        return transactionTemplate.execute(status -> {
+            Document document = new Document();
+            document.setBatch(batch);
+            document.setType(type);
+            document.setQcStatus(qcStatus);
+            document.setOriginalPath("scans/" + UUID.randomUUID() + ".jpg");
+            document.setSha256Hash(UUID.randomUUID().toString());
+            documentRepository.save(document);
+            documentFieldRepository.save(field(document, partyName));
+            eventPublisher.publishEvent(new DocumentFieldsChangedEvent(List.of(document.getId())));
+            return document;
+        });
+    }
+
+    private static DocumentField field(Document document, String value) {
+        DocumentField field = new DocumentField();
+        field.setDocument(document);
+        field.setFieldName("party_name");
+        field.setFieldValue(value);
+        field.setConfidenceScore(0.9);
+        return field;
+    }
+}
@@ -0,0 +1,275 @@
+package com.see.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+
+import com.see.constants.DocumentType;
+import com.see.domain.Batch;
+import com.see.domain.Document;
+import com.see.domain.Project;
+import com.see.dto.IngestResultDto;
+import com.see.ocr.FormField;
+import com.see.ocr.FormTemplate;
+import com.see.repository.BatchRepository;
+import com.see.repository.DocumentFieldRepository;
+import com.see.repository.DocumentRepository;
+import com.see.repository.ProjectRepository;
+import com.see.repository.SearchIndexRow;
+import com.see.storage.BlobStore;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.stream.Collectors;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.util.ReflectionTestUtils;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:ingest;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=password",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.config=classpath:logback-test.xml",
+        "logging.level.com.see=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type=WARN",
+        "jwt.secret=testSecretKeyForJWTTokenGenerationInTestEnvironment12345",
+        "jwt.expiration=3600000",
+    }
+)
+class IngestServiceTests {
+
+    @Autowired
+    private IngestService ingestService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private BatchRepository batchRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private DocumentFieldRepository documentFieldRepository;
+
+    @MockitoSpyBean
+    private DocumentPipelineService documentPipelineService;
+
+    private Batch batch;
+
+    @BeforeEach
+    void createBatch() {
+        Project project = new Project();
+        project.setName("Ingest project " + UUID.randomUUID());
+        projectRepository.save(project);
+        batch = new Batch();
+        batch.setProject(project);
+        batch.setName("Ingest batch");
+        batchRepository.save(batch);
+    }
+
+    @Test
+    void everyPageBecomesADocumentWithItsPageIndex() throws IOException {
+        Random random = new Random();
+        byte[] tiff = tiff(page(random), page(random), page(random));
+
+        IngestResultDto result = ingest("three-pages.tif", tiff);
+
+        assertEquals(3, result.getPages());
+        assertEquals(List.of(), result.getFailures());
+        assertEquals(3, result.getDocumentIds().size());
+        for (int page = 0; page < 3; page++) {
+            Document document = documentRepository
+                .findById(result.getDocumentIds().get(page))
+                .orElseThrow();
+            assertEquals(page, document.getPageIndex());
+            assertEquals("three-pages.tif", document.getOriginalPath());
+            assertEquals(BlobStore.sha256(tiff), document.getUploadSha256());
+        }
+    }
+
+    @Test
+    void failedPagesAreReportedWhileTheRestAreIngested() throws IOException {
+        Random random = new Random();
+        byte[] alreadyIngested = page(random);
+        ingest("first.tif", tiff(page(random), alreadyIngested));
+
+        IngestResultDto result = ingest("second.tif", tiff(page(random), alreadyIngested));
+
+        assertEquals(2, result.getPages());
+        assertNotNull(result.getDocumentIds().get(0));
+        assertNull(result.getDocumentIds().get(1));
+        assertEquals(1, result.getFailures().size());
+        assertTrue(
+            result.getFailures().get(0).startsWith("Page 1: Document already ingested"),
+            result.getFailures().get(0)
+        );
+    }
+
+    @Test
+    void aRejectedSubmitIsReportedAndGivesBackItsPermit() throws IOException {
+        doThrow(new RejectedExecutionException("executor shut down"))
+            .when(documentPipelineService)
+            .submit(any(), any(), any(), eq(1), any());
+        Random random = new Random();
+
+        IngestResultDto result = ingest("rejected.tif", tiff(page(random), page(random)));
+
+        assertEquals(1, result.getPages());
+        assertNotNull(result.getDocumentIds().get(0));
+        assertEquals(List.of("Could not submit page 1: executor shut down"), result.getFailures());
+        Semaphore permits = (Semaphore) ReflectionTestUtils.getField(ingestService, "pagePermits");
+        assertEquals(Runtime.getRuntime().availableProcessors(), permits.availablePermits());
+    }
+
+    @Test
+    void pagesScannedAt300DpiAreReadFromTheSameZones() throws IOException {
+        byte[] form = form();
+        IngestResultDto atTemplateDpi = ingest("form-150.tif", tiff(form));
+
+        IngestResultDto at300Dpi = ingest(
+            "form-300.tif",
+            tiff(FormTemplate.PAGE_WIDTH * 2, FormTemplate.PAGE_HEIGHT * 2, doubled(form))
+        );
+
+        assertEquals(List.of(), at300Dpi.getFailures());
+        Map<String, String> expected = fields(atTemplateDpi.getDocumentIds().get(0));
+        assertTrue(
+            expected.values().stream().anyMatch(value -> !value.isBlank()),
+            expected.toString()
+        );
+        assertEquals(expected, fields(at300Dpi.getDocumentIds().get(0)));
+    }
+
+    @Test
+    void pagesThatAreNotA4PortraitFailWithTheirSize() throws IOException {
+        // US Letter at 150 dpi
+        byte[] letter = new byte[1275 * 1650];
+        Arrays.fill(letter, (byte) 255);
+
+        IngestResultDto result = ingest("letter.tif", tiff(1275, 1650, letter));
+
+        assertEquals(1, result.getPages());
+        assertNull(result.getDocumentIds().get(0));
+        assertTrue(
+            result.getFailures().get(0).startsWith("Page 0: Page is 1275x1650, not an A4"),
+            result.getFailures().get(0)
+        );
+    }
+
+    private Map<String, String> fields(UUID documentId) {
+        return documentFieldRepository
+            .findSearchIndexRows(List.of(documentId))
+            .stream()
+            .collect(Collectors.toMap(SearchIndexRow::fieldName, SearchIndexRow::fieldValue));
+    }
+
+    private IngestResultDto ingest(String filename, byte[] upload) {
+        return ingestService
+            .ingest(batch.getId(), DocumentType.LEGAL, filename, new ByteArrayInputStream(upload))
+            .orElseThrow();
+    }
+
+    /** Blank form-sized page with a few random marks, so every page hashes differently. */
+    private static byte[] page(Random random) {
+        byte[] pixels = new byte[FormTemplate.PAGE_WIDTH * FormTemplate.PAGE_HEIGHT];
+        Arrays.fill(pixels, (byte) 255);
+        for (int i = 0; i < 500; i++) {
+            pixels[random.nextInt(pixels.length)] = 0;
+        }
+        return pixels;
+    }
+
+    /** Template-sized LEGAL form with a value written into every field zone. */
+    private static byte[] form() {
+        BufferedImage image = new BufferedImage(
+            FormTemplate.PAGE_WIDTH,
+            FormTemplate.PAGE_HEIGHT,
+            BufferedImage.TYPE_BYTE_GRAY
+        );
+        Graphics2D graphics = image.createGraphics();
+        graphics.setColor(Color.WHITE);
+        graphics.fillRect(0, 0, FormTemplate.PAGE_WIDTH, FormTemplate.PAGE_HEIGHT);
+        graphics.setColor(Color.BLACK);
+        graphics.setFont(new Font(Font.MONOSPACED, Font.BOLD, 36));
+        for (FormField field : FormTemplate.forType(DocumentType.LEGAL).getFields()) {
+            graphics.drawString("A12 B34", field.getX() + 20, field.getY() + 55);
+        }
+        graphics.dispose();
+        byte[] pixels = new byte[FormTemplate.PAGE_WIDTH * FormTemplate.PAGE_HEIGHT];
+        image
+            .getRaster()
+            .getDataElements(0, 0, FormTemplate.PAGE_WIDTH, FormTemplate.PAGE_HEIGHT, pixels);
+        return pixels;
+    }
+
+    /** The page at twice the resolution, each pixel repeated 2x2, so scaling back is exact. */
+    private static byte[] doubled(byte[] pixels) {
+        int width = FormTemplate.PAGE_WIDTH * 2;
+        byte[] doubled = new byte[pixels.length * 4];
+        for (int y = 0; y < FormTemplate.PAGE_HEIGHT * 2; y++) {
+            for (int x = 0; x < width; x++) {
+                doubled[y * width + x] = pixels[(y / 2) * FormTemplate.PAGE_WIDTH + x / 2];
+            }
+        }
+        return doubled;
+    }
+
+    private static byte[] tiff(byte[]... pages) throws IOException {
+        return tiff(FormTemplate.PAGE_WIDTH, FormTemplate.PAGE_HEIGHT, pages);
+    }
+
+    private static byte[] tiff(int width, int height, byte[]... pages) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("tiff").next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(out);
+            writer.prepareWriteSequence(null);
+            for (byte[] pixels : pages) {
+                BufferedImage image = new BufferedImage(
+                    width,
+                    height,
+                    BufferedImage.TYPE_BYTE_GRAY
+                );
+                image.getRaster().setDataElements(0, 0, width, height, pixels);
+                writer.writeToSequence(new IIOImage(image, null, null), null);
+            }
+            writer.endWriteSequence();
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
@@ -0,0 +1,134 @@
+package com.see.service;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class LogLevelGovernorTests {
+
+    private static final String SQL = "com.see.governed.sql";
+    private static final String DEBUGGED = "com.see.governed.debugged";
+    private static final long SECOND = 1_000_000_000L;
+
+    private final LoggingSystem loggingSystem = LoggingSystem.get(getClass().getClassLoader());
+    private final LoggingService loggingService = mock(LoggingService.class);
+    private LogLevelGovernor governor;
+
+    @BeforeEach
+    void setUp() {
+        governor = new LogLevelGovernor(loggingSystem, loggingService, new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(governor, "enabled", false);
+        ReflectionTestUtils.setField(governor, "maxLinesPerSecond", 100L);
+        ReflectionTestUtils.setField(governor, "maxLogBytesPerSecond", 0L);
+        ReflectionTestUtils.setField(governor, "tripDurationMillis", 300L);
+        ReflectionTestUtils.setField(governor, "demoteTo", LogLevel.INFO);
+        ReflectionTestUtils.setField(governor, "verboseLoggers", new String[] {SQL});
+        ReflectionTestUtils.setField(governor, "maxOverrideMinutes", 60L);
+        governor.init();
+        loggingSystem.setLogLevel(SQL, LogLevel.DEBUG);
+        loggingSystem.setLogLevel(DEBUGGED, null);
+    }
+
+    @AfterEach
+    void tearDown() {
+        governor.shutdown();
+        loggingSystem.setLogLevel(SQL, null);
+        loggingSystem.setLogLevel(DEBUGGED, null);
+    }
+
+    @Test
+    void revertingAnOverrideRestoresTheConfiguredLevel() {
+        governor.override(SQL, LogLevel.TRACE, Duration.ofMinutes(5), "admin", "bind values");
+
+        assertEquals(LogLevel.TRACE, effectiveLevel(SQL));
+        assertEquals("DEBUG", governor.getOverrides().get(0).getPreviousLevel());
+        verify(loggingService).logConfigChange("admin", "logging.level." + SQL, "DEBUG", "TRACE");
+
+        assertTrue(governor.revert(SQL, "admin"));
+        assertEquals(LogLevel.DEBUG, configuredLevel(SQL));
+        assertTrue(governor.getOverrides().isEmpty());
+        assertFalse(governor.revert(SQL, "admin"));
+    }
+
+    @Test
+    void overridesAreLimitedToMaxOverrideMinutes() {
+        assertThrows(
+            IllegalArgumentException.class,
+            () -> governor.override(SQL, LogLevel.TRACE, Duration.ofMinutes(61), "admin", "")
+        );
+        assertEquals(LogLevel.DEBUG, configuredLevel(SQL));
+    }
+
+    @Test
+    void onlyLogFilesCountTowardsTheLogByteRate(@TempDir Path logDir) throws IOException {
+        ReflectionTestUtils.setField(governor, "logDir", logDir.toString());
+        Files.write(logDir.resolve("application.log"), new byte[300]);
+        Files.write(logDir.resolve("application-2026-10-17.0.log"), new byte[200]);
+        // A spool or blob written next to the logs is not logging
+        Files.write(logDir.resolve("ingest-1.upload"), new byte[10_000]);
+
+        assertEquals(500L, (Long) ReflectionTestUtils.invokeMethod(governor, "logBytes"));
+
+        ReflectionTestUtils.setField(governor, "logDir", logDir.resolve("missing").toString());
+        assertEquals(-1L, (Long) ReflectionTestUtils.invokeMethod(governor, "logBytes"));
+    }
+
+    @Test
+    void tripDemotesVerboseLoggersUntilItExpires() {
+        governor.override(DEBUGGED, LogLevel.DEBUG, Duration.ofMinutes(5), "admin", "");
+
+        governor.check(0, -1, SECOND);
+        governor.check(50, -1, 2 * SECOND);
+        assertFalse(governor.isTripped());
+        verify(loggingService, never())
+            .logSecurityEventWithRisk(any(), any(), any(), any());
+
+        governor.check(1_050, -1, 3 * SECOND);
+        assertTrue(governor.isTripped());
+        assertEquals(1_000, governor.getStatus().getLinesPerSecond());
+        assertEquals(LogLevel.INFO, effectiveLevel(SQL));
+        assertEquals(LogLevel.INFO, effectiveLevel(DEBUGGED));
+        verify(loggingService).logSecurityEventWithRisk(
+            eq("LOG_GOVERNOR_TRIPPED"),
+            eq("system"),
+            contains(SQL + " DEBUG->INFO"),
+            eq("MEDIUM")
+        );
+
+        // The admin override it replaced is not restored, the level from before it is
+        await().atMost(Duration.ofSeconds(5)).until(() -> !governor.isTripped());
+        assertEquals(LogLevel.DEBUG, configuredLevel(SQL));
+        assertNull(configuredLevel(DEBUGGED));
+        assertTrue(governor.getOverrides().isEmpty());
+    }
+
+    private LogLevel configuredLevel(String logger) {
+        return loggingSystem.getLoggerConfiguration(logger).getConfiguredLevel();
+    }
+
+    private LogLevel effectiveLevel(String logger) {
+        return loggingSystem.getLoggerConfiguration(logger).getEffectiveLevel();
+    }
+}
@@ -0,0 +1,143 @@
+package com.see.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import com.see.constants.DocumentType;
+import com.see.constants.QCStatus;
+import com.see.domain.Batch;
+import com.see.domain.Document;
+import com.see.domain.Project;
+import com.see.dto.QcTriageReportDto;
+import com.see.dto.ReviewQueueItemDto;
+import com.see.ocr.ExtractedField;
+import com.see.repository.AuditLogRepository;
+import com.see.repository.BatchRepository;
+import com.see.repository.DocumentRepository;
+import com.see.repository.ProjectRepository;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:qctriage;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=password",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.config=classpath:logback-test.xml",
+        "logging.level.com.see=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type=WARN",
+        "jwt.secret=testSecretKeyForJWTTokenGenerationInTestEnvironment12345",
+        "jwt.expiration=3600000",
+    }
+)
+class QcTriageServiceTests {
+
+    @Autowired
+    private QcTriageService qcTriageService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private BatchRepository batchRepository;
+
+    @Autowired
+    private DocumentRepository documentRepository;
+
+    @Autowired
+    private AuditLogRepository auditLogRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Project project;
+    private Batch batch;
+
+    @BeforeEach
+    void createProject() {
+        project = new Project();
+        project.setName("Triage project " + UUID.randomUUID());
+        projectRepository.save(project);
+        batch = new Batch();
+        batch.setProject(project);
+        batch.setName("Triage batch");
+        batchRepository.save(batch);
+    }
+
+    @Test
+    void documentsClearingEveryThresholdSkipReview() {
+        qcTriageService.replaceThresholds(project.getId(), Map.of("*", 0.9, "court", 0.5));
+
+        Document passed = triage(field("case_no", 0.95), field("court", 0.6));
+        Document lowCaseNo = triage(field("case_no", 0.7), field("court", 0.99));
+        Document lowCourt = triage(field("case_no", 0.99), field("court", 0.4));
+        Document empty = triage();
+
+        assertEquals(QCStatus.PASSED, passed.getQcStatus());
+        assertEquals(QCStatus.PENDING, lowCaseNo.getQcStatus());
+        assertEquals(
+            QcTriageService.SENT_TO_REVIEW,
+            auditLogRepository.findByEntityIdOrderByTimestamp(lowCaseNo.getId()).get(0).getAction()
+        );
+
+        List<ReviewQueueItemDto> queue = qcTriageService.getReviewQueue(project.getId(), 0, 10);
+        assertEquals(
+            List.of(empty.getId(), lowCourt.getId(), lowCaseNo.getId()),
+            queue.stream().map(ReviewQueueItemDto::getDocumentId).toList()
+        );
+        assertNull(queue.get(0).getMinConfidence());
+        assertEquals(0.4, queue.get(1).getMinConfidence());
+
+        QcTriageReportDto report = qcTriageService.getReport(project.getId());
+        assertEquals(1, report.getAutoPassed());
+        assertEquals(3, report.getSentToReview());
+        assertEquals(3, report.getReviewQueueLength());
+        assertEquals(4, report.getReviewQueueLengthWithoutTriage());
+        assertEquals(0.25, report.getAutoPassRate());
+    }
+
+    @Test
+    void everythingIsReviewedWithoutThresholds() {
+        Document document = triage(field("case_no", 1.0));
+
+        assertEquals(QCStatus.PENDING, document.getQcStatus());
+        assertEquals(1.0, document.getMinConfidence());
+        assertEquals(0.0, qcTriageService.getReport(project.getId()).getAutoPassRate());
+    }
+
+    private Document triage(ExtractedField... fields) {
+        return transactionTemplate.execute(status -> {
+            QcTriageService.Decision decision = qcTriageService.evaluate(
+                project.getId(),
+                List.of(fields)
+            );
+            Document document = new Document();
+            document.setBatch(batch);
+            document.setType(DocumentType.LEGAL);
+            document.setOriginalPath("scans/triage.jpg");
+            document.setSha256Hash(UUID.randomUUID().toString());
+            qcTriageService.apply(document, decision);
+            document = documentRepository.save(document);
+            qcTriageService.audit(document, decision);
+            return document;
+        });
+    }
+
+    private static ExtractedField field(String name, double confidence) {
+        return new ExtractedField(name, "value", confidence);
+    }
+}
@@ -0,0 +1,88 @@
+package com.see.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import com.see.dto.RoleDto;
+import com.see.repository.RoleRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+/**
+ * Role lookups are served from the query and second-level caches, and role changes made through
+ * AdminRoleService are visible to the next lookup.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(
+    properties = {
+        "spring.datasource.url=jdbc:h2:mem:rolecache;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=password",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.show-sql=false",
+        "logging.config=classpath:logback-test.xml",
+        "logging.level.com.see=WARN",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type=WARN",
+        "jwt.secret=testSecretKeyForJWTTokenGenerationInTestEnvironment12345",
+        "jwt.expiration=3600000",
+    }
+)
+class RoleCacheTests {
+
+    @Autowired
+    private AdminRoleService adminRoleService;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    void findByNameIsServedFromCacheAndInvalidatedOnUpdate() {
+        RoleDto role = new RoleDto();
+        role.setName("CACHE_TEST");
+        role.setDescription("Cached role");
+        RoleDto created = adminRoleService.createRole(role);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        assertTrue(roleRepository.findByName("CACHE_TEST").isPresent());
+        assertTrue(roleRepository.findByName("CACHE_TEST").isPresent());
+        assertEquals(1, statistics.getQueryCacheHitCount());
+        assertEquals(1, statistics.getPrepareStatementCount());
+
+        role.setName("CACHE_TEST_RENAMED");
+        adminRoleService.updateRole(created.getId(), role);
+
+        assertFalse(roleRepository.findByName("CACHE_TEST").isPresent());
+        assertEquals(
+            "CACHE_TEST_RENAMED",
+            adminRoleService.getRoleByName("CACHE_TEST_RENAMED").orElseThrow().getName()
+        );
+
+        assertNotNull(
+            meterRegistry
+                .find("hibernate.second.level.cache.requests")
+                .tag("region", "roles")
+                .tag("result", "hit")
+                .functionCounter()
+        );
+    }
+}
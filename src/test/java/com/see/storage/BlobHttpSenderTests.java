@@ -0,0 +1,115 @@
+package com.see.storage;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Arrays;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+class BlobHttpSenderTests {
+
+    // Little-endian TIFF header followed by filler
+    private static final byte[] TIFF = tiff(100_000);
+
+    @TempDir
+    Path blobsDir;
+
+    private BlobHttpSender sender;
+    private String hash;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        BlobStore blobStore = new BlobStore();
+        ReflectionTestUtils.setField(blobStore, "blobsDir", blobsDir.toString());
+        blobStore.init();
+        hash = blobStore.write(TIFF);
+        sender = new BlobHttpSender(blobStore);
+        ReflectionTestUtils.setField(sender, "sendfileMinBytes", 49152L);
+    }
+
+    @Test
+    void sendsWholeBlobWithImmutableCaching() throws IOException {
+        MockHttpServletResponse response = send(new MockHttpServletRequest("GET", "/"));
+
+        assertEquals(200, response.getStatus());
+        assertEquals("image/tiff", response.getContentType());
+        assertEquals("\"" + hash + "\"", response.getHeader("ETag"));
+        assertEquals("private, max-age=31536000, immutable", response.getHeader("Cache-Control"));
+        assertArrayEquals(TIFF, response.getContentAsByteArray());
+    }
+
+    @Test
+    void matchingEtagIsNotModified() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("If-None-Match", "\"other\", \"" + hash + "\"");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(304, response.getStatus());
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    @Test
+    void singleRangeIsPartialContent() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=10-19");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals("bytes 10-19/" + TIFF.length, response.getHeader("Content-Range"));
+        assertArrayEquals(Arrays.copyOfRange(TIFF, 10, 20), response.getContentAsByteArray());
+
+        request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=" + TIFF.length + "-");
+        assertEquals(416, send(request).getStatus());
+
+        // A stale If-Range gets the whole blob
+        request = new MockHttpServletRequest("GET", "/");
+        request.addHeader("Range", "bytes=10-19");
+        request.addHeader("If-Range", "\"stale\"");
+        assertEquals(TIFF.length, send(request).getContentAsByteArray().length);
+    }
+
+    @Test
+    void largeBodiesAreHandedToSendfile() throws IOException {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/");
+        request.setAttribute(BlobHttpSender.SENDFILE_SUPPORT, Boolean.TRUE);
+        request.addHeader("Range", "bytes=-60000");
+
+        MockHttpServletResponse response = send(request);
+
+        assertEquals(206, response.getStatus());
+        assertEquals(60000, response.getContentLengthLong());
+        assertEquals(
+            (long) TIFF.length - 60000,
+            request.getAttribute(BlobHttpSender.SENDFILE_START)
+        );
+        assertEquals((long) TIFF.length, request.getAttribute(BlobHttpSender.SENDFILE_END));
+        assertEquals(0, response.getContentAsByteArray().length);
+    }
+
+    private MockHttpServletResponse send(MockHttpServletRequest request) throws IOException {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        sender.send(hash, null, request, response);
+        return response;
+    }
+
+    private static byte[] tiff(int size) {
+        byte[] data = new byte[size];
+        data[0] = 'I';
+        data[1] = 'I';
+        data[2] = 42;
+        for (int i = 4; i < size; i++) {
+            data[i] = (byte) i;
+        }
+        return data;
+    }
+}
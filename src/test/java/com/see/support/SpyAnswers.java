@@ -0,0 +1,24 @@
+package com.see.support;
+
+import static org.mockito.Mockito.mockingDetails;
+
+import org.mockito.stubbing.Answer;
+
+/**
+ * Answers for spies of Spring Data repositories.
+ *
+ * A repository bean is an interface proxy, so Mockito's callRealMethod() has no real method to
+ * call; the spy's default answer is what delegates to the proxied bean.
+ */
+public final class SpyAnswers {
+
+    private SpyAnswers() {}
+
+    /**
+     * Answer with whatever the spy would have done unstubbed, i.e. the real repository call
+     */
+    public static Answer<Object> callRealMethod(Object spy) {
+        return invocation ->
+            mockingDetails(spy).getMockCreationSettings().getDefaultAnswer().answer(invocation);
+    }
+}
@@ -0,0 +1,35 @@
+package com.see.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+class ConfidenceBucketsTests {
+
+    @Test
+    void scoresOnABucketEdgeLandInThatBucket() {
+        for (int bucket = 0; bucket < ConfidenceBuckets.BUCKET_COUNT; bucket++) {
+            double edge = ConfidenceBuckets.lowerEdge(bucket);
+            assertEquals(bucket, ConfidenceBuckets.bucketIndex(edge), () -> "edge " + edge);
+        }
+        assertEquals(29, ConfidenceBuckets.bucketIndex(0.29));
+        assertEquals(57, ConfidenceBuckets.bucketIndex(0.57));
+        assertEquals(58, ConfidenceBuckets.bucketIndex(0.58));
+    }
+
+    @Test
+    void scoresJustUnderAnEdgeStayInTheBucketBelow() {
+        assertEquals(28, ConfidenceBuckets.bucketIndex(0.2899));
+        assertEquals(56, ConfidenceBuckets.bucketIndex(0.569));
+        assertEquals(98, ConfidenceBuckets.bucketIndex(0.9899));
+    }
+
+    @Test
+    void outOfRangeScoresAreClamped() {
+        assertEquals(0, ConfidenceBuckets.bucketIndex(-0.2));
+        assertEquals(0, ConfidenceBuckets.bucketIndex(0.0));
+        assertEquals(99, ConfidenceBuckets.bucketIndex(0.999999));
+        assertEquals(99, ConfidenceBuckets.bucketIndex(1.0));
+        assertEquals(99, ConfidenceBuckets.bucketIndex(1.3));
+    }
+}
@@ -0,0 +1,57 @@
+package com.see.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class LatencyHistogramTests {
+
+    @Test
+    void bucketsAreContiguousAndOrdered() {
+        long previousUpper = -1;
+        for (int i = 0; i < LatencyHistogram.BUCKET_COUNT; i++) {
+            long upper = LatencyHistogram.bucketUpperBound(i);
+            assertTrue(upper > previousUpper);
+            assertEquals(i, LatencyHistogram.bucketIndex(previousUpper + 1));
+            assertEquals(i, LatencyHistogram.bucketIndex(upper));
+            previousUpper = upper;
+        }
+    }
+
+    @Test
+    void percentilesStayWithinBucketPrecision() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 1; micros <= 100_000; micros++) {
+            histogram.record(micros);
+        }
+
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram.Snapshot();
+        histogram.addTo(snapshot);
+
+        assertEquals(100_000, snapshot.getTotalCount());
+        assertEquals(100_000, snapshot.getMaxMicros());
+        assertWithin(50_000, snapshot.valueAtPercentile(0.50));
+        assertWithin(99_000, snapshot.valueAtPercentile(0.99));
+        assertWithin(99_900, snapshot.valueAtPercentile(0.999));
+    }
+
+    @Test
+    void valuesAboveTrackableRangeKeepExactMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(120_000_000L);
+
+        LatencyHistogram.Snapshot snapshot = new LatencyHistogram.Snapshot();
+        histogram.addTo(snapshot);
+
+        assertEquals(120_000_000L, snapshot.getMaxMicros());
+        assertTrue(snapshot.valueAtPercentile(1.0) <= 120_000_000L);
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue(
+            Math.abs(actual - expected) <= expected * 0.04,
+            () -> "expected ~" + expected + " but was " + actual
+        );
+    }
+}
@@ -15,6 +15,9 @@ NC='\033[0m' # No Color
 # Application settings
 APP_NAME="SeeOCR"
 JAR_FILE="target/seeOCR-*.jar"
+# Extracted app and class data archive from ./mvnw -Pcds package
+CDS_DIR="target/app"
+CDS_ARCHIVE="$CDS_DIR/seeOCR.jsa"
 LOG_DIR="logs"
 PID_FILE="seeocr.pid"
 JVM_OPTS="-Xmx2g -Xms512m -server"
@@ -121,7 +124,14 @@ start_application() {
     JAVA_CMD="$JAVA_CMD -Dlogging.config=classpath:logback-spring.xml"
     JAVA_CMD="$JAVA_CMD -Dfile.encoding=UTF-8"
     JAVA_CMD="$JAVA_CMD -Djava.awt.headless=true"
-    JAVA_CMD="$JAVA_CMD -jar $JAR_PATH"
+    if [ -f "$CDS_ARCHIVE" ] && [ "$CDS_ARCHIVE" -nt "$JAR_PATH" ]; then
+        # AOT bean definitions and pre-parsed classes; skipped once the jar is rebuilt without -Pcds
+        print_info "Using AOT and class data archive: $CDS_ARCHIVE"
+        JAVA_CMD="$JAVA_CMD -XX:SharedArchiveFile=$CDS_ARCHIVE -Dspring.aot.enabled=true"
+        JAVA_CMD="$JAVA_CMD -jar $(ls $CDS_DIR/seeOCR-*.jar | head -n 1)"
+    else
+        JAVA_CMD="$JAVA_CMD -jar $JAR_PATH"
+    fi
 
     print_info "Starting with command:"
     echo "  $JAVA_CMD"